@@ -15,26 +15,35 @@
  */
 package org.lastaflute.doc;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.util.DfCollectionUtil;
 import org.lastaflute.core.json.JsonMappingOption;
 import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.lastaflute.doc.generator.ActionDocMetaCache;
 import org.lastaflute.doc.generator.ActionDocumentGenerator;
+import org.lastaflute.doc.generator.DocumentGenerationContext;
 import org.lastaflute.doc.generator.DocumentGeneratorFactory;
 import org.lastaflute.doc.generator.JobDocumentGenerator;
+import org.lastaflute.doc.generator.LaDocJsonEngine;
 import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.reflector.SourceDeclarationIndexStore;
 import org.lastaflute.doc.reflector.SourceParserReflector;
 import org.lastaflute.doc.reflector.SourceParserReflectorFactory;
+import org.lastaflute.doc.util.LaDocConcurrentUtil;
+import org.lastaflute.doc.util.LaDocFileUtil;
+import org.lastaflute.doc.watch.LastaDocWatcher;
+import org.lastaflute.web.ruts.config.ActionExecute;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 // package of this class should be under lastaflute but no fix for compatible
 /**
@@ -47,6 +56,8 @@ public class DocumentGenerator {
     // ===================================================================================
     //                                                                          Definition
     //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(DocumentGenerator.class);
+
     /** source directory. */
     protected static final String SRC_DIR = "src/main/java/";
 
@@ -63,11 +74,62 @@ public class DocumentGenerator {
     protected int depth;
 
     /** The optional reflector of source parser, e.g. java parser. (NotNull, EmptyAllowed) */
-    protected final OptionalThing<SourceParserReflector> sourceParserReflector;
+    protected OptionalThing<SourceParserReflector> sourceParserReflector; // switched by e.g. useLexicalSourceParser()
+
+    /** Does it use the lexical scanner as source parser instead of java parser? */
+    protected boolean lexicalSourceParserUsed; // for e.g. large application (parsing whole sources is heavy)
+
+    /** Does it retain only the summary of sources in source parser, discarding the AST? */
+    protected boolean sourceParserSummaryOnly; // for e.g. dev server (retaining whole AST is heavy)
 
     /** Does it suppress job document generation? */
     protected boolean jobDocSuppressed; // for e.g. heavy scheduling (using e.g. DB) like Fess
 
+    /** Does it discover action classes in parallel? */
+    protected boolean parallelActionDiscovery; // for e.g. large application (thousands of actions)
+
+    /** Does it suppress the action index written at compile time? */
+    protected boolean actionIndexSuppressed; // for e.g. stale index in classpath
+
+    /** Does it use the persistent cache of action document meta in saveLastaDocMeta()? */
+    protected boolean actionDocMetaCacheEnabled; // for e.g. documentation test in every CI build
+
+    /** Does it use the persistent store of source declaration index across JVMs? */
+    protected boolean declarationIndexStoreEnabled; // for e.g. CI build (most sources are unchanged)
+
+    /** The count of worker threads for warm-up of source parser, zero means no warm-up. */
+    protected int sourceParserWarmUpParallelism; // for e.g. large application on multi-core machine
+
+    /** The count of worker threads for building action document metas, zero means sequential building. */
+    protected int actionDocMetaBuildingParallelism; // for e.g. large application on CI machine
+
+    /** Does it analyze properties as type graph in action document generation? (repeated types are references) */
+    protected boolean typeGraphAnalysis; // for e.g. mutually referencing or deeply nested parts
+
+    /** Does it suppress the cache of analyzed properties in action document generation? */
+    protected boolean propertyAnalysisCacheSuppressed; // for e.g. overridden analysis depending on action
+
+    /** Does it write compact JSON (not pretty printing) as LastaDoc meta? */
+    protected boolean compactJson; // for e.g. large document
+
+    /** The cache of action document meta, lazy-loaded and kept for e.g. repeated generation. (NullAllowed: until first use) */
+    protected ActionDocMetaCache actionDocMetaCache;
+
+    /** The store of source declaration index, lazy-loaded and used by source parser. (NullAllowed: until first use) */
+    protected SourceDeclarationIndexStore declarationIndexStore;
+
+    /** The context of current generation run, e.g. resolved components. (NullAllowed: until first use, cleared per run) */
+    protected DocumentGenerationContext generationContext;
+
+    /** Is it watching sources to regenerate only changed actions? (then keeping executes and metas of previous generation) */
+    protected boolean actionDocMetaWatching;
+
+    /** The executes of watched generation, discovered once in watch mode. (NullAllowed: until first generation in watch mode) */
+    protected List<ActionExecute> watchedActionExecuteList;
+
+    /** The metas of previous generation in watch mode, same order as executes. (NullAllowed: until first generation in watch mode) */
+    protected List<ActionDocMeta> watchedActionDocMetaList;
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -113,51 +175,350 @@ public class DocumentGenerator {
         return this;
     }
 
+    public DocumentGenerator enableParallelActionDiscovery() {
+        parallelActionDiscovery = true;
+        return this;
+    }
+
+    public DocumentGenerator suppressActionIndex() {
+        actionIndexSuppressed = true;
+        return this;
+    }
+
+    /**
+     * Enable the persistent cache of action document meta, unchanged actions are reloaded from the cache file. <br>
+     * The cache file is saved under LastaDoc directory, e.g. target/lastadoc/cache/action-doc-meta-cache.json
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator enableActionDocMetaCache() {
+        actionDocMetaCacheEnabled = true;
+        return this;
+    }
+
+    /**
+     * Enable warm-up of source parser, all sources are parsed in parallel before analyzing actions. <br>
+     * The parallelism is the count of available processors.
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator enableSourceParserWarmUp() {
+        return enableSourceParserWarmUp(LaDocConcurrentUtil.getDefaultParallelism());
+    }
+
+    public DocumentGenerator enableSourceParserWarmUp(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism should be positive: " + parallelism);
+        }
+        sourceParserWarmUpParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Enable parallel building of action document metas, the order of metas is same as sequential building. <br>
+     * The parallelism is the count of available processors.
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator enableParallelActionDocMetaBuilding() {
+        return enableParallelActionDocMetaBuilding(LaDocConcurrentUtil.getDefaultParallelism());
+    }
+
+    public DocumentGenerator enableParallelActionDocMetaBuilding(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism should be positive: " + parallelism);
+        }
+        actionDocMetaBuildingParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Use the lexical scanner as source parser instead of java parser, which reads only javadoc and declarations. <br>
+     * It is faster than java parser for large application, and also works without javaparser-core.
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator useLexicalSourceParser() {
+        lexicalSourceParserUsed = true;
+        switchSourceParserReflector();
+        return this;
+    }
+
+    /**
+     * Retain only the summary of sources (e.g. javadoc, line counts) in source parser, discarding the AST after reflecting. <br>
+     * It reduces heap usage of java parser for e.g. dev server, and the lexical scanner is always summary only.
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator enableSourceParserSummaryOnly() {
+        sourceParserSummaryOnly = true;
+        switchSourceParserReflector();
+        return this;
+    }
+
+    protected void switchSourceParserReflector() {
+        final SourceParserReflectorFactory factory = createSourceParserReflectorFactory();
+        if (lexicalSourceParserUsed) {
+            factory.useLexicalScanner();
+        }
+        if (sourceParserSummaryOnly) {
+            factory.retainSummaryOnly();
+        }
+        sourceParserReflector = factory.reflector(srcDirList);
+        if (declarationIndexStore != null) { // already prepared for previous reflector
+            sourceParserReflector.ifPresent(reflector -> reflector.useDeclarationIndexStore(declarationIndexStore));
+        }
+    }
+
+    /**
+     * Enable the persistent store of source declaration index, unchanged sources are restored without parsing. <br>
+     * The store file is saved under LastaDoc directory, e.g. target/lastadoc/cache/source-declaration-index.json
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator enableDeclarationIndexStore() {
+        declarationIndexStoreEnabled = true;
+        return this;
+    }
+
+    /**
+     * Enable type graph analysis of properties, each type is expanded once in form or return and others are references. <br>
+     * The nested properties of a reference are empty, and its referenceTypeName shows the expanded type.
+     * Cycles are detected by the graph, and the depth still limits the expansion. <br>
+     * Each type is expanded at its occurrence with the most remaining depth (an expansion cut by depth is replaced),
+     * so the expanded properties of a type are as deep as its shallowest occurrence in normal analysis.
+     * The form and return types are always expanded, and their analyzed graphs are cached like normal properties.
+     * @return this. (NotNull)
+     */
+    public DocumentGenerator enableTypeGraphAnalysis() {
+        typeGraphAnalysis = true;
+        return this;
+    }
+
+    public DocumentGenerator suppressPropertyAnalysisCache() {
+        propertyAnalysisCacheSuppressed = true;
+        return this;
+    }
+
+    public DocumentGenerator enableCompactJson() {
+        compactJson = true;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                         Action Meta
     //                                                                         ===========
     public void saveLastaDocMeta() {
-        final Map<String, Object> lastaDocDetailMap = generateLastaDocDetailMap();
-        final String json = createJsonEngine().toJson(lastaDocDetailMap);
+        writeLastaDocMeta(generateLastaDocDetailMap());
+    }
+
+    protected void writeLastaDocMeta(Map<String, Object> lastaDocDetailMap) {
+        final LaDocJsonEngine jsonEngine = createLaDocJsonEngine();
 
         final Path path = Paths.get(getLastaDocDir(), "analyzed-lastadoc.json");
-        final Path parentPath = path.getParent();
-        if (!Files.exists(parentPath)) {
-            try {
-                Files.createDirectories(parentPath);
-            } catch (IOException e) {
-                throw new IllegalStateException("Failed to create directory: " + parentPath, e);
-            }
+        LaDocFileUtil.writeAtomically(path, writer -> { // for e.g. watch mode, viewer may read it
+            jsonEngine.toJson(lastaDocDetailMap, writer); // streaming, not to build large JSON string
+        });
+    }
+
+    // ===================================================================================
+    //                                                                          Watch Mode
+    //                                                                          ==========
+    /**
+     * Save LastaDoc meta and start watching source directories to save it again when sources are changed. <br>
+     * Actions are discovered once, and only actions reaching changed sources (e.g. form, result) are analyzed again,
+     * and source comments are reflected at once (class structure changes need reloaded classes e.g. restart).
+     * The persistent cache of action document meta is also enabled in watch mode.
+     * <pre>
+     * try (LastaDocWatcher watcher = documentGenerator.watchLastaDocMeta(() -&gt; {
+     *     saveSwaggerMeta(new SwaggerAction()); // e.g. also swagger.json
+     * })) {
+     *     watcher.awaitClosed();
+     * }
+     * </pre>
+     * @param afterSaved The callback after saving LastaDoc meta, in watcher thread after first time. (NotNull)
+     * @return The started watcher, should be closed at last. (NotNull)
+     */
+    public LastaDocWatcher watchLastaDocMeta(Runnable afterSaved) {
+        enableActionDocMetaCache();
+        actionDocMetaWatching = true;
+        saveLastaDocMeta();
+        afterSaved.run();
+        return createLastaDocWatcher(changedList -> {
+            final long before = System.currentTimeMillis();
+            saveChangedLastaDocMeta(changedList);
+            afterSaved.run();
+            _log.info("...Saving LastaDoc meta by changed sources: {} files, {}ms", changedList.size(),
+                    System.currentTimeMillis() - before);
+        }).start();
+    }
+
+    protected LastaDocWatcher createLastaDocWatcher(Consumer<List<Path>> changeListener) {
+        return new LastaDocWatcher(srcDirList, changeListener);
+    }
+
+    protected void saveChangedLastaDocMeta(List<Path> changedList) { // only actions reaching changed sources
+        final OptionalThing<Set<String>> optChangedClassNameSet = toChangedClassNameSet(changedList);
+        if (watchedActionExecuteList == null || !optChangedClassNameSet.isPresent()) { // e.g. new package
+            saveLastaDocMeta();
+            return;
         }
+        writeLastaDocMeta(generateLastaDocDetailMap(() -> regenerateActionDocMetaList(optChangedClassNameSet.get())));
+    }
 
-        try (BufferedWriter bw = Files.newBufferedWriter(path, Charset.forName("UTF-8"))) {
-            bw.write(json);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to write the json to the file: " + path, e);
+    /**
+     * @param changedList The list of changed path from watcher, e.g. source files or directories. (NotNull)
+     * @return The optional set of top-level class name of changed sources. (NotNull, EmptyAllowed: e.g. directory changed)
+     */
+    protected OptionalThing<Set<String>> toChangedClassNameSet(List<Path> changedList) {
+        final Set<String> classNameSet = DfCollectionUtil.newLinkedHashSet();
+        for (Path changed : changedList) {
+            final String fileName = changed.getFileName().toString();
+            if (!fileName.endsWith(".java")) { // e.g. created package or overflowed directory
+                return OptionalThing.empty();
+            }
+            final Path changedPath = changed.toAbsolutePath().normalize();
+            String className = null;
+            for (String srcDir : srcDirList) { // first found like source parser
+                final Path srcPath = Paths.get(srcDir).toAbsolutePath().normalize();
+                if (changedPath.startsWith(srcPath)) {
+                    final String relativePath = srcPath.relativize(changedPath).toString();
+                    final String classPath = relativePath.substring(0, relativePath.length() - ".java".length());
+                    className = classPath.replace(File.separatorChar, '.'); // e.g. org.docksidestage.app.web.sea.SeaForm
+                    break;
+                }
+            }
+            if (className == null) { // basically no way, watched directories are under source directories
+                return OptionalThing.empty();
+            }
+            classNameSet.add(className);
         }
+        return OptionalThing.of(classNameSet);
     }
 
     protected Map<String, Object> generateLastaDocDetailMap() {
-        final List<ActionDocMeta> actionDocMetaList = createActionDocumentGenerator().generateActionDocMetaList();
+        return generateLastaDocDetailMap(() -> generateActionDocMetaList());
+    }
+
+    protected Map<String, Object> generateLastaDocDetailMap(Supplier<List<ActionDocMeta>> actionDocMetaListSupplier) {
+        final List<ActionDocMeta> actionDocMetaList = actionDocMetaListSupplier.get();
         final Map<String, Object> lastaDocDetailMap = DfCollectionUtil.newLinkedHashMap();
         lastaDocDetailMap.put("actionDocMetaList", actionDocMetaList);
         createJobDocumentGenerator().ifPresent(jobDocumentGenerator -> {
             lastaDocDetailMap.put("jobDocMetaList", jobDocumentGenerator.generateJobDocMetaList());
         });
+        saveDeclarationIndexStore(); // after both actions and jobs
+        clearGenerationContext(); // resolved again in next run, e.g. watch mode
         return lastaDocDetailMap;
     }
 
+    protected List<ActionDocMeta> generateActionDocMetaList() { // for JSON output
+        final ActionDocumentGenerator generator = createActionDocumentGenerator();
+        if (!actionDocMetaCacheEnabled) {
+            return generator.generateActionDocMetaList();
+        }
+        prepareActionDocMetaCache(generator);
+        final List<ActionDocMeta> actionDocMetaList;
+        if (actionDocMetaWatching) { // kept for next generation
+            watchedActionExecuteList = generator.findActionExecuteList();
+            actionDocMetaList = generator.generateActionDocMetaList(watchedActionExecuteList);
+            watchedActionDocMetaList = actionDocMetaList;
+        } else {
+            actionDocMetaList = generator.generateActionDocMetaList();
+        }
+        actionDocMetaCache.save();
+        return actionDocMetaList;
+    }
+
+    protected List<ActionDocMeta> regenerateActionDocMetaList(Set<String> changedClassNameSet) { // in watch mode
+        final ActionDocumentGenerator generator = createActionDocumentGenerator();
+        prepareActionDocMetaCache(generator);
+        final List<ActionDocMeta> actionDocMetaList =
+                generator.regenerateActionDocMetaList(watchedActionExecuteList, watchedActionDocMetaList, changedClassNameSet);
+        actionDocMetaCache.save();
+        watchedActionDocMetaList = actionDocMetaList;
+        return actionDocMetaList;
+    }
+
+    protected void prepareActionDocMetaCache(ActionDocumentGenerator generator) {
+        if (actionDocMetaCache == null) {
+            actionDocMetaCache = createActionDocMetaCache();
+            actionDocMetaCache.load();
+        }
+        generator.useActionDocMetaCache(actionDocMetaCache); // reloaded meta has no transient items
+    }
+
+    protected ActionDocMetaCache createActionDocMetaCache() {
+        return new ActionDocMetaCache(Paths.get(getLastaDocDir(), "cache", "action-doc-meta-cache.json"), createLaDocJsonEngine());
+    }
+
+    // -----------------------------------------------------
+    //                                           Index Store
+    //                                           -----------
+    protected void prepareDeclarationIndexStore() { // lazy-loaded at first generation
+        if (declarationIndexStoreEnabled && declarationIndexStore == null) {
+            declarationIndexStore = createDeclarationIndexStore();
+            declarationIndexStore.load();
+            sourceParserReflector.ifPresent(reflector -> reflector.useDeclarationIndexStore(declarationIndexStore));
+        }
+    }
+
+    protected SourceDeclarationIndexStore createDeclarationIndexStore() { // compact JSON because not for human
+        final Path storeFile = Paths.get(getLastaDocDir(), "cache", "source-declaration-index.json");
+        return new SourceDeclarationIndexStore(storeFile, createDocumentGeneratorFactory().createLaDocJsonEngine(true));
+    }
+
+    protected void saveDeclarationIndexStore() { // only when changed
+        if (declarationIndexStore != null) {
+            declarationIndexStore.save();
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                             Generator
+    //                                             ---------
     protected ActionDocumentGenerator createActionDocumentGenerator() {
-        return createDocumentGeneratorFactory().createActionDocumentGenerator(srcDirList, depth, sourceParserReflector);
+        prepareDeclarationIndexStore();
+        final ActionDocumentGenerator generator =
+                createDocumentGeneratorFactory().createActionDocumentGenerator(srcDirList, depth, sourceParserReflector);
+        generator.useGenerationContext(getGenerationContext());
+        if (parallelActionDiscovery) {
+            generator.enableParallelDiscovery();
+        }
+        if (actionIndexSuppressed) {
+            generator.suppressActionIndex();
+        }
+        if (sourceParserWarmUpParallelism > 0) {
+            generator.enableSourceParserWarmUp(sourceParserWarmUpParallelism);
+        }
+        if (actionDocMetaBuildingParallelism > 0) {
+            generator.enableParallelMetaBuilding(actionDocMetaBuildingParallelism);
+        }
+        if (typeGraphAnalysis) {
+            generator.enableTypeGraphAnalysis();
+        }
+        if (propertyAnalysisCacheSuppressed) {
+            generator.suppressPropertyAnalysisCache();
+        }
+        return generator;
     }
 
     protected OptionalThing<JobDocumentGenerator> createJobDocumentGenerator() {
         if (jobDocSuppressed) {
             return OptionalThing.empty();
         }
+        prepareDeclarationIndexStore();
         return createDocumentGeneratorFactory().createJobDocumentGenerator(srcDirList, depth, sourceParserReflector);
     }
 
+    // -----------------------------------------------------
+    //                                    Generation Context
+    //                                    ------------------
+    protected DocumentGenerationContext getGenerationContext() { // lazy-loaded per run
+        if (generationContext == null) {
+            generationContext = createDocumentGeneratorFactory().createDocumentGenerationContext();
+        }
+        return generationContext;
+    }
+
+    protected void clearGenerationContext() {
+        generationContext = null;
+    }
+
     // ===================================================================================
     //                                                                        Small Helper
     //                                                                        ============
@@ -169,7 +530,11 @@ public class DocumentGenerator {
             return createDocumentGeneratorFactory().createJsonEngine();
     }
 
+    public LaDocJsonEngine createLaDocJsonEngine() { // for LastaDoc files
+        return createDocumentGeneratorFactory().createLaDocJsonEngine(compactJson);
+    }
+
     public OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
-        return createDocumentGeneratorFactory().getApplicationJsonMappingOption();
+        return getGenerationContext().getApplicationJsonMappingOption();
     }
 }
@@ -15,17 +15,11 @@
  */
 package org.lastaflute.doc;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.File;
 import java.io.UnsupportedEncodingException;
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
 import java.net.URLEncoder;
-import java.nio.charset.Charset;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -56,7 +50,6 @@ import org.dbflute.helper.message.ExceptionMessageBuilder;
 import org.dbflute.jdbc.Classification;
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.util.DfCollectionUtil;
-import org.dbflute.util.DfResourceUtil;
 import org.dbflute.util.DfStringUtil;
 import org.dbflute.util.DfTypeUtil;
 import org.hibernate.validator.constraints.Length;
@@ -64,14 +57,20 @@ import org.lastaflute.core.direction.AccessibleConfig;
 import org.lastaflute.core.json.JsonMappingOption;
 import org.lastaflute.core.json.annotation.JsonDatePattern;
 import org.lastaflute.core.json.engine.RealJsonEngine;
-import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.di.helper.misc.ParameterizedRef;
+import org.lastaflute.doc.agent.PackagedSwaggerJsonCache;
+import org.lastaflute.doc.agent.SwaggerMapMemoizer;
 import org.lastaflute.doc.agent.maven.MavenVersionFinder;
 import org.lastaflute.doc.exception.SwaggerDefaultValueParseFailureException;
 import org.lastaflute.doc.generator.ActionDocumentGenerator;
+import org.lastaflute.doc.generator.DocumentGenerationContext;
 import org.lastaflute.doc.generator.DocumentGeneratorFactory;
+import org.lastaflute.doc.generator.LaDocJsonEngine;
 import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.meta.JavadocTagModel;
 import org.lastaflute.doc.meta.TypeDocMeta;
+import org.lastaflute.doc.util.LaDocCollectionUtil;
+import org.lastaflute.doc.util.LaDocFileUtil;
 import org.lastaflute.doc.web.LaActionSwaggerable;
 import org.lastaflute.web.api.JsonParameter;
 import org.lastaflute.web.response.ActionResponse;
@@ -145,6 +144,12 @@ public class SwaggerGenerator {
     //                                                                          ==========
     protected static final Pattern HTTP_METHOD_PATTERN = Pattern.compile("(.+)\\$.+");
 
+    /** The cache of packaged swagger.json, shared by generators created per request. (NotNull) */
+    protected static final PackagedSwaggerJsonCache packagedSwaggerJsonCache = new PackagedSwaggerJsonCache("./swagger.json");
+
+    /** The memoizer of generated swagger map for memoizing option, shared by generators created per request. (NotNull) */
+    protected static final SwaggerMapMemoizer swaggerMapMemoizer = new SwaggerMapMemoizer();
+
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
@@ -175,12 +180,15 @@ public class SwaggerGenerator {
     public Map<String, Object> generateSwaggerMap(Consumer<SwaggerOption> opLambda) {
         final OptionalThing<Map<String, Object>> swaggerJson = readSwaggerJson();
         if (swaggerJson.isPresent()) { // e.g. war world
-            final Map<String, Object> swaggerMap = swaggerJson.get();
-            swaggerMap.put("schemes", prepareSwaggerMapSchemes());
+            final Map<String, Object> swaggerMap = swaggerJson.get(); // shallow copy of cached snapshot, nested values are read-only
+            swaggerMap.put("schemes", prepareSwaggerMapSchemes()); // only top-level entries are replaced
             return swaggerMap;
         }
         // basically here in local development
         final SwaggerOption swaggerOption = createSwaggerOption(opLambda);
+        if (swaggerOption.isMemoizing()) {
+            return createMemoizedSwaggerMap(swaggerOption);
+        }
         return createSwaggerMap(swaggerOption);
     }
 
@@ -195,43 +203,21 @@ public class SwaggerGenerator {
     //                                                                              ======
     // basically called by unit test
     public void saveSwaggerMeta(LaActionSwaggerable swaggerable) {
-        final String json = createJsonEngine().toJson(swaggerable.json().getJsonResult());
+        final Map<String, Object> swaggerMap = swaggerable.json().getJsonResult();
+        final LaDocJsonEngine jsonEngine = createLaDocJsonEngine();
 
         final Path path = Paths.get(getLastaDocDir(), "swagger.json");
-        final Path parentPath = path.getParent();
-        if (!Files.exists(parentPath)) {
-            try {
-                Files.createDirectories(parentPath);
-            } catch (IOException e) {
-                throw new IllegalStateException("Failed to create directory: " + parentPath, e);
-            }
-        }
-
-        try (BufferedWriter bw = Files.newBufferedWriter(path, Charset.forName("UTF-8"))) {
-            bw.write(json);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to write the json to the file: " + path, e);
-        }
+        LaDocFileUtil.writeAtomically(path, writer -> { // for e.g. watch mode, swagger-ui may read it
+            jsonEngine.toJson(swaggerMap, writer); // streaming, not to build large JSON string
+        });
     }
 
     // ===================================================================================
     //                                                                        swagger.json
     //                                                                        ============
     protected OptionalThing<Map<String, Object>> readSwaggerJson() { // for war world
-        String swaggerJsonFilePath = "./swagger.json";
-        if (!DfResourceUtil.isExist(swaggerJsonFilePath)) {
-            return OptionalThing.empty();
-        }
-
-        try (InputStream inputStream = DfResourceUtil.getResourceStream(swaggerJsonFilePath);
-                InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
-                BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
-            String json = DfResourceUtil.readText(bufferedReader);
-            return OptionalThing.of(createJsonEngine().fromJsonParameteried(json, new ParameterizedRef<Map<String, Object>>() {
-            }.getType()));
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to read the json to the file: " + swaggerJsonFilePath, e);
-        }
+        // parsed only when first or changed, shallow copy of shared snapshot
+        return packagedSwaggerJsonCache.findSwaggerMap(createJsonEngine());
     }
 
     // ===================================================================================
@@ -312,6 +298,63 @@ public class SwaggerGenerator {
         }).orElse(basePath.toString());
     }
 
+    // ===================================================================================
+    //                                                                Memoized Swagger Map
+    //                                                                ====================
+    protected Map<String, Object> createMemoizedSwaggerMap(SwaggerOption swaggerOption) {
+        final String optionFingerprint = deriveSwaggerOptionFingerprint(swaggerOption);
+        final String sourceFingerprint = swaggerMapMemoizer.deriveSourceFingerprint(prepareMemoizingWatchedDirList());
+        final Map<String, Object> memoizedMap = swaggerMapMemoizer.memoize(optionFingerprint, sourceFingerprint, () -> {
+            return createSwaggerMap(swaggerOption);
+        });
+        return LaDocCollectionUtil.toMutableMap(memoizedMap); // deep copy, mutable like not memoized map
+    }
+
+    protected String deriveSwaggerOptionFingerprint(SwaggerOption swaggerOption) { // values affecting the map
+        final Map<String, Object> fingerprintMap = DfCollectionUtil.newLinkedHashMap();
+        fingerprintMap.put("schemes", prepareSwaggerMapSchemes()); // request-dependent
+        fingerprintMap.put("basePath", derivedBasePath(swaggerOption)); // also derived by option lambda
+        fingerprintMap.put("headerParameterList", swaggerOption.getHeaderParameterList().orElse(null));
+        fingerprintMap.put("securityDefinitionList", swaggerOption.getSecurityDefinitionList().orElse(null));
+        fingerprintMap.put("documentGenerator", prepareDocumentGeneratorFingerprintMap()); // e.g. overridden by sub-class
+        return createJsonEngine().toJson(fingerprintMap);
+    }
+
+    protected Map<String, Object> prepareDocumentGeneratorFingerprintMap() { // settings affecting action document
+        final Map<String, Object> settingMap = DfCollectionUtil.newLinkedHashMap();
+        settingMap.put("srcDirList", documentGenerator.srcDirList);
+        settingMap.put("depth", documentGenerator.depth);
+        settingMap.put("lexicalSourceParserUsed", documentGenerator.lexicalSourceParserUsed);
+        settingMap.put("sourceParserSummaryOnly", documentGenerator.sourceParserSummaryOnly);
+        settingMap.put("actionIndexSuppressed", documentGenerator.actionIndexSuppressed);
+        settingMap.put("typeGraphAnalysis", documentGenerator.typeGraphAnalysis);
+        settingMap.put("propertyAnalysisCacheSuppressed", documentGenerator.propertyAnalysisCacheSuppressed);
+        return settingMap;
+    }
+
+    /**
+     * Close the memoizer of swagger map shared by generators, e.g. when application is stopped. <br>
+     * The watch service of directories is closed and memoized maps are released, not to leak them at redeploy.
+     * (it is still available after closing, then it watches the directories again)
+     */
+    public static void closeMemoizer() {
+        swaggerMapMemoizer.close();
+        swaggerMapMemoizer.clear();
+    }
+
+    protected List<Path> prepareMemoizingWatchedDirList() { // source directories and class directories
+        final List<Path> dirList = documentGenerator.srcDirList.stream().map(srcDir -> {
+            return Paths.get(srcDir);
+        }).collect(Collectors.toList());
+        final String classPath = System.getProperty("java.class.path");
+        if (classPath != null) {
+            Arrays.stream(classPath.split(File.pathSeparator)).map(element -> Paths.get(element)).filter(path -> {
+                return Files.isDirectory(path); // e.g. target/classes, not jar
+            }).forEach(path -> dirList.add(path));
+        }
+        return dirList;
+    }
+
     // ===================================================================================
     //                                                                    Swagger Path Map
     //                                                                    ================
@@ -413,6 +456,7 @@ public class SwaggerGenerator {
         createActionDocumentGenerator().generateActionDocMetaList().stream().forEach(actiondocMeta -> {
             doSetupSwaggerPathMap(swaggerPathMap, swaggerDefinitionsMap, swaggerTagList, actiondocMeta);
         });
+        documentGenerator.saveDeclarationIndexStore(); // if enabled and changed
     }
 
     protected void doSetupSwaggerPathMap(Map<String, Map<String, Object>> swaggerPathMap // map of top-level paths
@@ -798,7 +842,7 @@ public class SwaggerGenerator {
     protected void setupBeanList(TypeDocMeta typeDocMeta, Map<String, Map<String, Object>> definitionsMap,
             Map<Class<?>, SwaggerType> typeMap, Map<String, Object> schemaMap) {
         schemaMap.put("type", "array");
-        if (!typeDocMeta.getNestTypeDocMetaList().isEmpty()) {
+        if (!typeDocMeta.getNestTypeDocMetaList().isEmpty() || typeDocMeta.getReferenceTypeName() != null) {
             final String definition = putDefinition(definitionsMap, typeDocMeta);
             schemaMap.put("items", DfCollectionUtil.newLinkedHashMap("$ref", definition));
         } else {
@@ -839,6 +883,9 @@ public class SwaggerGenerator {
         //     "org.docksidestage.app.web.base.paging.SearchPagingResult\u003corg.docksidestage.app.web.products.ProductsRowResult\u003e": {
         //       "type": "object",
         //       ...
+        if (typeDocMeta.getReferenceTypeName() != null) { // type graph, defined by expanded one of same type (in progress if cycle)
+            return "#/definitions/" + encode(derivedDefinitionName(typeDocMeta));
+        }
         String derivedDefinitionName = derivedDefinitionName(typeDocMeta);
         if (!definitionsMap.containsKey(derivedDefinitionName)) {
             final Map<String, Object> schema = DfCollectionUtil.newLinkedHashMap();
@@ -870,11 +917,8 @@ public class SwaggerGenerator {
         }).map(nesttypeDocMeta -> nesttypeDocMeta.getPublicName()).collect(Collectors.toList());
     }
 
-    protected String derivedDefinitionName(TypeDocMeta typeDocMeta) {
-        if (typeDocMeta.getTypeName().matches("^[^<]+<(.+)>$")) {
-            return typeDocMeta.getTypeName().replaceAll("^[^<]+<(.+)>$", "$1").replaceAll(" ", "");
-        }
-        return typeDocMeta.getTypeName().replaceAll(" ", "");
+    protected String derivedDefinitionName(TypeDocMeta typeDocMeta) { // e.g. List<SeaBean> to SeaBean (FQCN)
+        return getGenerationContext().findTypeName(typeDocMeta.getTypeName()).getDefinitionName(); // memoized in the run
     }
 
     protected OptionalThing<List<String>> derivedProduces(ActionDocMeta actiondocMeta) {
@@ -989,7 +1033,7 @@ public class SwaggerGenerator {
         }
         return getApplicationJsonMappingOption()
                 .flatMap(applicationJsonMappingOption -> applicationJsonMappingOption.getLocalDateFormatter())
-                .orElseGet(() -> DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                .orElseGet(() -> getGenerationContext().findDateTimeFormatter("yyyy-MM-dd"));
     }
 
     protected DateTimeFormatter getLocalDateTimeFormatter(TypeDocMeta typeDocMeta) {
@@ -999,7 +1043,7 @@ public class SwaggerGenerator {
         }
         return getApplicationJsonMappingOption()
                 .flatMap(applicationJsonMappingOption -> applicationJsonMappingOption.getLocalDateTimeFormatter())
-                .orElseGet(() -> DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS"));
+                .orElseGet(() -> getGenerationContext().findDateTimeFormatter("yyyy-MM-dd'T'HH:mm:ss.SSS"));
     }
 
     protected DateTimeFormatter getLocalTimeFormatter(TypeDocMeta typeDocMeta) {
@@ -1009,7 +1053,7 @@ public class SwaggerGenerator {
         }
         return getApplicationJsonMappingOption()
                 .flatMap(applicationJsonMappingOption -> applicationJsonMappingOption.getLocalTimeFormatter())
-                .orElseGet(() -> DateTimeFormatter.ofPattern("HH:mm:ss.SSS"));
+                .orElseGet(() -> getGenerationContext().findDateTimeFormatter("HH:mm:ss.SSS"));
     }
 
     protected Optional<DateTimeFormatter> getJsonDatePatternDateTimeFormatter(TypeDocMeta typeDocMeta) {
@@ -1018,7 +1062,7 @@ public class SwaggerGenerator {
                 .filter(annotationType -> annotationType instanceof JsonDatePattern)
                 .findFirst()
                 .map(jsonDatePattern -> {
-                    return DateTimeFormatter.ofPattern(((JsonDatePattern) jsonDatePattern).value());
+                    return getGenerationContext().findDateTimeFormatter(((JsonDatePattern) jsonDatePattern).value());
                 });
     }
 
@@ -1027,12 +1071,13 @@ public class SwaggerGenerator {
         if (typeMap.containsKey(typeDocMeta.getType())) {
             SwaggerType swaggerType = typeMap.get(typeDocMeta.getType());
             Object defaultValue =
-                    swaggerType.defaultValueFunction.apply(typeDocMeta, deriveDefaultValueByComment(typeDocMeta.getComment()));
+                    swaggerType.defaultValueFunction.apply(typeDocMeta, deriveDefaultValueByComment(typeDocMeta));
             if (defaultValue != null) {
                 return OptionalThing.of(defaultValue);
             }
-        } else if (Iterable.class.isAssignableFrom(typeDocMeta.getType()) && typeDocMeta.getNestTypeDocMetaList().isEmpty()) {
-            Object defaultValue = deriveDefaultValueByComment(typeDocMeta.getComment());
+        } else if (Iterable.class.isAssignableFrom(typeDocMeta.getType()) && typeDocMeta.getNestTypeDocMetaList().isEmpty()
+                && typeDocMeta.getReferenceTypeName() == null) {
+            Object defaultValue = deriveDefaultValueByComment(typeDocMeta);
             if (!(defaultValue instanceof List)) {
                 return OptionalThing.empty();
             }
@@ -1049,7 +1094,7 @@ public class SwaggerGenerator {
                 }).collect(Collectors.toList()));
             }
         } else if (Enum.class.isAssignableFrom(typeDocMeta.getType())) {
-            Object defaultValue = deriveDefaultValueByComment(typeDocMeta.getComment());
+            Object defaultValue = deriveDefaultValueByComment(typeDocMeta);
             if (defaultValue != null) {
                 return OptionalThing.of(defaultValue);
             } else {
@@ -1064,29 +1109,12 @@ public class SwaggerGenerator {
         return OptionalThing.empty();
     }
 
+    protected Object deriveDefaultValueByComment(TypeDocMeta typeDocMeta) { // comment is parsed once per meta
+        return typeDocMeta.getCommentTagModel().getExampleValue();
+    }
+
     protected Object deriveDefaultValueByComment(String comment) {
-        if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
-            String commentWithoutLine = comment.replaceAll("\r?\n", " ");
-            if (commentWithoutLine.contains(" e.g. \"")) {
-                return DfStringUtil.substringFirstFront(DfStringUtil.substringFirstRear(commentWithoutLine, " e.g. \""), "\"");
-            }
-            if (commentWithoutLine.contains(" e.g. [")) {
-                String defaultValue = DfStringUtil.substringFirstFront(DfStringUtil.substringFirstRear(commentWithoutLine, " e.g. ["), "]");
-                return Arrays.stream(defaultValue.split(", *")).map(value -> {
-                    if (value.startsWith("\"") && value.endsWith("\"")) {
-                        return value.substring(1, value.length() - 1);
-                    }
-                    return "null".equals(value) ? null : value;
-                }).collect(Collectors.toList());
-            }
-            Pattern pattern = Pattern.compile(" e\\.g\\. ([^ ]+)");
-            Matcher matcher = pattern.matcher(commentWithoutLine);
-            if (matcher.find()) {
-                String value = matcher.group(1);
-                return "null".equals(value) ? null : value;
-            }
-        }
-        return null;
+        return JavadocTagModel.parse(comment).getExampleValue();
     }
 
     // ===================================================================================
@@ -1096,20 +1124,28 @@ public class SwaggerGenerator {
         return createDocumentGeneratorFactory().getLastaDocDir();
     }
 
+    protected DocumentGenerationContext getGenerationContext() { // shared with action document generator
+        return documentGenerator.getGenerationContext();
+    }
+
     protected AccessibleConfig getAccessibleConfig() {
-        return ContainerUtil.getComponent(AccessibleConfig.class);
+        return getGenerationContext().getAccessibleConfig();
     }
 
     protected HttpServletRequest getRequest() {
         return LaRequestUtil.getRequest();
     }
 
-    protected RealJsonEngine createJsonEngine() {
-        return createDocumentGeneratorFactory().createJsonEngine();
+    protected RealJsonEngine createJsonEngine() { // thread-safe so shared in the run
+        return getGenerationContext().getJsonEngine();
+    }
+
+    protected LaDocJsonEngine createLaDocJsonEngine() { // for saved file, following document generator option
+        return documentGenerator.createLaDocJsonEngine();
     }
 
     protected OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
-        return createDocumentGeneratorFactory().getApplicationJsonMappingOption();
+        return getGenerationContext().getApplicationJsonMappingOption();
     }
 
     protected OptionalThing<String> findLastaDocVersion() {
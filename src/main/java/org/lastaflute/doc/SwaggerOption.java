@@ -35,6 +35,7 @@ public class SwaggerOption {
     protected Function<String, String> basePathLambda;
     protected List<Map<String, Object>> headerParameterList;
     protected List<Map<String, Object>> securityDefinitionList;
+    protected boolean memoizing;
 
     // ===================================================================================
     //                                                                               Basic
@@ -50,6 +51,18 @@ public class SwaggerOption {
         this.basePathLambda = oneArgLambda;
     }
 
+    /**
+     * Enable memoizing of generated swagger map, generated once per option and sources (not per request). <br>
+     * Concurrent requests wait for the one generation, and the map is generated again when sources are changed.
+     * Call SwaggerGenerator.closeMemoizer() when application is stopped, to close the watch service of sources.
+     * <pre>
+     * op.enableMemoizing(); // e.g. swagger-ui and tools loading at the same time
+     * </pre>
+     */
+    public void enableMemoizing() {
+        this.memoizing = true;
+    }
+
     // ===================================================================================
     //                                                                    Header Parameter
     //                                                                    ================
@@ -170,4 +183,8 @@ public class SwaggerOption {
             throw new IllegalStateException("Not set securityDefinitionList.");
         });
     }
+
+    public boolean isMemoizing() {
+        return memoizing;
+    }
 }
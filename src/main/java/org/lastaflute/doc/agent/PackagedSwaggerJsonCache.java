@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.agent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.dbflute.util.DfResourceUtil;
+import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.lastaflute.di.helper.misc.ParameterizedRef;
+import org.lastaflute.doc.util.LaDocCollectionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The cache of packaged swagger.json (e.g. war world), thread-safe. <br>
+ * The resource is parsed once and kept as immutable snapshot, reloaded only when its timestamp is changed.
+ * The timestamp is checked only for file resource (e.g. exploded war), archived resource is not changed until redeploy.
+ * Callers get shallow copy of the snapshot, so top-level entries (e.g. schemes) can be replaced per request,
+ * but nested values are shared and read-only.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class PackagedSwaggerJsonCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(PackagedSwaggerJsonCache.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The resource path of packaged swagger.json. (NotNull) */
+    protected final String swaggerJsonPath;
+
+    /** The current snapshot of swagger.json, replaced when reloaded. (NullAllowed: until first load) */
+    protected volatile SwaggerJsonSnapshot snapshot;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public PackagedSwaggerJsonCache(String swaggerJsonPath) {
+        this.swaggerJsonPath = swaggerJsonPath;
+    }
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    /**
+     * Find the swagger map of packaged swagger.json, parsing it only when first or changed.
+     * @param jsonEngine The JSON engine to parse swagger.json, used only when loading. (NotNull)
+     * @return The optional swagger map, top-level only mutable, nested values are read-only. (NotNull, EmptyAllowed: not packaged)
+     */
+    public OptionalThing<Map<String, Object>> findSwaggerMap(RealJsonEngine jsonEngine) {
+        final URL resourceUrl = DfResourceUtil.getResourceUrl(swaggerJsonPath);
+        final Map<String, Object> swaggerMap;
+        if (resourceUrl != null) {
+            final long lastModified = findLastModified(resourceUrl);
+            SwaggerJsonSnapshot current = snapshot;
+            if (current == null || current.lastModified != lastModified) {
+                synchronized (this) {
+                    current = snapshot;
+                    if (current == null || current.lastModified != lastModified) { // double check
+                        current = new SwaggerJsonSnapshot(lastModified, loadSwaggerMap(resourceUrl, jsonEngine));
+                        snapshot = current;
+                    }
+                }
+            }
+            swaggerMap = DfCollectionUtil.newLinkedHashMap(current.swaggerMap); // shallow, no copy of nested paths per request
+        } else {
+            swaggerMap = null;
+        }
+        return OptionalThing.ofNullable(swaggerMap, () -> {
+            throw new IllegalStateException("Not found the packaged swagger.json: " + swaggerJsonPath);
+        });
+    }
+
+    protected long findLastModified(URL resourceUrl) { // without opening connection per request
+        if (!"file".equals(resourceUrl.getProtocol())) { // e.g. jar entry, not changed until redeploy (new class loader)
+            return 0L; // constant so loaded only once
+        }
+        try {
+            return Files.getLastModifiedTime(Paths.get(resourceUrl.toURI())).toMillis(); // only stat
+        } catch (IOException | URISyntaxException | RuntimeException e) { // e.g. deleted, then reload it
+            _log.debug("Failed to get last modified of the json: {}, {}", resourceUrl, e.getMessage());
+            return -1L;
+        }
+    }
+
+    // ===================================================================================
+    //                                                                                Load
+    //                                                                                ====
+    protected Map<String, Object> loadSwaggerMap(URL resourceUrl, RealJsonEngine jsonEngine) {
+        _log.debug("...Loading the packaged swagger.json: {}", resourceUrl);
+        try (InputStream inputStream = resourceUrl.openStream();
+                InputStreamReader inputStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+                BufferedReader bufferedReader = new BufferedReader(inputStreamReader)) {
+            final String json = DfResourceUtil.readText(bufferedReader);
+            final Map<String, Object> swaggerMap = jsonEngine.fromJsonParameteried(json, new ParameterizedRef<Map<String, Object>>() {
+            }.getType());
+            return LaDocCollectionUtil.toImmutableMap(swaggerMap); // shared by threads
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the json to the file: " + swaggerJsonPath, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Snapshot
+    //                                                                            ========
+    protected static class SwaggerJsonSnapshot {
+
+        protected final long lastModified;
+        protected final Map<String, Object> swaggerMap; // deeply immutable
+
+        public SwaggerJsonSnapshot(long lastModified, Map<String, Object> swaggerMap) {
+            this.lastModified = lastModified;
+            this.swaggerMap = swaggerMap;
+        }
+    }
+}
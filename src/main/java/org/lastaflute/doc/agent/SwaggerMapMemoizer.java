@@ -0,0 +1,243 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.agent;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.util.LaDocCollectionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The memoizer of generated swagger map, thread-safe. <br>
+ * The swagger map is generated once per option fingerprint, and concurrent callers for the same fingerprint
+ * wait for the one in-flight generation (single-flight). It is generated again when the source fingerprint is changed,
+ * which is driven by watch service of directories (close() it when application is stopped).
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class SwaggerMapMemoizer {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(SwaggerMapMemoizer.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of memoized swagger map, key is option fingerprint. (NotNull) */
+    protected final Map<String, MemoizedSwaggerMap> memoizedMap = new ConcurrentHashMap<String, MemoizedSwaggerMap>();
+
+    // watching state of source fingerprint, guarded by this
+    protected List<Path> watchedRootList; // null allowed: until first fingerprint
+    protected WatchService watchService; // null allowed: until first fingerprint or not watchable
+    protected final Map<WatchKey, Path> watchedDirMap = DfCollectionUtil.newHashMap();
+    protected long sourceVersion;
+
+    // ===================================================================================
+    //                                                                             Memoize
+    //                                                                             =======
+    /**
+     * Get the memoized swagger map or generate it in current thread if not memoized or changed.
+     * @param optionFingerprint The fingerprint of swagger option (and request) affecting the map. (NotNull)
+     * @param sourceFingerprint The fingerprint of sources and classes, e.g. by deriveSourceFingerprint(). (NotNull)
+     * @param generator The generator of swagger map, called by only one thread for the same fingerprints. (NotNull)
+     * @return The memoized swagger map, deeply immutable. (NotNull)
+     */
+    public Map<String, Object> memoize(String optionFingerprint, String sourceFingerprint, Supplier<Map<String, Object>> generator) {
+        final MemoizedSwaggerMap created = new MemoizedSwaggerMap(sourceFingerprint);
+        final MemoizedSwaggerMap memoized = memoizedMap.compute(optionFingerprint, (key, existing) -> {
+            if (existing != null && existing.sourceFingerprint.equals(sourceFingerprint)) {
+                return existing; // also in-flight
+            }
+            return created;
+        });
+        if (memoized == created) { // current thread is builder
+            _log.debug("...Generating swagger map for memoizing: {}", optionFingerprint);
+            try {
+                created.future.complete(LaDocCollectionUtil.toImmutableMap(generator.get()));
+            } catch (RuntimeException | Error e) {
+                memoizedMap.remove(optionFingerprint, created); // next caller retries
+                created.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return memoized.future.join(); // waiting for builder if in-flight
+        } catch (CompletionException e) { // failed in builder thread
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to generate the swagger map: " + optionFingerprint, cause);
+        }
+    }
+
+    public void clear() {
+        memoizedMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                  Source Fingerprint
+    //                                                                  ==================
+    /**
+     * Derive the fingerprint of source and class files under the directories, as version of changes. <br>
+     * The directories are registered to watch service at first (and when the list is changed),
+     * and then only pending watch events are polled here, not walking files per call.
+     * @param dirList The list of directories, e.g. source directories and class directories. (NotNull)
+     * @return The fingerprint as version string, changed when e.g. files are modified, added, deleted. (NotNull)
+     */
+    public synchronized String deriveSourceFingerprint(List<Path> dirList) {
+        if (!dirList.equals(watchedRootList)) { // first or changed
+            startWatching(dirList);
+            ++sourceVersion;
+        } else if (watchService == null) { // not watchable, so always changed (same as no memoizing)
+            ++sourceVersion;
+        } else if (pollChanged()) {
+            ++sourceVersion;
+        }
+        return String.valueOf(sourceVersion);
+    }
+
+    protected void startWatching(List<Path> dirList) {
+        closeWatchService();
+        watchedRootList = DfCollectionUtil.newArrayList(dirList);
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            _log.warn("Cannot watch the directories so swagger map is generated every time: " + dirList, e);
+            return;
+        }
+        for (Path dir : dirList) {
+            if (Files.isDirectory(dir)) {
+                registerRecursively(dir);
+            }
+        }
+    }
+
+    protected void registerRecursively(Path rootDir) {
+        try {
+            Files.walkFileTree(rootDir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    watchedDirMap.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException e) { // e.g. deleted while walking
+                    _log.warn("Failed to watch the directory for swagger map: " + file, e);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            _log.warn("Failed to watch the directory for swagger map: " + rootDir, e);
+        }
+    }
+
+    protected boolean pollChanged() { // without blocking
+        boolean changed = false;
+        WatchKey watchKey;
+        while ((watchKey = watchService.poll()) != null) {
+            final Path dir = watchedDirMap.get(watchKey);
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == OVERFLOW || dir == null) { // lost events
+                    changed = true;
+                    continue;
+                }
+                final Path path = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) { // e.g. new package
+                    registerRecursively(path);
+                    changed = true;
+                } else if (isFingerprintTarget(path)) {
+                    changed = true;
+                }
+            }
+            if (!watchKey.reset()) { // e.g. deleted directory
+                watchedDirMap.remove(watchKey);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    protected boolean isFingerprintTarget(Path path) {
+        final String fileName = path.getFileName().toString();
+        return fileName.endsWith(".java") || fileName.endsWith(".class");
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    /**
+     * Close the watch service of directories, e.g. when application is stopped. <br>
+     * The directories are registered again at next fingerprint.
+     */
+    public synchronized void close() {
+        closeWatchService();
+        watchedRootList = null;
+    }
+
+    protected void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                _log.debug("Failed to close the watch service: {}", e.getMessage());
+            }
+            watchService = null;
+        }
+        watchedDirMap.clear();
+    }
+
+    // ===================================================================================
+    //                                                                      Memoized Entry
+    //                                                                      ==============
+    protected static class MemoizedSwaggerMap {
+
+        protected final String sourceFingerprint;
+        protected final CompletableFuture<Map<String, Object>> future = new CompletableFuture<Map<String, Object>>();
+
+        public MemoizedSwaggerMap(String sourceFingerprint) {
+            this.sourceFingerprint = sourceFingerprint;
+        }
+    }
+}
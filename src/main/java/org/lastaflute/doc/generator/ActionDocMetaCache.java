@@ -0,0 +1,223 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.generator;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.util.LaDocFileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The persistent cache of action document meta, keyed by fingerprint of action sources. <br>
+ * The fingerprint is made by generator from e.g. source file, class bytes, and reached Form/Body/Result types,
+ * and unchanged actions are reloaded from the cache file instead of reflecting and parsing.
+ * <pre>
+ * e.g. target/lastadoc/cache/action-doc-meta-cache.json
+ * {
+ *   "formatVersion": "1",
+ *   "entryMap": {
+ *     "org.docksidestage.app.web.sea.SeaAction#index": {
+ *       "fingerprint": "9f86d0...",
+ *       "meta": { ...(ActionDocMeta) }
+ *     }
+ *   }
+ * }
+ * </pre>
+ * The reloaded meta does not have transient items (e.g. type, annotationTypeList) so use it only for JSON output.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class ActionDocMetaCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(ActionDocMetaCache.class);
+
+    /** The version of cache file format, old format file is ignored. */
+    protected static final String FORMAT_VERSION = "1";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The path of cache file. (NotNull) */
+    protected final Path cacheFile;
+
+    /** The JSON engine for cache file, streaming for large cache. (NotNull) */
+    protected final LaDocJsonEngine jsonEngine;
+
+    /** The map of entries loaded from cache file, key is action execute. (NotNull) */
+    protected final Map<String, CacheEntry> loadedEntryMap = new ConcurrentHashMap<String, CacheEntry>();
+
+    /** The map of entries used in current generation, saved as next cache. (NotNull) */
+    protected final Map<String, CacheEntry> currentEntryMap = new ConcurrentHashMap<String, CacheEntry>();
+
+    protected final AtomicInteger hitCount = new AtomicInteger();
+    protected final AtomicInteger missCount = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public ActionDocMetaCache(Path cacheFile, LaDocJsonEngine jsonEngine) {
+        this.cacheFile = cacheFile;
+        this.jsonEngine = jsonEngine;
+    }
+
+    // ===================================================================================
+    //                                                                           Load/Save
+    //                                                                           =========
+    public void load() {
+        loadedEntryMap.clear();
+        currentEntryMap.clear();
+        hitCount.set(0); // counts are per generation
+        missCount.set(0);
+        if (!Files.exists(cacheFile)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            final CacheFile loaded = jsonEngine.fromJson(reader, CacheFile.class);
+            if (loaded != null && FORMAT_VERSION.equals(loaded.formatVersion) && loaded.entryMap != null) {
+                loadedEntryMap.putAll(loaded.entryMap);
+            }
+        } catch (IOException | RuntimeException e) { // broken cache is ignored, it's only cache
+            _log.debug("...Ignoring the broken action doc meta cache: {}, {}", cacheFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Save the entries used in current generation, and they become loaded entries for next generation.
+     */
+    public void save() {
+        final CacheFile saved = new CacheFile();
+        saved.formatVersion = FORMAT_VERSION;
+        saved.entryMap = DfCollectionUtil.newLinkedHashMap();
+        currentEntryMap.keySet().stream().sorted().forEach(key -> { // sorted for deterministic file
+            saved.entryMap.put(key, currentEntryMap.get(key));
+        });
+        LaDocFileUtil.writeAtomically(cacheFile, writer -> jsonEngine.toJson(saved, writer));
+        _log.debug("...Saving action doc meta cache: hit={}, miss={}, file={}", hitCount.get(), missCount.get(), cacheFile);
+        loadedEntryMap.clear();
+        loadedEntryMap.putAll(currentEntryMap); // for e.g. next generation in watch mode
+        currentEntryMap.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    // ===================================================================================
+    //                                                                       Find/Register
+    //                                                                       =============
+    /**
+     * Find the cached meta matched with the fingerprint.
+     * @param key The key of action execute, e.g. org.docksidestage.app.web.sea.SeaAction#index (NotNull)
+     * @param fingerprint The current fingerprint of the action execute. (NotNull)
+     * @return The optional cached meta. (NotNull, EmptyAllowed: not cached or changed)
+     */
+    public OptionalThing<ActionDocMeta> find(String key, String fingerprint) {
+        final CacheEntry entry = loadedEntryMap.get(key);
+        final ActionDocMeta meta;
+        if (entry != null && fingerprint.equals(entry.fingerprint) && entry.meta != null) {
+            currentEntryMap.put(key, entry);
+            hitCount.incrementAndGet();
+            meta = entry.meta;
+        } else {
+            missCount.incrementAndGet();
+            meta = null;
+        }
+        return OptionalThing.ofNullable(meta, () -> {
+            throw new IllegalStateException("Not found the cached meta: " + key);
+        });
+    }
+
+    public void register(String key, String fingerprint, ActionDocMeta meta) {
+        final CacheEntry entry = new CacheEntry();
+        entry.fingerprint = fingerprint;
+        entry.meta = meta;
+        currentEntryMap.put(key, entry);
+    }
+
+    /**
+     * Retain the loaded entry as it is without fingerprint, e.g. unchanged action in watch mode.
+     * @param key The key of action execute, e.g. org.docksidestage.app.web.sea.SeaAction#index (NotNull)
+     */
+    public void retain(String key) {
+        final CacheEntry entry = loadedEntryMap.get(key);
+        if (entry != null) {
+            currentEntryMap.put(key, entry);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                         Fingerprint
+    //                                                                         ===========
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) { // basically no way, SHA-256 is required by Java spec
+            throw new IllegalStateException("Not found the digest algorithm: SHA-256", e);
+        }
+    }
+
+    public static String toHex(byte[] digested) {
+        final StringBuilder sb = new StringBuilder(digested.length * 2);
+        for (byte element : digested) {
+            sb.append(Character.forDigit((element >> 4) & 0xF, 16)).append(Character.forDigit(element & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    // ===================================================================================
+    //                                                                          Cache Bean
+    //                                                                          ==========
+    public static class CacheFile { // for JSON
+
+        protected String formatVersion;
+        protected Map<String, CacheEntry> entryMap;
+    }
+
+    public static class CacheEntry { // for JSON
+
+        protected String fingerprint;
+        protected ActionDocMeta meta;
+    }
+}
@@ -15,19 +15,27 @@
  */
 package org.lastaflute.doc.generator;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -35,10 +43,13 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.Enumeration;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -51,14 +62,16 @@ import org.dbflute.util.DfReflectionUtil.ReflectionFailureException;
 import org.dbflute.util.DfStringUtil;
 import org.lastaflute.core.json.JsonMappingOption;
 import org.lastaflute.core.json.JsonMappingOption.JsonFieldNaming;
-import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.di.core.ComponentDef;
 import org.lastaflute.di.core.LaContainer;
 import org.lastaflute.di.core.factory.SingletonLaContainerFactory;
+import org.lastaflute.doc.index.ActionIndexProcessor;
 import org.lastaflute.doc.meta.ActionDocMeta;
 import org.lastaflute.doc.meta.TypeDocMeta;
 import org.lastaflute.doc.reflector.SourceParserReflector;
+import org.lastaflute.doc.util.LaDocConcurrentUtil;
 import org.lastaflute.doc.util.LaDocReflectionUtil;
+import org.lastaflute.doc.util.LaDocTypeName;
 import org.lastaflute.web.Execute;
 import org.lastaflute.web.UrlChain;
 import org.lastaflute.web.path.ActionPathResolver;
@@ -66,6 +79,8 @@ import org.lastaflute.web.ruts.config.ActionExecute;
 import org.lastaflute.web.ruts.config.ModuleConfig;
 import org.lastaflute.web.ruts.multipart.MultipartFormFile;
 import org.lastaflute.web.util.LaModuleConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.FieldNamingPolicy;
 
@@ -80,6 +95,8 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
     // ===================================================================================
     //                                                                          Definition
     //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(ActionDocumentGenerator.class);
+
     /** list of suppressed fields, e.g. enhanced fields by JaCoCo. */
     protected static final Set<String> SUPPRESSED_FIELD_SET;
     static {
@@ -108,6 +125,41 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
     /** The optional reflector of source parser, e.g. java parser. (NotNull, EmptyAllowed) */
     protected final OptionalThing<SourceParserReflector> sourceParserReflector;
 
+    /** Does it discover action classes in parallel? (for e.g. large application) */
+    protected boolean parallelDiscovery;
+
+    /** Does it suppress the action index written at compile time? (then walking source directory) */
+    protected boolean actionIndexSuppressed;
+
+    /** The optional cache of action document meta, only for JSON output because of no transient items. (NullAllowed) */
+    protected ActionDocMetaCache actionDocMetaCache;
+
+    /** The map of class fingerprint for meta cache, cached per generation. (NotNull) */
+    protected final Map<Class<?>, String> classFingerprintMap = new ConcurrentHashMap<Class<?>, String>();
+
+    /** The count of worker threads for warm-up of source parser, zero means no warm-up. */
+    protected int sourceParserWarmUpParallelism;
+
+    /** The count of worker threads for building action document metas, zero means sequential building. */
+    protected int metaBuildingParallelism;
+
+    /** Does it suppress the cache of analyzed properties? (then analyzing same type every time) */
+    protected boolean propertyAnalysisCacheSuppressed;
+
+    /** The context of generation run, e.g. resolved components, lazy-loaded if not given. (NullAllowed: until first use) */
+    protected DocumentGenerationContext generationContext;
+
+    /** Does it analyze properties as type graph? (each type is expanded once per form or return within depth, others are references) */
+    protected boolean typeGraphAnalysis;
+
+    /** The map of expanded types in current form or return, per thread for parallel building. (NotNull, EmptyAllowed) */
+    protected final ThreadLocal<Map<PropertyAnalysisKey, TypeGraphExpansion>> currentTypeGraph =
+            new ThreadLocal<Map<PropertyAnalysisKey, TypeGraphExpansion>>();
+
+    /** The map of analyzed properties per (owner, generic bindings, depth), cached per generation. (NotNull) */
+    protected final Map<PropertyAnalysisKey, List<TypeDocMeta>> propertyAnalysisCacheMap =
+            new ConcurrentHashMap<PropertyAnalysisKey, List<TypeDocMeta>>();
+
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
@@ -117,12 +169,120 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
         this.sourceParserReflector = sourceParserReflector;
     }
 
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    public ActionDocumentGenerator enableParallelDiscovery() { // walks source roots and loads classes concurrently
+        parallelDiscovery = true;
+        return this;
+    }
+
+    public ActionDocumentGenerator suppressActionIndex() { // for e.g. stale index in classpath
+        actionIndexSuppressed = true;
+        return this;
+    }
+
+    public ActionDocumentGenerator enableSourceParserWarmUp(int parallelism) { // parses all sources in parallel at first
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism should be positive: " + parallelism);
+        }
+        sourceParserWarmUpParallelism = parallelism;
+        return this;
+    }
+
+    public ActionDocumentGenerator enableParallelMetaBuilding(int parallelism) { // builds metas of executes concurrently
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism should be positive: " + parallelism);
+        }
+        metaBuildingParallelism = parallelism;
+        return this;
+    }
+
+    public ActionDocumentGenerator suppressPropertyAnalysisCache() { // for e.g. overridden analysis depending on action
+        propertyAnalysisCacheSuppressed = true;
+        return this;
+    }
+
+    public ActionDocumentGenerator enableTypeGraphAnalysis() { // for e.g. mutually referencing or deeply nested parts
+        typeGraphAnalysis = true;
+        return this;
+    }
+
+    public ActionDocumentGenerator useGenerationContext(DocumentGenerationContext generationContext) { // shared in the run
+        this.generationContext = generationContext;
+        return this;
+    }
+
+    public ActionDocumentGenerator useActionDocMetaCache(ActionDocMetaCache actionDocMetaCache) { // for e.g. saveLastaDocMeta()
+        this.actionDocMetaCache = actionDocMetaCache;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                            Generate
     //                                                                            ========
     public List<ActionDocMeta> generateActionDocMetaList() { // the list is per execute method
+        return generateActionDocMetaList(findActionExecuteList());
+    }
+
+    /**
+     * Find the target executes of document, e.g. to regenerate only changed actions later in watch mode.
+     * @return The list of action execute, in order of discovery and method definition. (NotNull)
+     */
+    public List<ActionExecute> findActionExecuteList() {
+        return findTargetActionExecuteList();
+    }
+
+    /**
+     * @param executeList The list of target execute, e.g. from findActionExecuteList(). (NotNull)
+     * @return The list of meta, same order as executes. (NotNull)
+     */
+    public List<ActionDocMeta> generateActionDocMetaList(List<ActionExecute> executeList) {
+        if (sourceParserWarmUpParallelism > 0) {
+            sourceParserReflector.ifPresent(reflector -> reflector.warmUp(sourceParserWarmUpParallelism));
+        }
+        return buildActionDocMetaList(executeList);
+    }
+
+    /**
+     * Generate again only the metas of executes reaching the changed classes, e.g. for watch mode. <br>
+     * Others are reused from the previous list (also kept in meta cache), so the executes should be same as previous.
+     * @param executeList The list of action execute in previous generation. (NotNull)
+     * @param previousList The list of meta in previous generation, same order as executes. (NotNull)
+     * @param changedClassNameSet The set of top-level class name of changed sources, e.g. org.docksidestage.app.web.sea.SeaForm (NotNull)
+     * @return The new list of meta, same order as executes. (NotNull)
+     */
+    public List<ActionDocMeta> regenerateActionDocMetaList(List<ActionExecute> executeList, List<ActionDocMeta> previousList,
+            Set<String> changedClassNameSet) {
+        if (executeList.size() != previousList.size()) {
+            throw new IllegalArgumentException("The previous list should be same size as executes: " + previousList.size());
+        }
+        final List<Boolean> affectedList = executeList.stream().map(execute -> { // without reading class bytes
+            return collectActionReachedClassSet(execute).stream().anyMatch(clazz -> {
+                return changedClassNameSet.contains(clazz.getName().replaceAll("\\$.*", "")); // e.g. SeaForm$HangarPart
+            });
+        }).collect(Collectors.toList());
+        final List<ActionExecute> affectedExecuteList = IntStream.range(0, executeList.size()).filter(index -> {
+            return affectedList.get(index);
+        }).mapToObj(index -> executeList.get(index)).collect(Collectors.toList());
+        final Iterator<ActionDocMeta> rebuiltIte = buildActionDocMetaList(affectedExecuteList).iterator();
+        final List<ActionDocMeta> actionDocMetaList = DfCollectionUtil.newArrayList();
+        for (int i = 0; i < executeList.size(); i++) {
+            if (affectedList.get(i)) {
+                actionDocMetaList.add(rebuiltIte.next());
+            } else {
+                if (actionDocMetaCache != null) { // unchanged so kept as it is
+                    actionDocMetaCache.retain(deriveActionDocMetaCacheKey(executeList.get(i)));
+                }
+                actionDocMetaList.add(previousList.get(i));
+            }
+        }
+        return actionDocMetaList;
+    }
+
+    protected List<ActionExecute> findTargetActionExecuteList() { // in order of discovery and method definition
         final List<String> actionComponentNameList = findActionComponentNameList();
-        final List<ActionDocMeta> metaList = DfCollectionUtil.newArrayList();
+        final List<ActionExecute> executeList = DfCollectionUtil.newArrayList();
         final ModuleConfig moduleConfig = LaModuleConfigUtil.getModuleConfig();
         actionComponentNameList.forEach(componentName -> { // per action class
             moduleConfig.findActionMapping(componentName).alwaysPresent(actionMapping -> {
@@ -140,14 +300,23 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
                     if (method.getAnnotation(Execute.class) != null) { // only execute method here
                         final ActionExecute actionExecute = actionMapping.getActionExecute(method);
                         if (actionExecute != null && !exceptsActionExecute(actionExecute)) {
-                            final ActionDocMeta actionDocMeta = createActionDocMeta(actionExecute);
-                            metaList.add(actionDocMeta);
+                            executeList.add(actionExecute);
                         }
                     }
                 });
             });
         });
-        return metaList;
+        return executeList;
+    }
+
+    protected List<ActionDocMeta> buildActionDocMetaList(List<ActionExecute> executeList) { // same order as executes
+        if (metaBuildingParallelism <= 0 || executeList.size() <= 1) {
+            return executeList.stream().map(execute -> prepareActionDocMeta(execute)).collect(Collectors.toList());
+        }
+        // each meta is built from only its execute, and shared caches (e.g. property analysis, source parser) are thread-safe
+        // the resolver is resolved here so that worker threads do not race to create the context
+        getActionPathResolver();
+        return LaDocConcurrentUtil.mapInParallel(executeList, metaBuildingParallelism, execute -> prepareActionDocMeta(execute));
     }
 
     protected boolean exceptsActionExecute(ActionExecute actionExecute) { // may be overridden
@@ -165,17 +334,30 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
     // ===================================================================================
     //                                                                      Action DocMeta
     //                                                                      ==============
+    protected ActionDocMeta prepareActionDocMeta(ActionExecute execute) {
+        if (actionDocMetaCache == null) {
+            return createActionDocMeta(execute);
+        }
+        final String cacheKey = deriveActionDocMetaCacheKey(execute);
+        final String fingerprint = deriveActionDocMetaFingerprint(execute);
+        return actionDocMetaCache.find(cacheKey, fingerprint).orElseGet(() -> {
+            final ActionDocMeta actionDocMeta = createActionDocMeta(execute);
+            actionDocMetaCache.register(cacheKey, fingerprint, actionDocMeta);
+            return actionDocMeta;
+        });
+    }
+
+    protected String deriveActionDocMetaCacheKey(ActionExecute execute) { // e.g. org.docksidestage.app.web.sea.SeaAction#index
+        // by component class, subclasses inheriting the same execute method are different actions
+        final Class<?> componentClass = execute.getActionMapping().getActionDef().getComponentClass();
+        return componentClass.getName() + "#" + execute.getExecuteMethod().getName();
+    }
+
     protected ActionDocMeta createActionDocMeta(ActionExecute execute) {
         final ActionDocMeta actionDocMeta = new ActionDocMeta();
-        final Class<?> actionClass = execute.getActionMapping().getActionDef().getComponentClass();
-        final UrlChain urlChain = new UrlChain(actionClass);
-        final String urlPattern = execute.getPreparedUrlPattern().getResolvedUrlPattern();
-        if (!"index".equals(urlPattern)) {
-            urlChain.moreUrl(urlPattern);
-        }
 
         // action item
-        actionDocMeta.setUrl(getActionPathResolver().toActionUrl(actionClass, urlChain));
+        actionDocMeta.setUrl(deriveActionUrl(execute));
 
         // class item
         final Method executeMethod = execute.getExecuteMethod();
@@ -228,13 +410,23 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
         actionDocMeta.setReturnTypeDocMeta(analyzeReturnClass(executeMethod));
 
         // extension item (url, return, comment...)
-        sourceParserReflector.ifPresent(sourceParserReflector -> {
+        sourceParserReflector.ifPresent(sourceParserReflector -> { // per execute, not batch of action class (see the reflector)
             sourceParserReflector.reflect(actionDocMeta, executeMethod);
         });
 
         return actionDocMeta;
     }
 
+    protected String deriveActionUrl(ActionExecute execute) { // e.g. /sea/land/{}/, also used for fingerprint
+        final Class<?> actionClass = execute.getActionMapping().getActionDef().getComponentClass();
+        final UrlChain urlChain = new UrlChain(actionClass);
+        final String urlPattern = execute.getPreparedUrlPattern().getResolvedUrlPattern();
+        if (!"index".equals(urlPattern)) {
+            urlChain.moreUrl(urlPattern);
+        }
+        return getActionPathResolver().toActionUrl(actionClass, urlChain);
+    }
+
     // ===================================================================================
     //                                                                             Analyze
     //                                                                             =======
@@ -278,7 +470,7 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
             final Class<?> formType = lastafluteFormMeta.getListFormParameterGenericType().orElse(lastafluteFormMeta.getFormType());
             // #question can be emptyMap()? it seems like read-only in analyzeProperties() by jflute (2019/07/01)
             final Map<String, Type> genericParameterTypesMap = DfCollectionUtil.newLinkedHashMap();
-            final List<TypeDocMeta> propertyDocMetaList = analyzeProperties(formType, genericParameterTypesMap, depth);
+            final List<TypeDocMeta> propertyDocMetaList = analyzeTopProperties(formType, genericParameterTypesMap);
             formDocMeta.setNestTypeDocMetaList(propertyDocMetaList);
             sourceParserReflector.ifPresent(sourceParserReflector -> {
                 sourceParserReflector.reflect(formDocMeta, formType);
@@ -319,7 +511,7 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
             }
             final List<Class<? extends Object>> nativeClassList = getNativeClassList();
             if (returnClass != null && !nativeClassList.contains(returnClass)) {
-                final List<TypeDocMeta> propertyDocMetaList = analyzeProperties(returnClass, genericParameterTypesMap, depth);
+                final List<TypeDocMeta> propertyDocMetaList = analyzeTopProperties(returnClass, genericParameterTypesMap);
                 returnDocMeta.setNestTypeDocMetaList(propertyDocMetaList);
             }
 
@@ -344,17 +536,202 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
     // #hope separate analyzeProperties() from this generator (because depth is shadowed) by jflute (2019/07/01)
     // (also analyzePropertyField())
     //
+    // for e.g. form type, return type (always expanded even if type graph)
+    protected List<TypeDocMeta> analyzeTopProperties(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap) {
+        if (!typeGraphAnalysis) {
+            return analyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+        }
+        if (propertyAnalysisCacheSuppressed) {
+            return doAnalyzeTypeGraph(propertyOwner, genericParameterTypesMap);
+        }
+        // the graph starts at the top type, so same result for same top type (nested types are not cached, depending on graph)
+        final PropertyAnalysisKey key = new PropertyAnalysisKey(propertyOwner, genericParameterTypesMap, depth, /*typeGraph*/true);
+        List<TypeDocMeta> cachedList = propertyAnalysisCacheMap.get(key);
+        if (cachedList == null) {
+            cachedList = doAnalyzeTypeGraph(propertyOwner, genericParameterTypesMap);
+            propertyAnalysisCacheMap.put(key, cachedList);
+        }
+        return copyPropertyDocMetaList(cachedList); // same reason as analyzeProperties()
+    }
+
+    protected List<TypeDocMeta> doAnalyzeTypeGraph(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap) {
+        final Map<PropertyAnalysisKey, TypeGraphExpansion> typeGraph = DfCollectionUtil.newHashMap(); // per form or return
+        final PropertyAnalysisKey topKey = createTypeGraphKey(propertyOwner, genericParameterTypesMap);
+        typeGraph.put(topKey, new TypeGraphExpansion(null, depth)); // the top type is expanded with the max depth
+        final Map<PropertyAnalysisKey, TypeGraphExpansion> previousGraph = currentTypeGraph.get(); // basically null
+        currentTypeGraph.set(typeGraph);
+        try {
+            return analyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+        } finally { // also when exception, not to leave the graph in pooled thread
+            if (previousGraph != null) {
+                currentTypeGraph.set(previousGraph);
+            } else {
+                currentTypeGraph.remove();
+            }
+        }
+    }
+
+    // for e.g. nested property type, may be reference if type graph
+    protected List<TypeDocMeta> analyzeNestProperties(TypeDocMeta meta, Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap,
+            int depth) {
+        final Map<PropertyAnalysisKey, TypeGraphExpansion> typeGraph = currentTypeGraph.get();
+        if (typeGraph == null) { // normally here
+            return analyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+        }
+        if (depth < 0) { // depth limit is also applied to type graph, and the type is not expanded here so not registered
+            return DfCollectionUtil.newArrayList();
+        }
+        final String referenceTypeName = buildReferenceTypeName(propertyOwner, genericParameterTypesMap);
+        final PropertyAnalysisKey graphKey = createTypeGraphKey(propertyOwner, genericParameterTypesMap);
+        final TypeGraphExpansion expansion = typeGraph.get(graphKey);
+        if (expansion != null && expansion.depth >= depth) { // e.g. cycle, same part used again (not deeper than expanded one)
+            meta.setReferenceTypeName(referenceTypeName);
+            return DfCollectionUtil.newArrayList(); // nested properties are at the expanded one
+        }
+        // first occurrence, or the expanded one is cut by depth (e.g. reached deeply at first) so expanded again here
+        // and the previous one becomes reference, so only one expansion (with max depth) per type, e.g. swagger definition
+        if (expansion != null && expansion.meta != null) {
+            expansion.meta.setReferenceTypeName(referenceTypeName);
+            expansion.meta.setNestTypeDocMetaList(DfCollectionUtil.newArrayList()); // the types in it appear again here
+        }
+        typeGraph.put(graphKey, new TypeGraphExpansion(meta, depth));
+        return analyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+    }
+
+    protected static class TypeGraphExpansion {
+
+        protected final TypeDocMeta meta; // null if top type
+        protected final int depth; // remaining depth at the expansion
+
+        public TypeGraphExpansion(TypeDocMeta meta, int depth) {
+            this.meta = meta;
+            this.depth = depth;
+        }
+    }
+
+    protected PropertyAnalysisKey createTypeGraphKey(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap) {
+        return new PropertyAnalysisKey(propertyOwner, genericParameterTypesMap, 0); // depth is kept in expansion
+    }
+
+    protected String buildReferenceTypeName(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap) {
+        final String ownerTypeName = adjustTypeName(propertyOwner);
+        if (genericParameterTypesMap.isEmpty()) { // mostly here
+            return ownerTypeName; // e.g. org.docksidestage.app.web.sea.SeaResult$HangarPart
+        }
+        return genericParameterTypesMap.values().stream().map(type -> {
+            return adjustTypeName(type);
+        }).collect(Collectors.joining(", ", ownerTypeName + "<", ">")); // e.g. ...SearchPagingResult<...ProductsRowResult>
+    }
+
     // for e.g. form type, return type, nested property type
     protected List<TypeDocMeta> analyzeProperties(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap, int depth) {
         if (depth < 0) {
             return DfCollectionUtil.newArrayList();
         }
+        if (currentTypeGraph.get() != null) { // cycles and repeated types are references, cached as whole graph at top
+            return doAnalyzeProperties(propertyOwner, genericParameterTypesMap, depth); // no cache here, depends on graph
+        }
+        if (propertyAnalysisCacheSuppressed) {
+            return doAnalyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+        }
+        // same result for same owner, bindings and depth, e.g. paging result, common part used by many actions
+        // (not computeIfAbsent() because of recursive call for nested properties)
+        final PropertyAnalysisKey key = new PropertyAnalysisKey(propertyOwner, genericParameterTypesMap, depth);
+        List<TypeDocMeta> cachedList = propertyAnalysisCacheMap.get(key);
+        if (cachedList == null) {
+            cachedList = doAnalyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+            propertyAnalysisCacheMap.put(key, cachedList);
+        }
+        // the cached metas are never handed out, because callers may change them (e.g. type in swagger generation)
+        // while other threads are building metas from the cache (parallel building)
+        return copyPropertyDocMetaList(cachedList);
+    }
+
+    protected List<TypeDocMeta> copyPropertyDocMetaList(List<TypeDocMeta> metaList) { // deeply, cheaper than analyzing
+        return metaList.stream().map(meta -> copyPropertyDocMeta(meta)).collect(Collectors.toList());
+    }
+
+    protected TypeDocMeta copyPropertyDocMeta(TypeDocMeta meta) {
+        final TypeDocMeta copied = new TypeDocMeta();
+        copied.setName(meta.getName());
+        copied.setPublicName(meta.getPublicName());
+        copied.setType(meta.getType());
+        copied.setTypeName(meta.getTypeName());
+        copied.setSimpleTypeName(meta.getSimpleTypeName());
+        copied.setValue(meta.getValue());
+        copied.setDescription(meta.getDescription());
+        copied.setComment(meta.getComment()); // tag model is parsed again if needed
+        copied.setGenericType(meta.getGenericType());
+        if (meta.getAnnotationTypeList() != null) { // annotations themselves are immutable
+            copied.setAnnotationTypeList(DfCollectionUtil.newArrayList(meta.getAnnotationTypeList()));
+        }
+        if (meta.getAnnotationList() != null) {
+            copied.setAnnotationList(DfCollectionUtil.newArrayList(meta.getAnnotationList()));
+        }
+        if (meta.getNestTypeDocMetaList() != null) {
+            copied.setNestTypeDocMetaList(copyPropertyDocMetaList(meta.getNestTypeDocMetaList()));
+        }
+        copied.setReferenceTypeName(meta.getReferenceTypeName());
+        return copied;
+    }
+
+    protected List<TypeDocMeta> doAnalyzeProperties(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap, int depth) {
         final Set<Field> fieldSet = extractWholeFieldSet(propertyOwner);
-        return fieldSet.stream().filter(field -> { // also contains private fields and super's fields
+        final List<Field> fieldList = fieldSet.stream().filter(field -> { // also contains private fields and super's fields
             return !exceptsField(field);
-        }).map(field -> { // #question can private fields be treated as property? by jflute
+        }).collect(Collectors.toList());
+        // #question can private fields be treated as property? by jflute
+        final List<TypeDocMeta> metaList = fieldList.stream().map(field -> {
             return analyzePropertyField(propertyOwner, genericParameterTypesMap, depth, field);
         }).collect(Collectors.toList());
+
+        // e.g. comment item (description, comment), reflected at once per owner
+        sourceParserReflector.ifPresent(sourceParserReflector -> {
+            sourceParserReflector.reflect(metaList, propertyOwner);
+        });
+
+        // necessary to set it after parsing javadoc
+        IntStream.range(0, fieldList.size()).forEach(index -> {
+            final TypeDocMeta meta = metaList.get(index);
+            final Field field = fieldList.get(index);
+            meta.setName(adjustFieldName(propertyOwner, field));
+            meta.setPublicName(adjustPublicFieldName(propertyOwner, field));
+        });
+        return metaList;
+    }
+
+    protected static class PropertyAnalysisKey {
+
+        protected final Class<?> propertyOwner;
+        protected final Map<String, Type> genericParameterTypesMap; // copied because caller's map may be changed
+        protected final int depth;
+        protected final boolean typeGraph; // analyzed as type graph from the owner
+
+        public PropertyAnalysisKey(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap, int depth) {
+            this(propertyOwner, genericParameterTypesMap, depth, false);
+        }
+
+        public PropertyAnalysisKey(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap, int depth, boolean typeGraph) {
+            this.propertyOwner = propertyOwner;
+            this.genericParameterTypesMap = new LinkedHashMap<String, Type>(genericParameterTypesMap);
+            this.depth = depth;
+            this.typeGraph = typeGraph;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof PropertyAnalysisKey)) {
+                return false;
+            }
+            final PropertyAnalysisKey other = (PropertyAnalysisKey) obj;
+            return propertyOwner.equals(other.propertyOwner) && genericParameterTypesMap.equals(other.genericParameterTypesMap)
+                    && depth == other.depth && typeGraph == other.typeGraph;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((propertyOwner.hashCode() * 31 + genericParameterTypesMap.hashCode()) * 31 + depth) * 31 + (typeGraph ? 1 : 0);
+        }
     }
 
     protected Set<Field> extractWholeFieldSet(Class<?> propertyOwner) {
@@ -363,11 +740,17 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
             if (targetClazz == null) { // e.g. interface: MultipartFormFile
                 break;
             }
-            fieldSet.addAll(Arrays.asList(targetClazz.getDeclaredFields()));
+            fieldSet.addAll(extractDeclaredFieldList(targetClazz));
         }
         return fieldSet;
     }
 
+    protected List<Field> extractDeclaredFieldList(Class<?> targetClazz) { // definition order if source exists
+        return sourceParserReflector.map(reflector -> reflector.getFieldListOrderByDefinition(targetClazz)).orElseGet(() -> {
+            return Arrays.asList(targetClazz.getDeclaredFields());
+        });
+    }
+
     protected boolean exceptsField(Field field) { // e.g. special field and static field
         return SUPPRESSED_FIELD_SET.contains(field.getName()) || Modifier.isStatic(field.getModifiers());
     }
@@ -423,7 +806,7 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
             //      }
             //  }
             // _/_/_/_/_/_/_/_/_/_/
-            meta.setNestTypeDocMetaList(analyzeProperties(resolvedClass, genericParameterTypesMap, depth - 1));
+            meta.setNestTypeDocMetaList(analyzeNestProperties(meta, resolvedClass, genericParameterTypesMap, depth - 1));
         } else if (isTargetSuffixFieldGeneric(field)) { // nested bean of generic type as top or inner class
             // _/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/
             // e.g.
@@ -441,14 +824,14 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
             Type type = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
             if (type instanceof Class<?>) {
                 final Class<?> typeArgumentClass = (Class<?>) type;
-                meta.setNestTypeDocMetaList(analyzeProperties(typeArgumentClass, genericParameterTypesMap, depth - 1));
+                meta.setNestTypeDocMetaList(analyzeNestProperties(meta, typeArgumentClass, genericParameterTypesMap, depth - 1));
                 // overriding type names that are already set before
                 final String currentTypeName = meta.getTypeName();
                 meta.setTypeName(adjustTypeName(currentTypeName) + "<" + adjustTypeName(typeArgumentClass) + ">");
                 meta.setSimpleTypeName(adjustSimpleTypeName(currentTypeName) + "<" + adjustSimpleTypeName(typeArgumentClass) + ">");
             } else if (type instanceof ParameterizedType) {
                 final Class<?> typeArgumentClass = (Class<?>) ((ParameterizedType) type).getActualTypeArguments()[0];
-                meta.setNestTypeDocMetaList(analyzeProperties(typeArgumentClass, genericParameterTypesMap, depth - 1));
+                meta.setNestTypeDocMetaList(analyzeNestProperties(meta, typeArgumentClass, genericParameterTypesMap, depth - 1));
                 // overriding type names that are already set before
                 final String currentTypeName = meta.getTypeName();
                 meta.setTypeName(adjustTypeName(currentTypeName) + "<" + adjustTypeName(((ParameterizedType) type).getRawType()) + "<"
@@ -459,9 +842,8 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
             }
         } else { // e.g. String, Integer, LocalDate, Sea<Mystic>
             // TODO p1us2er0 optimisation, generic handling in analyzePropertyField() (2017/09/26)
-            if (field.getGenericType().getTypeName().matches(".*<(.*)>")) { // e.g. Sea<Mystic>
-                final String genericTypeName = field.getGenericType().getTypeName().replaceAll(".*<(.*)>", "$1");
-
+            final String genericTypeName = getGenerationContext().findTypeName(field.getGenericType()).getLastGenericExp();
+            if (genericTypeName != null) { // e.g. Sea<Mystic>
                 // generic item
                 try {
                     meta.setGenericType(DfReflectionUtil.forName(genericTypeName));
@@ -471,7 +853,7 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
 
                 final Type genericClass = genericParameterTypesMap.get(genericTypeName);
                 if (genericClass != null) { // the generic is defined at top definition (e.g. return)
-                    meta.setNestTypeDocMetaList(analyzeProperties((Class<?>) genericClass, genericParameterTypesMap, depth - 1));
+                    meta.setNestTypeDocMetaList(analyzeNestProperties(meta, (Class<?>) genericClass, genericParameterTypesMap, depth - 1));
 
                     // overriding type names that are already set before
                     final String typeName = meta.getTypeName();
@@ -485,16 +867,7 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
                 }
             }
         }
-
-        // e.g. comment item (description, comment)
-        sourceParserReflector.ifPresent(sourceParserReflector -> {
-            sourceParserReflector.reflect(meta, propertyOwner);
-        });
-
-        // necessary to set it after parsing javadoc
-        meta.setName(adjustFieldName(propertyOwner, field));
-        meta.setPublicName(adjustPublicFieldName(propertyOwner, field));
-        return meta;
+        return meta; // comment and names are set by caller (after reflecting source)
     }
 
     protected String buildEnumValuesExp(Class<?> typeClass) {
@@ -574,6 +947,126 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
                 || clazz.getName().contains("Form$"); // inner class of Form (e.g. Part)
     }
 
+    // ===================================================================================
+    //                                                                    Meta Fingerprint
+    //                                                                    ================
+    // fingerprint of action execute for meta cache, made from the URL and classes that the analysis reaches:
+    //  o URL resolved by action path resolver (e.g. changed URL pattern or naming convention)
+    //  o action component class, method declaring class and their super classes (class bytes and source)
+    //  o parameter, form, return types (always expanded like analysis) and nested target types (e.g. Form, Result, Part)
+    //  o types of action fields (e.g. injected components, their comment is reflected)
+    protected String deriveActionDocMetaFingerprint(ActionExecute execute) {
+        final MessageDigest digest = ActionDocMetaCache.newDigest();
+        digest.update(deriveGenerationEnvironmentFingerprint().getBytes(StandardCharsets.UTF_8));
+        digest.update(deriveActionUrl(execute).getBytes(StandardCharsets.UTF_8));
+        collectActionReachedClassSet(execute).forEach(clazz -> {
+            digest.update(clazz.getName().getBytes(StandardCharsets.UTF_8));
+            digest.update(classFingerprintMap.computeIfAbsent(clazz, key -> deriveClassFingerprint(key)).getBytes(StandardCharsets.UTF_8));
+        });
+        return ActionDocMetaCache.toHex(digest.digest());
+    }
+
+    protected Set<Class<?>> collectActionReachedClassSet(ActionExecute execute) { // also for regenerating changed actions
+        final Method executeMethod = execute.getExecuteMethod();
+        final Set<Class<?>> classSet = DfCollectionUtil.newLinkedHashSet();
+        collectFingerprintClassChain(execute.getActionMapping().getActionDef().getComponentClass(), classSet);
+        collectFingerprintClassChain(executeMethod.getDeclaringClass(), classSet);
+        Arrays.stream(executeMethod.getGenericParameterTypes()).forEach(type -> collectFingerprintClass(type, classSet, true));
+        collectFingerprintClass(executeMethod.getGenericReturnType(), classSet, true);
+        Arrays.stream(executeMethod.getDeclaringClass().getDeclaredFields()).forEach(field -> {
+            if (!isFingerprintExceptedClass(field.getType())) {
+                classSet.add(field.getType());
+            }
+        });
+        return classSet;
+    }
+
+    protected void collectFingerprintClassChain(Class<?> clazz, Set<Class<?>> classSet) { // class and super classes
+        for (Class<?> targetClazz = clazz; targetClazz != null; targetClazz = targetClazz.getSuperclass()) {
+            if (!isFingerprintExceptedClass(targetClazz)) {
+                classSet.add(targetClazz);
+            }
+        }
+    }
+
+    /**
+     * @param type The type reached by the analysis. (NotNull)
+     * @param classSet The set of collected classes, also to avoid cyclic reference. (NotNull)
+     * @param topLevel Is it parameter, form or return type (or their generic argument)? (then always expanded)
+     */
+    protected void collectFingerprintClass(Type type, Set<Class<?>> classSet, boolean topLevel) {
+        if (type instanceof ParameterizedType) { // e.g. JsonResponse<SeaResult>, List<SeaPart>
+            collectFingerprintClass(((ParameterizedType) type).getRawType(), classSet, topLevel);
+            Arrays.stream(((ParameterizedType) type).getActualTypeArguments()).forEach(arg -> {
+                collectFingerprintClass(arg, classSet, topLevel);
+            });
+        } else if (type instanceof GenericArrayType) {
+            collectFingerprintClass(((GenericArrayType) type).getGenericComponentType(), classSet, topLevel);
+        } else if (type instanceof WildcardType) {
+            Arrays.stream(((WildcardType) type).getUpperBounds()).forEach(bound -> collectFingerprintClass(bound, classSet, topLevel));
+        } else if (type instanceof Class<?>) {
+            final Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                collectFingerprintClass(clazz.getComponentType(), classSet, topLevel);
+                return;
+            }
+            if (isFingerprintExceptedClass(clazz) || !classSet.add(clazz)) { // also avoid cyclic reference
+                return;
+            }
+            // top-level types are expanded by analyzeTopProperties() regardless of suffix, e.g. form without suffix
+            if (topLevel || isTargetSuffixResolvedClass(clazz)) { // same condition as analysis
+                for (Class<?> targetClazz = clazz; targetClazz != null && targetClazz != Object.class; targetClazz =
+                        targetClazz.getSuperclass()) {
+                    if (!isFingerprintExceptedClass(targetClazz)) {
+                        classSet.add(targetClazz);
+                    }
+                    for (Field field : targetClazz.getDeclaredFields()) {
+                        if (!exceptsField(field)) {
+                            collectFingerprintClass(field.getGenericType(), classSet, false);
+                        }
+                    }
+                }
+            }
+        } // type variable is resolved at parameterized type
+    }
+
+    protected boolean isFingerprintExceptedClass(Class<?> clazz) { // e.g. JDK classes are not changed by application
+        return clazz.isPrimitive() || clazz.getClassLoader() == null || clazz.getName().startsWith("java.");
+    }
+
+    protected String deriveClassFingerprint(Class<?> clazz) { // class bytes and source file
+        final MessageDigest digest = ActionDocMetaCache.newDigest();
+        final String classResource = clazz.getName().replace('.', '/') + ".class";
+        try (InputStream ins = clazz.getClassLoader().getResourceAsStream(classResource)) {
+            if (ins != null) {
+                final byte[] buffer = new byte[8192];
+                int read;
+                while ((read = ins.read(buffer)) >= 0) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            final String sourcePath = clazz.getName().replaceAll("\\$.*", "").replace('.', File.separatorChar) + ".java";
+            for (String srcDir : srcDirList) {
+                final Path sourceFile = Paths.get(srcDir, sourcePath);
+                if (Files.exists(sourceFile)) { // first found like source parser
+                    digest.update(Files.readAllBytes(sourceFile));
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the class for fingerprint: " + clazz, e);
+        }
+        return ActionDocMetaCache.toHex(digest.digest());
+    }
+
+    protected String deriveGenerationEnvironmentFingerprint() { // settings affecting the whole meta
+        final String fieldNaming = getApplicationJsonMappingOption().flatMap(option -> option.getFieldNaming()).map(naming -> {
+            return naming.name();
+        }).orElse("none");
+        final String graph = typeGraphAnalysis ? ", graph" : ""; // not to change existing fingerprint
+        return "depth=" + depth + ", suffix=" + getTargetTypeSuffixList() + ", naming=" + fieldNaming + graph;
+    }
+
     // ===================================================================================
     //                                                                     Action Property
     //                                                                     ===============
@@ -619,33 +1112,142 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
     //                                                                        DI Container
     //                                                                        ============
     protected List<String> findActionComponentNameList() {
-        final List<String> componentNameList = DfCollectionUtil.newArrayList();
         final LaContainer container = getRootContainer();
-        srcDirList.stream().filter(srcDir -> Paths.get(srcDir).toFile().exists()).forEach(srcDir -> {
-            try (Stream<Path> stream = Files.find(Paths.get(srcDir), Integer.MAX_VALUE, (path, attr) -> {
-                return path.toString().endsWith("Action.java");
-            })) {
-                stream.sorted().map(path -> {
-                    final String className = extractActionClassName(path, srcDir);
-                    return DfReflectionUtil.forName(className);
-                }).filter(clazz -> !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers())).forEach(clazz -> {
+        final OptionalThing<List<String>> indexedComponentNameList = findIndexedActionComponentNameList(container);
+        if (indexedComponentNameList.isPresent()) { // e.g. built by ActionIndexProcessor, no need to walk and scan
+            return indexedComponentNameList.get();
+        }
+        final Set<String> componentNameSet = DfCollectionUtil.newLinkedHashSet(); // keeps discovery order
+        findSourceActionClassList().stream().filter(clazz -> {
+            return !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers());
+        }).forEach(clazz -> {
+            final String componentName = container.getComponentDef(clazz).getComponentName();
+            if (componentName != null) {
+                componentNameSet.add(componentName);
+            }
+        });
+        findContainerActionDefList(container).forEach(componentDef -> componentNameSet.add(componentDef.getComponentName()));
+        return DfCollectionUtil.newArrayList(componentNameSet);
+    }
+
+    protected List<ComponentDef> findContainerActionDefList(LaContainer container) { // scans all components
+        return IntStream.range(0, container.getComponentDefSize()).mapToObj(index -> {
+            return container.getComponentDef(index);
+        }).filter(componentDef -> {
+            final String componentName = componentDef.getComponentName();
+            return componentName != null && componentName.endsWith("Action");
+        }).collect(Collectors.toList());
+    }
+
+    // -----------------------------------------------------
+    //                                          Action Index
+    //                                          ------------
+    /**
+     * Find the action component names by the action index, looking up only the indexed classes in the container. <br>
+     * The indexed classes not registered in the container are ignored, e.g. actions of library jar having own index.
+     * The index is treated as stale if it has a class not found, e.g. deleted action after compiling.
+     * (added actions without annotation processing are not detected, then use suppressActionIndex())
+     * @param container The root container of the application. (NotNull)
+     * @return The optional list of action component names. (NotNull, EmptyAllowed: no index or stale index)
+     */
+    protected OptionalThing<List<String>> findIndexedActionComponentNameList(LaContainer container) {
+        final OptionalThing<List<String>> indexedClassNameList = findIndexedActionClassNameList();
+        final Set<String> componentNameSet = DfCollectionUtil.newLinkedHashSet(); // keeps index order
+        boolean stale = false;
+        if (indexedClassNameList.isPresent()) {
+            for (String className : indexedClassNameList.get()) {
+                final OptionalThing<Class<?>> optClass = findIndexedActionClass(className);
+                if (!optClass.isPresent()) {
+                    stale = true;
+                    break;
+                }
+                final Class<?> clazz = optClass.get();
+                if (container.hasComponentDef(clazz)) {
                     final String componentName = container.getComponentDef(clazz).getComponentName();
-                    if (componentName != null && !componentNameList.contains(componentName)) {
-                        componentNameList.add(componentName);
+                    if (componentName != null) {
+                        componentNameSet.add(componentName);
                     }
-                });
-            } catch (IOException e) {
-                throw new IllegalStateException("Failed to find the components: " + srcDir, e);
+                }
             }
+        }
+        if (stale) {
+            _log.debug("...Scanning the container instead of the stale action index: {}", ActionIndexProcessor.ACTION_INDEX_PATH);
+        }
+        final boolean available = !stale && !componentNameSet.isEmpty();
+        return OptionalThing.ofNullable(available ? DfCollectionUtil.newArrayList(componentNameSet) : null, () -> {
+            throw new IllegalStateException("Not found the available action index: " + ActionIndexProcessor.ACTION_INDEX_PATH);
         });
-        IntStream.range(0, container.getComponentDefSize()).forEach(index -> {
-            final ComponentDef componentDef = container.getComponentDef(index);
-            final String componentName = componentDef.getComponentName();
-            if (componentName.endsWith("Action") && !componentNameList.contains(componentName)) {
-                componentNameList.add(componentDef.getComponentName());
+    }
+
+    /**
+     * @return The optional list of indexed action class names in class loader resources. (NotNull, EmptyAllowed: no index)
+     */
+    protected OptionalThing<List<String>> findIndexedActionClassNameList() {
+        if (actionIndexSuppressed) {
+            return OptionalThing.empty();
+        }
+        final String indexPath = ActionIndexProcessor.ACTION_INDEX_PATH;
+        final Set<String> classNameSet = DfCollectionUtil.newLinkedHashSet();
+        try {
+            // may be several indexes e.g. application and its common module jar
+            final Enumeration<URL> urls = Thread.currentThread().getContextClassLoader().getResources(indexPath);
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines().map(line -> line.trim()).filter(line -> !line.isEmpty() && !line.startsWith("#")).forEach(line -> {
+                        classNameSet.add(line);
+                    });
+                }
             }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the action index: " + indexPath, e);
+        }
+        return OptionalThing.ofNullable(classNameSet.isEmpty() ? null : DfCollectionUtil.newArrayList(classNameSet), () -> {
+            throw new IllegalStateException("Not found the action index: " + indexPath);
         });
-        return componentNameList;
+    }
+
+    protected OptionalThing<Class<?>> findIndexedActionClass(String className) { // empty if stale index
+        Class<?> clazz;
+        try {
+            clazz = DfReflectionUtil.forName(className);
+        } catch (ReflectionFailureException e) { // e.g. deleted action after compiling
+            _log.debug("...Ignoring the stale class in action index: {}", className);
+            clazz = null;
+        }
+        return OptionalThing.ofNullable(clazz, () -> {
+            throw new IllegalStateException("Not found the indexed action class: " + className);
+        });
+    }
+
+    // -----------------------------------------------------
+    //                                   Source Action Class
+    //                                   -------------------
+    protected List<Class<?>> findSourceActionClassList() { // in order of source directory and sorted path
+        final List<String> existingSrcDirList = srcDirList.stream().filter(srcDir -> {
+            return Paths.get(srcDir).toFile().exists();
+        }).collect(Collectors.toList());
+        if (parallelDiscovery) {
+            final List<List<String>> classNameListList = LaDocConcurrentUtil.mapInParallel(existingSrcDirList, srcDir -> {
+                return findSourceActionClassNameList(srcDir);
+            });
+            final List<String> classNameList = classNameListList.stream().flatMap(List::stream).collect(Collectors.toList());
+            return LaDocConcurrentUtil.mapInParallel(classNameList, className -> DfReflectionUtil.forName(className));
+        } else {
+            return existingSrcDirList.stream().flatMap(srcDir -> {
+                return findSourceActionClassNameList(srcDir).stream();
+            }).map(className -> DfReflectionUtil.forName(className)).collect(Collectors.toList());
+        }
+    }
+
+    protected List<String> findSourceActionClassNameList(String srcDir) { // sorted by path
+        try (Stream<Path> stream = Files.find(Paths.get(srcDir), Integer.MAX_VALUE, (path, attr) -> {
+            return path.toString().endsWith("Action.java");
+        })) {
+            return stream.sorted().map(path -> extractActionClassName(path, srcDir)).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to find the components: " + srcDir, e);
+        }
     }
 
     protected String extractActionClassName(Path path, String srcDir) { // for forName()
@@ -668,11 +1270,23 @@ public class ActionDocumentGenerator extends BaseDocumentGenerator {
         return SingletonLaContainerFactory.getContainer().getRoot();
     }
 
+    protected DocumentGenerationContext getGenerationContext() {
+        if (generationContext == null) { // e.g. generator created directly
+            generationContext = createDocumentGeneratorFactory().createDocumentGenerationContext();
+        }
+        return generationContext;
+    }
+
+    @Override
+    protected LaDocTypeName findTypeName(String typeName) { // memoized in the run
+        return getGenerationContext().findTypeName(typeName);
+    }
+
     protected ActionPathResolver getActionPathResolver() {
-        return ContainerUtil.getComponent(ActionPathResolver.class);
+        return getGenerationContext().getActionPathResolver();
     }
 
     protected OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
-        return createDocumentGeneratorFactory().getApplicationJsonMappingOption();
+        return getGenerationContext().getApplicationJsonMappingOption();
     }
 }
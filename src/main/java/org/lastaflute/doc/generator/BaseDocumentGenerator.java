@@ -16,18 +16,25 @@
 package org.lastaflute.doc.generator;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.dbflute.jdbc.Classification;
 import org.dbflute.util.DfReflectionUtil;
 import org.dbflute.util.DfTypeUtil;
 import org.dbflute.util.Srl;
+import org.lastaflute.doc.util.LaDocTypeName;
 
 /**
  * @author p1us2er0
@@ -36,6 +43,25 @@ import org.dbflute.util.Srl;
  */
 public class BaseDocumentGenerator {
 
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The attributes (accessors) per annotation type, e.g. hangar() of @SeaPark. (NotNull) */
+    protected static final ClassValue<List<AnnotationAttribute>> ANNOTATION_ATTRIBUTE_CACHE = new ClassValue<List<AnnotationAttribute>>() {
+        @Override
+        protected List<AnnotationAttribute> computeValue(Class<?> annotationType) {
+            return Collections.unmodifiableList(Arrays.stream(annotationType.getDeclaredMethods()).map(method -> {
+                return new AnnotationAttribute(method);
+            }).collect(Collectors.toList()));
+        }
+    };
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The map of rendered annotation expressions, key is annotation (equal by values). (NotNull) */
+    protected final Map<Annotation, String> annotationExpMap = new ConcurrentHashMap<Annotation, String>();
+
     // ===================================================================================
     //                                                                             Analyze
     //                                                                             =======
@@ -44,51 +70,108 @@ public class BaseDocumentGenerator {
     //                                    ------------------
     protected List<String> analyzeAnnotationList(List<Annotation> annotationList) {
         return annotationList.stream().map(annotation -> {
-            final Class<? extends Annotation> annotationType = annotation.annotationType(); // e.g. @SeaPark
-            final String typeName = adjustSimpleTypeName(annotationType); // e.g. SeaPark
-
-            // _/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/
-            // e.g.
-            //  public @interface SeaPark {
-            //      String dockside() default "over";
-            //      String hangar() default "mystic";
-            //  }
-            //
-            //  @SeaPark(hangar="shadow")
-            //  public String maihama;
-            // _/_/_/_/_/_/_/_/_/_/
-            // you can get method of concrete annotation by getDeclaredMethods()
-            final Map<String, Object> methodMap = Arrays.stream(annotationType.getDeclaredMethods()).filter(method -> {
-                final Object value = DfReflectionUtil.invoke(method, annotation, (Object[]) null); // e.g. shadow (of hangar)
-                final Object defaultValue = method.getDefaultValue(); // e.g. mystic (of hangar)
-                if (Objects.equals(value, defaultValue)) { // means non-specified attribute
-                    return false;
-                }
-                if (method.getReturnType().isArray() && Arrays.equals((Object[]) value, (Object[]) defaultValue)) { // means non-specified attribute
-                    return false;
-                }
-                return true; // specified attributes only here
-            }).collect(Collectors.toMap(method -> {
-                return method.getName();
-            }, method -> {
-                Object data = DfReflectionUtil.invoke(method, annotation, (Object[]) null); // e.g. shadow (of hangar)
-                if (data != null && data.getClass().isArray()) {
-                    final List<?> dataList = Arrays.asList((Object[]) data);
-                    if (dataList.isEmpty()) {
-                        return "";
-                    }
+            // equal annotations (e.g. @Required on many fields) are rendered once
+            String annotationExp = annotationExpMap.get(annotation);
+            if (annotationExp == null) {
+                annotationExp = buildAnnotationExp(annotation);
+                annotationExpMap.put(annotation, annotationExp);
+            }
+            return annotationExp;
+        }).collect(Collectors.toList());
+    }
+
+    protected String buildAnnotationExp(Annotation annotation) {
+        final Class<? extends Annotation> annotationType = annotation.annotationType(); // e.g. @SeaPark
+        final String typeName = adjustSimpleTypeName(annotationType); // e.g. SeaPark
+
+        // _/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/_/
+        // e.g.
+        //  public @interface SeaPark {
+        //      String dockside() default "over";
+        //      String hangar() default "mystic";
+        //  }
+        //
+        //  @SeaPark(hangar="shadow")
+        //  public String maihama;
+        // _/_/_/_/_/_/_/_/_/_/
+        // you can get method of concrete annotation by getDeclaredMethods() (cached per annotation type)
+        final Map<String, Object> methodMap = new LinkedHashMap<String, Object>();
+        for (AnnotationAttribute attribute : ANNOTATION_ATTRIBUTE_CACHE.get(annotationType)) {
+            final Object value = attribute.invoke(annotation); // e.g. shadow (of hangar)
+            final Object defaultValue = attribute.getDefaultValue(); // e.g. mystic (of hangar)
+            if (Objects.equals(value, defaultValue)) { // means non-specified attribute
+                continue;
+            }
+            if (attribute.isArrayType() && Arrays.equals((Object[]) value, (Object[]) defaultValue)) { // means non-specified attribute
+                continue;
+            }
+            // specified attributes only here
+            Object data = value;
+            if (data != null && data.getClass().isArray()) {
+                final List<?> dataList = Arrays.asList((Object[]) data);
+                if (dataList.isEmpty()) {
+                    data = "";
+                } else {
                     data = dataList.stream().map(o -> {
                         return o instanceof Class<?> ? adjustSimpleTypeName(((Class<?>) o)) : o;
                     }).collect(Collectors.toList());
                 }
-                return data;
-            }, (u, v) -> v, LinkedHashMap::new));
+            }
+            methodMap.put(attribute.getName(), data);
+        }
+
+        if (methodMap.isEmpty()) {
+            return typeName;
+        }
+        return typeName + methodMap;
+    }
+
+    protected static class AnnotationAttribute { // immutable, shared by generators
+
+        protected final Method method;
+        protected final MethodHandle handle; // null if not accessible, e.g. non-public annotation
+        protected final Object defaultValue; // null if no default
+        protected final boolean arrayType;
+
+        public AnnotationAttribute(Method method) {
+            this.method = method;
+            this.handle = createHandle(method);
+            this.defaultValue = method.getDefaultValue();
+            this.arrayType = method.getReturnType().isArray();
+        }
 
-            if (methodMap.isEmpty()) {
-                return typeName;
+        protected static MethodHandle createHandle(Method method) {
+            try {
+                return MethodHandles.publicLookup().unreflect(method).asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException ignored) { // invoked by reflection instead
+                return null;
             }
-            return typeName + methodMap;
-        }).collect(Collectors.toList());
+        }
+
+        public Object invoke(Annotation annotation) {
+            if (handle == null) {
+                return DfReflectionUtil.invoke(method, annotation, (Object[]) null);
+            }
+            try {
+                return (Object) handle.invokeExact((Object) annotation);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to invoke the annotation attribute: " + method, e);
+            }
+        }
+
+        public String getName() {
+            return method.getName();
+        }
+
+        public Object getDefaultValue() {
+            return defaultValue;
+        }
+
+        public boolean isArrayType() {
+            return arrayType;
+        }
     }
 
     // ===================================================================================
@@ -118,6 +201,10 @@ public class BaseDocumentGenerator {
     }
 
     protected String adjustSimpleTypeName(String typeName) {
-        return typeName.replaceAll("[a-z0-9]+\\.", "");
+        return findTypeName(typeName).getSimpleName(); // e.g. List<SeaBean>
+    }
+
+    protected LaDocTypeName findTypeName(String typeName) { // not memoized without generation context
+        return LaDocTypeName.of(typeName);
     }
 }
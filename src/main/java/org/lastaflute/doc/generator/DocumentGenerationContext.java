@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.generator;
+
+import java.lang.reflect.Type;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.core.direction.AccessibleConfig;
+import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.lastaflute.core.util.ContainerUtil;
+import org.lastaflute.doc.util.LaDocTypeName;
+import org.lastaflute.web.path.ActionPathResolver;
+
+/**
+ * The context of one document generation run, resolving e.g. container components once. <br>
+ * Each item is lazy-loaded at first use (so unused components are not needed)
+ * and shared by generators in the run, e.g. action document generator and swagger generator.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class DocumentGenerationContext {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The factory of document generator for e.g. JSON engine and mapping option. (NotNull) */
+    protected final DocumentGeneratorFactory documentGeneratorFactory;
+
+    // lazy-loaded, no problem if resolved twice by threads
+    protected volatile OptionalThing<JsonMappingOption> applicationJsonMappingOption;
+    protected volatile ActionPathResolver actionPathResolver;
+    protected volatile AccessibleConfig accessibleConfig;
+    protected volatile RealJsonEngine jsonEngine;
+
+    /** The map of date-time formatters, key is pattern e.g. yyyy-MM-dd. (NotNull) */
+    protected final Map<String, DateTimeFormatter> dateTimeFormatterMap = new ConcurrentHashMap<String, DateTimeFormatter>();
+
+    /** The map of parsed type names, key is type name e.g. of parameterized type, released with the run. (NotNull) */
+    protected final Map<String, LaDocTypeName> typeNameMap = new ConcurrentHashMap<String, LaDocTypeName>();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public DocumentGenerationContext(DocumentGeneratorFactory documentGeneratorFactory) {
+        this.documentGeneratorFactory = documentGeneratorFactory;
+    }
+
+    // ===================================================================================
+    //                                                                           Component
+    //                                                                           =========
+    /**
+     * @return The optional mapping option of application JSON manager. (NotNull, EmptyAllowed)
+     */
+    public OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
+        if (applicationJsonMappingOption == null) {
+            applicationJsonMappingOption = documentGeneratorFactory.getApplicationJsonMappingOption();
+        }
+        return applicationJsonMappingOption;
+    }
+
+    public ActionPathResolver getActionPathResolver() {
+        if (actionPathResolver == null) {
+            actionPathResolver = findContainerComponent(ActionPathResolver.class);
+        }
+        return actionPathResolver;
+    }
+
+    public AccessibleConfig getAccessibleConfig() {
+        if (accessibleConfig == null) {
+            accessibleConfig = findContainerComponent(AccessibleConfig.class);
+        }
+        return accessibleConfig;
+    }
+
+    /**
+     * @return The JSON engine not depending on application settings, thread-safe. (NotNull)
+     */
+    public RealJsonEngine getJsonEngine() {
+        if (jsonEngine == null) {
+            jsonEngine = documentGeneratorFactory.createJsonEngine();
+        }
+        return jsonEngine;
+    }
+
+    protected <COMPONENT> COMPONENT findContainerComponent(Class<COMPONENT> componentType) { // called once per component in the run
+        return ContainerUtil.getComponent(componentType);
+    }
+
+    // ===================================================================================
+    //                                                                           Formatter
+    //                                                                           =========
+    /**
+     * @param pattern The pattern of date-time, e.g. yyyy-MM-dd, HH:mm:ss.SSS (NotNull)
+     * @return The formatter for the pattern, immutable so shared. (NotNull)
+     */
+    public DateTimeFormatter findDateTimeFormatter(String pattern) {
+        return dateTimeFormatterMap.computeIfAbsent(pattern, key -> DateTimeFormatter.ofPattern(key));
+    }
+
+    // ===================================================================================
+    //                                                                           Type Name
+    //                                                                           =========
+    /**
+     * @param type The type to be parsed, e.g. class, parameterized type. (NotNull)
+     * @return The type name memoized in the run (class is memoized statically). (NotNull)
+     */
+    public LaDocTypeName findTypeName(Type type) {
+        return LaDocTypeName.of(type, typeNameMap);
+    }
+
+    /**
+     * @param typeName The type name to be parsed, e.g. java.util.List&lt;java.lang.String&gt;. (NotNull)
+     * @return The type name memoized in the run. (NotNull)
+     */
+    public LaDocTypeName findTypeName(String typeName) {
+        return LaDocTypeName.of(typeName, typeNameMap);
+    }
+}
@@ -24,7 +24,6 @@ import org.dbflute.util.DfReflectionUtil.ReflectionFailureException;
 import org.lastaflute.core.json.JsonManager;
 import org.lastaflute.core.json.JsonMappingOption;
 import org.lastaflute.core.json.SimpleJsonManager;
-import org.lastaflute.core.json.engine.GsonJsonEngine;
 import org.lastaflute.core.json.engine.RealJsonEngine;
 import org.lastaflute.core.util.ContainerUtil;
 import org.lastaflute.doc.reflector.SourceParserReflector;
@@ -73,13 +72,29 @@ public class DocumentGeneratorFactory {
     }
 
     public RealJsonEngine createJsonEngine() {
-        return new GsonJsonEngine(builder -> {
-            builder.serializeNulls().setPrettyPrinting();
-        }, op -> {});
+        return createLaDocJsonEngine(false);
         // not to depend on application settings
         //return ContainerUtil.getComponent(JsonManager.class);
     }
 
+    /**
+     * Create the JSON engine for LastaDoc files, which can write JSON as stream.
+     * @param compact Is it compact JSON? (not pretty printing, for e.g. large document)
+     * @return The new-created JSON engine. (NotNull)
+     */
+    public LaDocJsonEngine createLaDocJsonEngine(boolean compact) {
+        return new LaDocJsonEngine(builder -> {
+            builder.serializeNulls();
+            if (!compact) {
+                builder.setPrettyPrinting();
+            }
+        }, op -> {});
+    }
+
+    public DocumentGenerationContext createDocumentGenerationContext() { // per generation run
+        return new DocumentGenerationContext(this);
+    }
+
     public OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
         JsonManager jsonManager = ContainerUtil.getComponent(JsonManager.class);
         if (jsonManager instanceof SimpleJsonManager) {
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.generator;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.core.json.engine.GsonJsonEngine;
+
+import com.google.gson.GsonBuilder;
+
+/**
+ * The JSON engine for LastaDoc files, which can write (and read) JSON as stream. <br>
+ * Writing to stream does not build the whole JSON string so memory for large document is saved.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LaDocJsonEngine extends GsonJsonEngine {
+
+    public LaDocJsonEngine(Consumer<GsonBuilder> oneArgInLambda, Consumer<JsonMappingOption> opLambda) {
+        super(oneArgInLambda, opLambda);
+    }
+
+    /**
+     * Write the bean as JSON to the writer, walking the bean while writing.
+     * @param bean The bean written as JSON. (NullAllowed: then null JSON)
+     * @param writer The writer of JSON, not closed here. (NotNull)
+     */
+    public void toJson(Object bean, Writer writer) {
+        gson.toJson(bean, writer); // e.g. JsonIOException if I/O error
+    }
+
+    /**
+     * Read the JSON from the reader as the bean.
+     * @param <BEAN> The type of bean.
+     * @param reader The reader of JSON, not closed here. (NotNull)
+     * @param beanType The type of bean. (NotNull)
+     * @return The read bean. (NullAllowed: when empty JSON)
+     */
+    public <BEAN> BEAN fromJson(Reader reader, Class<BEAN> beanType) {
+        return gson.fromJson(reader, beanType);
+    }
+}
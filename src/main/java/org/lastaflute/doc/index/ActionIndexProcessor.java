@@ -0,0 +1,119 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.index;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * The annotation processor writing the action index for LastaDoc at compile time. <br>
+ * The index is the list of concrete top-level *Action classes (same rule as source directory walking)
+ * so the document generator can find actions without source tree, e.g. packaged jar or war.
+ * <pre>
+ * e.g. pom.xml of application
+ * &lt;plugin&gt;
+ *     &lt;artifactId&gt;maven-compiler-plugin&lt;/artifactId&gt;
+ *     &lt;configuration&gt;
+ *         &lt;annotationProcessors&gt;
+ *             &lt;annotationProcessor&gt;org.lastaflute.doc.index.ActionIndexProcessor&lt;/annotationProcessor&gt;
+ *         &lt;/annotationProcessors&gt;
+ *     &lt;/configuration&gt;
+ * &lt;/plugin&gt;
+ * </pre>
+ * Not registered as service automatically, because partial (incremental) compiling by e.g. IDE
+ * writes the index of only compiled classes, which may hide actions in document.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+@SupportedAnnotationTypes("*")
+public class ActionIndexProcessor extends AbstractProcessor {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The resource path of action index, also used by document generator. */
+    public static final String ACTION_INDEX_PATH = "META-INF/lastadoc/action-index";
+
+    protected static final String ACTION_SUFFIX = "Action";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The set of action class names (binary name), sorted for deterministic index. (NotNull) */
+    protected final Set<String> actionClassNameSet = new TreeSet<String>();
+
+    // ===================================================================================
+    //                                                                             Process
+    //                                                                             =======
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeActionIndex();
+        } else {
+            for (Element element : roundEnv.getRootElements()) { // top-level types only
+                if (isActionClass(element)) {
+                    actionClassNameSet.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+        return false; // not claim, other processors may handle the annotations
+    }
+
+    protected boolean isActionClass(Element element) { // same as *Action.java in source directory
+        return element.getKind() == ElementKind.CLASS // e.g. not interface, enum
+                && !element.getModifiers().contains(Modifier.ABSTRACT) //
+                && element.getSimpleName().toString().endsWith(ACTION_SUFFIX);
+    }
+
+    protected void writeActionIndex() {
+        if (actionClassNameSet.isEmpty()) { // e.g. library module
+            return;
+        }
+        try {
+            final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", ACTION_INDEX_PATH);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String className : actionClassNameSet) {
+                    writer.write(className);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException | RuntimeException e) { // e.g. FilerException (already created)
+            final String msg = "Failed to write the action index: " + ACTION_INDEX_PATH + ", " + e.getMessage();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, msg);
+        }
+    }
+}
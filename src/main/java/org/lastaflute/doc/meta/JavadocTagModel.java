@@ -0,0 +1,229 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.meta;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.dbflute.util.DfStringUtil;
+
+/**
+ * The structured model of javadoc comment, parsed once per comment and cached with the declaration. <br>
+ * It has e.g. summary, comments of @param and @return, and example value by e.g. in comment.
+ * <pre>
+ * e.g. comment of execute method (javadoc text)
+ * Show the list of sea.
+ * @param pageNumber The number of page. (NotNull) e.g. 1
+ * @param form The form for searching. (NotNull)
+ * @return The HTML response of list. (NotNull)
+ * </pre>
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class JavadocTagModel {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final JavadocTagModel EMPTY = new JavadocTagModel(null);
+
+    protected static final String PARAM_TAG = "@param";
+    protected static final String RETURN_TAG = "@return";
+    protected static final Pattern BLOCK_TAG_PATTERN = Pattern.compile("^\\s*@", Pattern.MULTILINE);
+    protected static final Pattern LINE_SEPARATOR_PATTERN = Pattern.compile("\r?\n");
+    protected static final Pattern NEXT_LINES_PATTERN = Pattern.compile("\r?\n.*"); // dot does not match line terminators
+    protected static final String QUOTED_EXAMPLE_MARK = " e.g. \"";
+    protected static final String LISTED_EXAMPLE_MARK = " e.g. [";
+    protected static final Pattern PLAIN_EXAMPLE_PATTERN = Pattern.compile(" e\\.g\\. ([^ ]+)");
+    protected static final Pattern LISTED_EXAMPLE_DELIMITER_PATTERN = Pattern.compile(", *");
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The summary of comment, before block tags. (NullAllowed: when no comment) */
+    protected final String summary;
+
+    /** The map of @param comments, key is parameter name. (NotNull, EmptyAllowed) */
+    protected final Map<String, String> paramCommentMap;
+
+    /** The comment of @return. (NullAllowed: when no tag) */
+    protected final String returnComment;
+
+    /** The example value by e.g. in comment, String or List of String. (NullAllowed: when no example or null example) */
+    protected final Object exampleValue;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected JavadocTagModel(String comment) {
+        if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
+            summary = extractSummary(comment);
+            paramCommentMap = Collections.unmodifiableMap(extractParamCommentMap(comment));
+            returnComment = extractReturnComment(comment);
+            exampleValue = extractExampleValue(LINE_SEPARATOR_PATTERN.matcher(comment).replaceAll(" "));
+        } else {
+            summary = null;
+            paramCommentMap = Collections.emptyMap();
+            returnComment = null;
+            exampleValue = null;
+        }
+    }
+
+    /**
+     * @param comment The text of javadoc comment. (NullAllowed: then empty model)
+     * @return The parsed model of the comment. (NotNull)
+     */
+    public static JavadocTagModel parse(String comment) {
+        return DfStringUtil.is_NotNull_and_NotEmpty(comment) ? new JavadocTagModel(comment) : EMPTY;
+    }
+
+    // ===================================================================================
+    //                                                                             Extract
+    //                                                                             =======
+    protected String extractSummary(String comment) {
+        final Matcher matcher = BLOCK_TAG_PATTERN.matcher(comment);
+        return (matcher.find() ? comment.substring(0, matcher.start()) : comment).trim();
+    }
+
+    // -----------------------------------------------------
+    //                                         Param Comment
+    //                                         -------------
+    // same as old regular expression ".*@param\\s?" + name + "\\s?(.*)\r?\n.*" (DOTALL) for the whole name:
+    // the last tag wins, and the comment is until end of line but it needs line separator after it
+    protected Map<String, String> extractParamCommentMap(String comment) {
+        final Map<String, String> paramCommentMap = DfCollectionUtil.newHashMap();
+        final int lastLineFeedIndex = comment.lastIndexOf('\n');
+        int tagIndex = comment.indexOf(PARAM_TAG);
+        while (tagIndex >= 0) {
+            int nameStart = tagIndex + PARAM_TAG.length();
+            if (nameStart < comment.length() && isRegexSpace(comment.charAt(nameStart))) {
+                ++nameStart;
+            }
+            int nameEnd = nameStart;
+            while (nameEnd < comment.length() && Character.isJavaIdentifierPart(comment.charAt(nameEnd))) {
+                ++nameEnd;
+            }
+            if (nameEnd > nameStart) {
+                final String paramComment = extractParamComment(comment, nameEnd, lastLineFeedIndex);
+                if (paramComment != null) {
+                    paramCommentMap.put(comment.substring(nameStart, nameEnd), paramComment);
+                }
+            }
+            tagIndex = comment.indexOf(PARAM_TAG, tagIndex + 1);
+        }
+        return paramCommentMap;
+    }
+
+    protected String extractParamComment(String comment, int nameEnd, int lastLineFeedIndex) {
+        int commentStart = nameEnd;
+        if (commentStart < comment.length() && isRegexSpace(comment.charAt(commentStart)) && lastLineFeedIndex > commentStart) {
+            ++commentStart;
+        }
+        if (lastLineFeedIndex < commentStart) { // no line separator after the name
+            return null;
+        }
+        final String rear = comment.substring(commentStart, lastLineFeedIndex); // until last line feed
+        return rear.indexOf('\n') >= 0 ? NEXT_LINES_PATTERN.matcher(rear).replaceAll("") : rear;
+    }
+
+    protected boolean isRegexSpace(char ch) { // same as \s of regular expression
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\u000B' || ch == '\f' || ch == '\r';
+    }
+
+    // -----------------------------------------------------
+    //                                        Return Comment
+    //                                        --------------
+    protected String extractReturnComment(String comment) {
+        final int tagIndex = comment.lastIndexOf(RETURN_TAG);
+        if (tagIndex < 0) {
+            return null;
+        }
+        final String rear = comment.substring(tagIndex + RETURN_TAG.length());
+        final int lineFeedIndex = rear.indexOf('\n');
+        return (lineFeedIndex >= 0 ? rear.substring(0, lineFeedIndex) : rear).trim();
+    }
+
+    // -----------------------------------------------------
+    //                                         Example Value
+    //                                         -------------
+    // e.g. "sea" => sea, [sea, "land", null] => [sea, land, null], sea => sea, null => null
+    protected Object extractExampleValue(String commentWithoutLine) {
+        if (commentWithoutLine.contains(QUOTED_EXAMPLE_MARK)) {
+            return DfStringUtil.substringFirstFront(DfStringUtil.substringFirstRear(commentWithoutLine, QUOTED_EXAMPLE_MARK), "\"");
+        }
+        if (commentWithoutLine.contains(LISTED_EXAMPLE_MARK)) {
+            final String listRear = DfStringUtil.substringFirstRear(commentWithoutLine, LISTED_EXAMPLE_MARK);
+            final String listExp = DfStringUtil.substringFirstFront(listRear, "]");
+            return Collections.unmodifiableList(Arrays.stream(LISTED_EXAMPLE_DELIMITER_PATTERN.split(listExp)).map(value -> {
+                if (value.startsWith("\"") && value.endsWith("\"")) {
+                    return value.substring(1, value.length() - 1);
+                }
+                return "null".equals(value) ? null : value;
+            }).collect(Collectors.toList()));
+        }
+        final Matcher matcher = PLAIN_EXAMPLE_PATTERN.matcher(commentWithoutLine);
+        if (matcher.find()) {
+            final String value = matcher.group(1);
+            return "null".equals(value) ? null : value;
+        }
+        return null;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The summary of comment, before block tags. (NullAllowed: when no comment)
+     */
+    public String getSummary() {
+        return summary;
+    }
+
+    /**
+     * @param parameterName The name of parameter, e.g. pageNumber. (NotNull)
+     * @return The comment of @param until end of line. (NullAllowed: when no tag)
+     */
+    public String findParamComment(String parameterName) {
+        return paramCommentMap.get(parameterName);
+    }
+
+    public Map<String, String> getParamCommentMap() {
+        return paramCommentMap;
+    }
+
+    /**
+     * @return The comment of @return until end of line. (NullAllowed: when no tag)
+     */
+    public String getReturnComment() {
+        return returnComment;
+    }
+
+    /**
+     * @return The example value by e.g. in comment, String or List of String. (NullAllowed: when no example or null example)
+     */
+    public Object getExampleValue() {
+        if (exampleValue instanceof List) { // new list for each caller
+            return DfCollectionUtil.newArrayList((List<?>) exampleValue);
+        }
+        return exampleValue;
+    }
+}
@@ -62,6 +62,9 @@ public class TypeDocMeta {
     /** comment. */
     private String comment;
 
+    /** The parsed model of comment, lazy-loaded and cleared when comment is changed. (NullAllowed: until first use) */
+    private transient JavadocTagModel commentTagModel;
+
     // -----------------------------------------------------
     //                                          Generic Item
     //                                          ------------
@@ -83,6 +86,9 @@ public class TypeDocMeta {
     /** The list of nested meta, basically properties of part class. (NotNull, EmptyAllowed) */
     private List<TypeDocMeta> nestTypeDocMetaList = DfCollectionUtil.newArrayList(); // as default
 
+    /** The type name of reference in type graph analysis, nested properties are at the expanded one. (NullAllowed: not reference) */
+    private String referenceTypeName; // e.g. org.docksidestage.app.web.sea.SeaResult$HangarPart
+
     // ===================================================================================
     //                                                                      Basic Override
     //                                                                      ==============
@@ -162,6 +168,14 @@ public class TypeDocMeta {
 
     public void setComment(String comment) {
         this.comment = comment;
+        this.commentTagModel = null;
+    }
+
+    public JavadocTagModel getCommentTagModel() { // for e.g. example value in swagger
+        if (commentTagModel == null) {
+            commentTagModel = JavadocTagModel.parse(comment);
+        }
+        return commentTagModel;
     }
 
     // -----------------------------------------------------
@@ -204,4 +218,12 @@ public class TypeDocMeta {
     public void setNestTypeDocMetaList(List<TypeDocMeta> nestTypeDocMetaList) {
         this.nestTypeDocMetaList = nestTypeDocMetaList;
     }
+
+    public String getReferenceTypeName() {
+        return referenceTypeName;
+    }
+
+    public void setReferenceTypeName(String referenceTypeName) {
+        this.referenceTypeName = referenceTypeName;
+    }
 }
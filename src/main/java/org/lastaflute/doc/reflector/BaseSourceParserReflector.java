@@ -0,0 +1,542 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.dbflute.util.DfStringUtil;
+import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.meta.JavadocTagModel;
+import org.lastaflute.doc.meta.JobDocMeta;
+import org.lastaflute.doc.meta.TypeDocMeta;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.FieldDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.TypeDeclarationEntry;
+import org.lastaflute.doc.util.LaDocConcurrentUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The base of source parser reflector reflecting by declaration index of source file. <br>
+ * Sub-class only parses the source file to the index, and the index is cached per source file.
+ * @author p1us2er0
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public abstract class BaseSourceParserReflector implements SourceParserReflector {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(BaseSourceParserReflector.class);
+    protected static final Pattern CLASS_METHOD_COMMENT_END_PATTERN = Pattern.compile("(.+)[.。]?.*(\r?\n)?");
+    protected static final Pattern FIELD_COMMENT_END_PATTERN = Pattern.compile("([^.。\\*]+).* ?\\*?");
+    protected static final Pattern RETURN_STMT_PATTERN = Pattern.compile("^[^)]+\\)");
+    protected static final Pattern PARAM_DESCRIPTION_END_PATTERN = Pattern.compile(" ([^\\p{Alnum}]|e\\.g\\. )+.*");
+    protected static final Path NOT_FOUND_SOURCE_FILE = Paths.get(""); // as null in concurrent map
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** src dir list. (NotNull) */
+    protected final List<String> srcDirList;
+
+    /** The cache of declaration index per source file, thread-safe and bounded. (NotNull) */
+    protected final CompilationUnitCache compilationUnitCache;
+
+    /** The map of resolved source file, key is class name. (NotNull) */
+    protected final Map<String, Path> sourceFileMap = new ConcurrentHashMap<String, Path>();
+
+    /** The persistent store of declaration index across JVMs. (NullAllowed: not use) */
+    protected volatile SourceDeclarationIndexStore declarationIndexStore;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public BaseSourceParserReflector(List<String> srcDirList, CompilationUnitCache compilationUnitCache) {
+        this.srcDirList = srcDirList;
+        this.compilationUnitCache = compilationUnitCache;
+    }
+
+    // ===================================================================================
+    //                                                                         Method List
+    //                                                                         ===========
+    @Override
+    public List<Method> getMethodListOrderByDefinition(Class<?> clazz) {
+        final SourceDeclarationIndex declarationIndex = findDeclarationIndex(clazz).orElse(null);
+        final String typePath = deriveDeclarationTypePath(clazz);
+        final Comparator<Method> ordinalComparator = Comparator.comparingInt(method -> { // not found (-1) is first
+            return declarationIndex != null ? declarationIndex.findMethodOrdinal(typePath, method.getName()) : -1;
+        });
+        // overloads and not-found methods are sorted by signature, reflection order is not stable across JVMs
+        return Arrays.stream(clazz.getMethods())
+                .sorted(ordinalComparator.thenComparing(Method::getName)
+                        .thenComparing(method -> Arrays.toString(method.getParameterTypes()))
+                        .thenComparing(method -> method.getReturnType().getName())) // e.g. bridge method
+                .collect(Collectors.toList());
+    }
+
+    // ===================================================================================
+    //                                                                          Field List
+    //                                                                          ==========
+    @Override
+    public List<Field> getFieldListOrderByDefinition(Class<?> clazz) {
+        final Field[] fields = clazz.getDeclaredFields();
+        final SourceDeclarationIndex declarationIndex = findDeclarationIndex(clazz).orElse(null);
+        if (declarationIndex == null) { // e.g. library class, no source so reflection order
+            return Arrays.asList(fields);
+        }
+        final String typePath = deriveDeclarationTypePath(clazz);
+        final Comparator<Field> ordinalComparator = Comparator.comparingInt(field -> {
+            final int ordinal = declarationIndex.findFieldOrdinal(typePath, field.getName());
+            return ordinal >= 0 ? ordinal : Integer.MAX_VALUE; // e.g. synthetic field is last
+        });
+        // stable sort so e.g. "String sea, land;" (same ordinal) keeps reflection order
+        return Arrays.stream(fields).sorted(ordinalComparator.thenComparing(field -> {
+            return declarationIndex.findFieldOrdinal(typePath, field.getName()) >= 0 ? "" : field.getName();
+        })).collect(Collectors.toList());
+    }
+
+    // -----------------------------------------------------
+    //                                             Type Path
+    //                                             ---------
+    /**
+     * @param clazz The class declared in source file. (NotNull)
+     * @return The nesting path of simple names in the file, anonymous class is empty name. e.g. SeaForm.HangarPart (NotNull)
+     */
+    protected String deriveDeclarationTypePath(Class<?> clazz) {
+        final Class<?> enclosingClass = clazz.getEnclosingClass(); // also for local class
+        final String simpleName = clazz.getSimpleName(); // empty if anonymous class
+        return enclosingClass != null ? deriveDeclarationTypePath(enclosingClass) + "." + simpleName : simpleName;
+    }
+
+    // ===================================================================================
+    //                                                               Reflect ActionDocMeta
+    //                                                               =====================
+    @Override
+    public void reflect(ActionDocMeta meta, Method method) {
+        findDeclarationIndex(method.getDeclaringClass()).ifPresent(declarationIndex -> {
+            Map<String, List<String>> returnMap = DfCollectionUtil.newLinkedHashMap();
+            reflectActionDeclaration(declarationIndex, meta, method, returnMap);
+            List<String> descriptionList = DfCollectionUtil.newArrayList();
+            Arrays.asList(meta.getTypeComment(), meta.getMethodComment()).forEach(comment -> {
+                if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
+                    Matcher matcher = CLASS_METHOD_COMMENT_END_PATTERN.matcher(comment);
+                    if (matcher.find()) {
+                        descriptionList.add(matcher.group(1));
+                    }
+                }
+            });
+            if (!descriptionList.isEmpty()) {
+                meta.setDescription(String.join(", ", descriptionList));
+            }
+            List<TypeDocMeta> parameterTypeDocMetaList = meta.getParameterTypeDocMetaList();
+            Parameter[] parameters = method.getParameters();
+            for (int parameterIndex = 0; parameterIndex < parameters.length; parameterIndex++) {
+                if (parameterIndex < parameterTypeDocMetaList.size()) {
+                    Parameter parameter = parameters[parameterIndex];
+                    TypeDocMeta typeDocMeta = parameterTypeDocMetaList.get(parameterIndex);
+                    meta.setUrl(meta.getUrl().replace("{" + parameter.getName() + "}", "{" + typeDocMeta.getName() + "}"));
+                }
+            }
+            String methodName = method.getName();
+            if (returnMap.containsKey(methodName) && !returnMap.get(methodName).isEmpty()) {
+                meta.getReturnTypeDocMeta().setValue(String.join(",", returnMap.get(methodName)));
+            }
+        });
+    }
+
+    // same as ActionDocMetaVisitorAdapter but by index, replaying visited declarations in order
+    protected void reflectActionDeclaration(SourceDeclarationIndex declarationIndex, ActionDocMeta actionDocMeta, Method method,
+            Map<String, List<String>> returnMap) {
+        final String methodName = method.getName();
+        declarationIndex.findTypeEntryList().stream().filter(entry -> entry.isVisitedWithMethod(methodName)).forEach(entry -> {
+            if (entry.getLineCount() != null) {
+                actionDocMeta.setFileLineCount(entry.getLineCount());
+            }
+            if (DfStringUtil.is_NotNull_and_NotEmpty(entry.getComment())) {
+                actionDocMeta.setTypeComment(entry.getComment());
+            }
+        });
+        declarationIndex.findMethodEntryList(methodName).stream().filter(entry -> entry.isVisitedWithMethod(methodName)).forEach(entry -> {
+            if (entry.getLineCount() != null) {
+                actionDocMeta.setMethodLineCount(entry.getLineCount());
+            }
+            String comment = entry.getComment();
+            if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
+                actionDocMeta.setMethodComment(comment);
+            }
+            JavadocTagModel commentTagModel = entry.getCommentTagModel(); // parsed once per declaration
+            List<String> parameterNameList = entry.getParameterNameList();
+            IntStream.range(0, actionDocMeta.getParameterTypeDocMetaList().size()).forEach(parameterIndex -> {
+                if (parameterIndex < parameterNameList.size()) {
+                    TypeDocMeta typeDocMeta = actionDocMeta.getParameterTypeDocMetaList().get(parameterIndex);
+                    String parameterName = parameterNameList.get(parameterIndex);
+                    typeDocMeta.setName(parameterName);
+                    typeDocMeta.setPublicName(parameterName);
+                    prepareParameterComment(commentTagModel, parameterName, typeDocMeta);
+                }
+            });
+            entry.getReturnExpList().forEach(returnExp -> {
+                returnMap.computeIfAbsent(methodName, key -> DfCollectionUtil.newArrayList());
+                returnMap.get(methodName).add(summarizeReturnExp(returnExp));
+            });
+        });
+    }
+
+    protected void prepareParameterComment(JavadocTagModel commentTagModel, String parameterName, TypeDocMeta typeDocMeta) {
+        final String parameterComment = commentTagModel.findParamComment(parameterName);
+        if (parameterComment != null) {
+            typeDocMeta.setComment(parameterComment);
+            typeDocMeta.setDescription(PARAM_DESCRIPTION_END_PATTERN.matcher(parameterComment).replaceAll(""));
+        }
+    }
+
+    /**
+     * Summarize the return expression to the part used in document, e.g. asJson(bean)
+     * @param returnExp The whole expression of return statement. (NotNull)
+     * @return The part until first ')', or ##unanalyzable## if no ')'. (NotNull: same result if summarized again)
+     */
+    protected String summarizeReturnExp(String returnExp) {
+        final Matcher matcher = RETURN_STMT_PATTERN.matcher(returnExp);
+        return matcher.find() ? matcher.group(0) : "##unanalyzable##";
+    }
+
+    // ===================================================================================
+    //                                                                  Reflect JobDocMeta
+    //                                                                  ==================
+    @Override
+    public void reflect(JobDocMeta jobDocMeta, Class<?> clazz) {
+        findDeclarationIndex(clazz).ifPresent(declarationIndex -> {
+            reflectJobDeclaration(declarationIndex, jobDocMeta);
+            List<String> descriptionList = DfCollectionUtil.newArrayList();
+            Arrays.asList(jobDocMeta.getTypeComment(), jobDocMeta.getMethodComment()).forEach(comment -> {
+                if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
+                    Matcher matcher = CLASS_METHOD_COMMENT_END_PATTERN.matcher(comment);
+                    if (matcher.find()) {
+                        descriptionList.add(matcher.group(1));
+                    }
+                }
+            });
+            if (!descriptionList.isEmpty()) {
+                jobDocMeta.setDescription(String.join(", ", descriptionList));
+            }
+        });
+    }
+
+    // same as JobDocMetaVisitorAdapter but by index, replaying visited declarations in order
+    protected void reflectJobDeclaration(SourceDeclarationIndex declarationIndex, JobDocMeta jobDocMeta) {
+        final String methodName = jobDocMeta.getMethodName();
+        declarationIndex.findTypeEntryList().stream().filter(entry -> entry.isVisitedWithMethod(methodName)).forEach(entry -> {
+            if (entry.getLineCount() != null) {
+                jobDocMeta.setFileLineCount(entry.getLineCount());
+            }
+            if (DfStringUtil.is_NotNull_and_NotEmpty(entry.getComment())) {
+                jobDocMeta.setTypeComment(entry.getComment());
+            }
+        });
+        if (methodName == null) { // basically no way
+            return;
+        }
+        declarationIndex.findMethodEntryList(methodName).stream().filter(entry -> entry.isVisitedWithMethod(methodName)).forEach(entry -> {
+            if (entry.getLineCount() != null) {
+                jobDocMeta.setMethodLineCount(entry.getLineCount());
+            }
+            if (DfStringUtil.is_NotNull_and_NotEmpty(entry.getComment())) {
+                jobDocMeta.setMethodComment(entry.getComment());
+            }
+        });
+    }
+
+    // ===================================================================================
+    //                                                                 Reflect TypeDocMeta
+    //                                                                 ===================
+    @Override
+    public void reflect(TypeDocMeta typeDocMeta, Class<?> clazz) {
+        extractReflectedClassList(clazz).forEach(targetClass -> {
+            findDeclarationIndex(targetClass).ifPresent(declarationIndex -> {
+                reflectTypeDeclaration(declarationIndex, typeDocMeta, clazz);
+            });
+        });
+    }
+
+    @Override
+    public void reflect(List<TypeDocMeta> typeDocMetaList, Class<?> clazz) { // same as one by one, but lookup per class
+        if (typeDocMetaList.isEmpty()) {
+            return;
+        }
+        extractReflectedClassList(clazz).forEach(targetClass -> {
+            findDeclarationIndex(targetClass).ifPresent(declarationIndex -> {
+                typeDocMetaList.forEach(typeDocMeta -> reflectTypeDeclaration(declarationIndex, typeDocMeta, clazz));
+            });
+        });
+    }
+
+    protected List<Class<?>> extractReflectedClassList(Class<?> clazz) { // super class first
+        List<Class<?>> classList = DfCollectionUtil.newArrayList();
+        for (Class<?> targetClass = clazz; targetClass != null; targetClass = targetClass.getSuperclass()) {
+            if (!targetClass.isPrimitive() && !Number.class.isAssignableFrom(targetClass)
+                    && !Arrays.asList(Object.class, String.class).contains(targetClass)) {
+                classList.add(targetClass);
+            }
+        }
+        Collections.reverse(classList);
+        return classList;
+    }
+
+    // same as TypeDocMetaVisitorAdapter but by index, replaying visited declarations in order
+    protected void reflectTypeDeclaration(SourceDeclarationIndex declarationIndex, TypeDocMeta typeDocMeta, Class<?> clazz) {
+        declarationIndex.findPropertyEntryList(typeDocMeta.getSimpleTypeName(), typeDocMeta.getName()).forEach(entry -> {
+            if (entry instanceof TypeDeclarationEntry) {
+                prepareClassComment((TypeDeclarationEntry) entry, typeDocMeta);
+            } else if (entry instanceof FieldDeclarationEntry) {
+                prepareFieldComment((FieldDeclarationEntry) entry, typeDocMeta, clazz);
+            }
+        });
+    }
+
+    protected void prepareClassComment(TypeDeclarationEntry entry, TypeDocMeta typeDocMeta) {
+        if (DfStringUtil.is_Null_or_Empty(typeDocMeta.getComment())) {
+            String comment = entry.getComment();
+            if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
+                typeDocMeta.setComment(comment);
+                Matcher matcher = CLASS_METHOD_COMMENT_END_PATTERN.matcher(comment);
+                if (matcher.find()) {
+                    typeDocMeta.setDescription(matcher.group(1));
+                }
+            }
+        }
+    }
+
+    protected void prepareFieldComment(FieldDeclarationEntry entry, TypeDocMeta typeDocMeta, Class<?> clazz) {
+        String comment = entry.getComment();
+        if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
+            if (DfStringUtil.is_Null_or_Empty(typeDocMeta.getComment()) || clazz.getSimpleName().equals(entry.getParentTypeName())) {
+                typeDocMeta.setComment(comment);
+                Matcher matcher = FIELD_COMMENT_END_PATTERN.matcher(saveFieldCommentSpecialExp(comment));
+                if (matcher.find()) {
+                    String description = matcher.group(1).trim();
+                    typeDocMeta.setDescription(restoreFieldCommentSpecialExp(description));
+                }
+            }
+        }
+    }
+
+    protected String saveFieldCommentSpecialExp(String comment) {
+        return comment.replace("e.g.", "$$edotgdot$$");
+    }
+
+    protected String restoreFieldCommentSpecialExp(String comment) {
+        return comment.replace("$$edotgdot$$", "e.g.");
+    }
+
+    // ===================================================================================
+    //                                                                   Declaration Index
+    //                                                                   =================
+    protected OptionalThing<SourceDeclarationIndex> findDeclarationIndex(Class<?> clazz) {
+        // nested classes share the compilation unit of the source file, e.g. SeaForm and SeaForm$HangarPart
+        return findSourceFile(clazz).flatMap(sourceFile -> {
+            final OptionalThing<SourceDeclarationIndex> optIndex = findDeclarationIndex(sourceFile);
+            if (!optIndex.isPresent() && !Files.exists(sourceFile)) { // e.g. deleted after resolved
+                sourceFileMap.remove(clazz.getName()); // resolved again next time
+            }
+            return optIndex;
+        });
+    }
+
+    protected OptionalThing<SourceDeclarationIndex> findDeclarationIndex(Path sourceFile) {
+        final BasicFileAttributes attributes;
+        try { // one file system access for freshness (instead of exists(), lastModified(), length())
+            attributes = Files.readAttributes(sourceFile, BasicFileAttributes.class);
+        } catch (IOException e) { // e.g. deleted
+            return OptionalThing.ofNullable(null, () -> {
+                throw new IllegalStateException("Source file don't exist: " + sourceFile);
+            });
+        }
+        final long fileLastModified = attributes.lastModifiedTime().toMillis();
+        final long fileSize = attributes.size();
+        final String cacheKey = deriveCompilationUnitCacheKey(sourceFile);
+        return compilationUnitCache.get(cacheKey, fileLastModified, fileSize, () -> {
+            final SourceDeclarationIndexStore indexStore = declarationIndexStore;
+            if (indexStore == null) {
+                return loadDeclarationIndex(sourceFile).orElse(null); // built once per parsed file
+            }
+            final String parserType = getDeclarationIndexParserType();
+            return indexStore.restore(parserType, sourceFile, fileLastModified, fileSize).orElseGet(() -> {
+                final SourceDeclarationIndex loaded = loadDeclarationIndex(sourceFile).orElse(null);
+                if (loaded != null) { // parse failure is not stored, parsed again next time
+                    indexStore.register(parserType, sourceFile, fileLastModified, fileSize, loaded);
+                }
+                return loaded;
+            });
+        });
+    }
+
+    protected String deriveCompilationUnitCacheKey(Path sourceFile) { // cache may be shared by other parser types
+        return getDeclarationIndexParserType() + "@" + sourceFile;
+    }
+
+    /**
+     * Load the declaration index of the source file by parsing it, called when not cached or changed.
+     * @param sourceFile The path of existing source file. (NotNull)
+     * @return The optional declaration index. (NotNull, EmptyAllowed: when e.g. parse failure)
+     */
+    protected abstract OptionalThing<SourceDeclarationIndex> loadDeclarationIndex(Path sourceFile);
+
+    // -----------------------------------------------------
+    //                                           Index Store
+    //                                           -----------
+    @Override
+    public void useDeclarationIndexStore(SourceDeclarationIndexStore indexStore) {
+        declarationIndexStore = indexStore;
+    }
+
+    protected String getDeclarationIndexParserType() { // stored index is restored by only same parser
+        return getClass().getName();
+    }
+
+    // -----------------------------------------------------
+    //                                           Source File
+    //                                           -----------
+    protected OptionalThing<Path> findSourceFile(Class<?> clazz) {
+        // memoized also if not found (e.g. library class) because new class needs restart anyway
+        final Path sourceFile = sourceFileMap.computeIfAbsent(clazz.getName(), className -> {
+            return resolveSourceFile(className).orElse(NOT_FOUND_SOURCE_FILE);
+        });
+        return OptionalThing.ofNullable(sourceFile != NOT_FOUND_SOURCE_FILE ? sourceFile : null, () -> {
+            throw new IllegalStateException("Source file don't exist: " + clazz.getName());
+        });
+    }
+
+    protected OptionalThing<Path> resolveSourceFile(String className) {
+        final String classPath = className.replace('.', File.separatorChar);
+        for (String srcDir : srcDirList) {
+            File file = new File(srcDir, classPath + ".java");
+            if (!file.exists()) {
+                file = new File(srcDir, classPath.replaceAll("\\$.*", "") + ".java"); // e.g. nested class
+                if (!file.exists()) {
+                    continue;
+                }
+            }
+            return OptionalThing.of(file.toPath().toAbsolutePath().normalize()); // also cache key
+        }
+        return OptionalThing.ofNullable(null, () -> {
+            throw new IllegalStateException("Source file don't exist: " + className);
+        });
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    /**
+     * Parse all sources under the source directories in parallel and cache them. <br>
+     * Unchanged sources already cached are not parsed again, so it can be called at every generation.
+     * The sources are limited to the cache capacity, because evicted sources are parsed again when reflecting.
+     * @param parallelism The count of worker threads for parsing. (positive)
+     */
+    @Override
+    public void warmUp(int parallelism) {
+        final long before = System.currentTimeMillis();
+        final List<Path> sourceFileList = limitWarmUpSourceFileList(findWarmUpSourceFileList());
+        final List<Boolean> parsedList = LaDocConcurrentUtil.mapInParallel(sourceFileList, parallelism, sourceFile -> {
+            try {
+                return findDeclarationIndex(sourceFile).isPresent();
+            } catch (RuntimeException e) { // parsed again when reflecting, and it may throw there
+                _log.debug("Failed to parse the source file in warm-up: {}, {}", sourceFile, e.getMessage());
+                return false;
+            }
+        });
+        _log.debug("...Warming up the source parser: {}/{} files, parallelism={}, {}ms, {}",
+                parsedList.stream().filter(parsed -> parsed).count(), sourceFileList.size(), parallelism,
+                System.currentTimeMillis() - before, compilationUnitCache);
+    }
+
+    protected List<Path> findWarmUpSourceFileList() {
+        final List<Path> sourceFileList = DfCollectionUtil.newArrayList();
+        for (String srcDir : srcDirList) {
+            final Path srcPath = Paths.get(srcDir);
+            if (!Files.isDirectory(srcPath)) {
+                continue;
+            }
+            try (Stream<Path> stream = Files.walk(srcPath)) {
+                stream.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path)).forEach(path -> {
+                    sourceFileList.add(path.toAbsolutePath().normalize()); // same as cache key
+                });
+            } catch (IOException | UncheckedIOException e) { // e.g. deleted while walking
+                _log.debug("Failed to walk the source directory for warm-up: {}, {}", srcDir, e.getMessage());
+            }
+        }
+        return sourceFileList;
+    }
+
+    protected List<Path> limitWarmUpSourceFileList(List<Path> sourceFileList) { // not to evict warmed sources
+        final int maxEntryCount = compilationUnitCache.getMaxEntryCount();
+        final long maxWeight = compilationUnitCache.getMaxWeight();
+        final int weightFactor = getWarmUpWeightFactor();
+        long totalWeight = 0L;
+        int limitedCount = 0;
+        for (Path sourceFile : sourceFileList) {
+            if (limitedCount >= maxEntryCount) {
+                break;
+            }
+            final long weight = Math.max(sourceFile.toFile().length(), 1L) * weightFactor; // same estimation as cache
+            if (totalWeight + weight > maxWeight) {
+                break;
+            }
+            totalWeight += weight;
+            ++limitedCount;
+        }
+        if (limitedCount < sourceFileList.size()) { // the rest are parsed lazily when reflecting
+            _log.warn("Too many sources to warm up within the cache capacity so warm up only {}/{} files: {}", limitedCount,
+                    sourceFileList.size(), compilationUnitCache);
+            return sourceFileList.subList(0, limitedCount);
+        }
+        return sourceFileList;
+    }
+
+    /**
+     * Get the factor of estimated weight per source length for warm-up, same as the cache estimation.
+     * @return The weight factor of declaration index. (positive)
+     */
+    protected int getWarmUpWeightFactor() { // only summary index as default
+        return CompilationUnitCache.INDEX_WEIGHT_FACTOR;
+    }
+
+    public CompilationUnitCache getCompilationUnitCache() { // e.g. for statistics
+        return compilationUnitCache;
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.dbflute.optional.OptionalThing;
+
+/**
+ * The cache of parsed compilation unit (javaparser AST) with its declaration index, thread-safe and bounded. <br>
+ * The entries are evicted by LRU when the entry count or the weight (estimated heap size of the entry) is over. <br>
+ * The weight is estimated from the source file length: a retained javaparser AST (with its tokens) costs
+ * dozens of times the source, while a summary-only declaration index keeps only comments and names.
+ * Concurrent callers for the same source wait for the one in-flight parsing (single-flight).
+ * <pre>
+ * e.g. statistics for sizing
+ *  CompilationUnitCache{entries=1724/2000, weight=97.6MB/128.0MB, hit=52310, miss=7950, eviction=0, load=7950 (183402ms)}
+ * </pre>
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class CompilationUnitCache {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    public static final int DEFAULT_MAX_ENTRY_COUNT = 2000;
+    public static final long DEFAULT_MAX_WEIGHT = 128L * 1024L * 1024L; // as estimated heap bytes
+
+    /** The factor of heap size for the retained AST per source byte. (nodes, tokens, ranges of javaparser) */
+    public static final int AST_WEIGHT_FACTOR = 40;
+
+    /** The factor of heap size for the declaration index (without AST) per source byte. (comments as UTF-16 chars) */
+    public static final int INDEX_WEIGHT_FACTOR = 2;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final int maxEntryCount;
+    protected final long maxWeight;
+
+    /** The map of cached entries in access order for LRU, guarded by this. (NotNull) */
+    protected final LinkedHashMap<String, CachedCompilationUnit> entryMap = new LinkedHashMap<String, CachedCompilationUnit>(16, 0.75f, true);
+
+    /** The total weight of cached entries, guarded by this. */
+    protected long currentWeight;
+
+    /** The map of in-flight parsing, key is same as entry map. (NotNull) */
+    protected final Map<String, LoadingCompilationUnit> loadingMap = new ConcurrentHashMap<String, LoadingCompilationUnit>();
+
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+    protected final AtomicLong evictionCount = new AtomicLong();
+    protected final AtomicLong loadCount = new AtomicLong();
+    protected final AtomicLong loadTimeNanos = new AtomicLong();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public CompilationUnitCache() {
+        this(DEFAULT_MAX_ENTRY_COUNT, DEFAULT_MAX_WEIGHT);
+    }
+
+    public CompilationUnitCache(int maxEntryCount, long maxWeight) {
+        if (maxEntryCount <= 0 || maxWeight <= 0) {
+            String msg = "The max entry count and max weight should be positive: " + maxEntryCount + ", " + maxWeight;
+            throw new IllegalArgumentException(msg);
+        }
+        this.maxEntryCount = maxEntryCount;
+        this.maxWeight = maxWeight;
+    }
+
+    // ===================================================================================
+    //                                                                            Get/Load
+    //                                                                            ========
+    /**
+     * Get the cached declaration index (with compilation unit) or load (parse) it if not cached or the source file is changed.
+     * @param key The key of source, e.g. path of source file. (NotNull)
+     * @param fileLastModified The current last modified of the source file.
+     * @param fileLength The current length of the source file, also used for estimated weight.
+     * @param loader The loader of declaration index, called by only one thread for the same source. (NotNull)
+     * @return The optional declaration index. (NotNull, EmptyAllowed: e.g. parse failure)
+     */
+    public OptionalThing<SourceDeclarationIndex> get(String key, long fileLastModified, long fileLength,
+            Supplier<SourceDeclarationIndex> loader) {
+        final CachedCompilationUnit cached = findCached(key, fileLastModified, fileLength);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return toOptional(key, cached.declarationIndex);
+        }
+        missCount.incrementAndGet();
+        final LoadingCompilationUnit created = new LoadingCompilationUnit(fileLastModified, fileLength);
+        final LoadingCompilationUnit loading = loadingMap.compute(key, (loadingKey, existing) -> {
+            if (existing != null && existing.isSameFile(fileLastModified, fileLength)) {
+                return existing; // in-flight by other thread
+            }
+            return created;
+        });
+        if (loading == created) { // current thread is loader
+            try {
+                final long before = System.nanoTime();
+                final SourceDeclarationIndex declarationIndex = loader.get(); // null allowed
+                loadTimeNanos.addAndGet(System.nanoTime() - before);
+                loadCount.incrementAndGet();
+                final long weight = estimateWeight(fileLength, declarationIndex);
+                register(key, new CachedCompilationUnit(fileLastModified, fileLength, weight, declarationIndex));
+                created.future.complete(declarationIndex);
+            } catch (RuntimeException | Error e) {
+                created.future.completeExceptionally(e);
+                throw e;
+            } finally {
+                loadingMap.remove(key, created);
+            }
+        }
+        try {
+            return toOptional(key, loading.future.join()); // waiting for loader if in-flight
+        } catch (CompletionException e) { // failed in loader thread
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to load the compilation unit: " + key, cause);
+        }
+    }
+
+    protected synchronized CachedCompilationUnit findCached(String key, long fileLastModified, long fileLength) {
+        final CachedCompilationUnit cached = entryMap.get(key); // also moves it to tail as recently used
+        return cached != null && cached.isSameFile(fileLastModified, fileLength) ? cached : null;
+    }
+
+    protected synchronized void register(String key, CachedCompilationUnit cached) {
+        final CachedCompilationUnit previous = entryMap.put(key, cached);
+        if (previous != null) { // e.g. modified source
+            currentWeight -= previous.weight;
+        }
+        currentWeight += cached.weight;
+        final Iterator<CachedCompilationUnit> iterator = entryMap.values().iterator(); // from least recently used
+        while ((entryMap.size() > maxEntryCount || currentWeight > maxWeight) && iterator.hasNext()) {
+            currentWeight -= iterator.next().weight;
+            iterator.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Estimate the heap size of the cached entry, not exact but proportional to the actual heap.
+     * @param fileLength The length of the source file.
+     * @param declarationIndex The loaded declaration index. (NullAllowed: e.g. parse failure)
+     * @return The estimated weight, positive.
+     */
+    protected long estimateWeight(long fileLength, SourceDeclarationIndex declarationIndex) {
+        final long sourceLength = Math.max(fileLength, 1L);
+        if (declarationIndex == null) { // parse failure, only empty entry
+            return 1L;
+        }
+        if (declarationIndex instanceof JavaparserDeclarationIndex
+                && ((JavaparserDeclarationIndex) declarationIndex).getCompilationUnit() != null) { // AST retained
+            return sourceLength * AST_WEIGHT_FACTOR;
+        }
+        return sourceLength * INDEX_WEIGHT_FACTOR;
+    }
+
+    protected OptionalThing<SourceDeclarationIndex> toOptional(String key, SourceDeclarationIndex declarationIndex) {
+        return OptionalThing.ofNullable(declarationIndex, () -> {
+            throw new IllegalStateException("Failed to parse the source: " + key);
+        });
+    }
+
+    public synchronized void clear() { // statistics are kept
+        entryMap.clear();
+        currentWeight = 0L;
+    }
+
+    // ===================================================================================
+    //                                                                            Capacity
+    //                                                                            ========
+    public int getMaxEntryCount() {
+        return maxEntryCount;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    // ===================================================================================
+    //                                                                          Statistics
+    //                                                                          ==========
+    public synchronized int getEntryCount() {
+        return entryMap.size();
+    }
+
+    public synchronized long getWeight() {
+        return currentWeight;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    public long getTotalLoadTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(loadTimeNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return "CompilationUnitCache{entries=" + getEntryCount() + "/" + maxEntryCount + ", weight=" + toMegaBytesExp(getWeight()) + "/"
+                + toMegaBytesExp(maxWeight) + ", hit=" + getHitCount() + ", miss=" + getMissCount() + ", eviction=" + getEvictionCount()
+                + ", load=" + getLoadCount() + " (" + getTotalLoadTimeMillis() + "ms)}";
+    }
+
+    protected String toMegaBytesExp(long bytes) {
+        return String.format("%.1fMB", bytes / 1024.0 / 1024.0);
+    }
+
+    // ===================================================================================
+    //                                                                        Cached Entry
+    //                                                                        ============
+    protected static class CachedCompilationUnit {
+
+        protected final long fileLastModified;
+        protected final long fileLength;
+        protected final long weight;
+        protected final SourceDeclarationIndex declarationIndex; // null allowed: e.g. parse failure
+
+        public CachedCompilationUnit(long fileLastModified, long fileLength, long weight, SourceDeclarationIndex declarationIndex) {
+            this.fileLastModified = fileLastModified;
+            this.fileLength = fileLength;
+            this.weight = weight;
+            this.declarationIndex = declarationIndex;
+        }
+
+        public boolean isSameFile(long fileLastModified, long fileLength) {
+            return this.fileLastModified == fileLastModified && this.fileLength == fileLength;
+        }
+    }
+
+    protected static class LoadingCompilationUnit {
+
+        protected final long fileLastModified;
+        protected final long fileLength;
+        protected final CompletableFuture<SourceDeclarationIndex> future = new CompletableFuture<SourceDeclarationIndex>();
+
+        public LoadingCompilationUnit(long fileLastModified, long fileLength) {
+            this.fileLastModified = fileLastModified;
+            this.fileLength = fileLength;
+        }
+
+        public boolean isSameFile(long fileLastModified, long fileLength) {
+            return this.fileLastModified == fileLastModified && this.fileLength == fileLength;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.dbflute.util.DfCollectionUtil;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumConstantDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithJavadoc;
+import com.github.javaparser.ast.stmt.ReturnStmt;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+/**
+ * The declaration index built by visiting the compilation unit of javaparser.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class JavaparserDeclarationIndex extends SourceDeclarationIndex {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The parsed compilation unit of the source file. (NullAllowed: when summary only) */
+    protected final CompilationUnit compilationUnit;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param compilationUnit The parsed compilation unit of the source file. (NotNull)
+     * @param commentAdjuster The adjuster of javadoc comment, returns null if no comment. (NotNull)
+     */
+    public JavaparserDeclarationIndex(CompilationUnit compilationUnit, Function<NodeWithJavadoc<?>, String> commentAdjuster) {
+        this(compilationUnit, commentAdjuster, returnExp -> returnExp, true);
+    }
+
+    /**
+     * @param compilationUnit The parsed compilation unit of the source file. (NotNull)
+     * @param commentAdjuster The adjuster of javadoc comment, returns null if no comment. (NotNull)
+     * @param returnExpAdjuster The adjuster of return expression, e.g. summarizing it. (NotNull)
+     * @param compilationUnitRetained Does it retain the compilation unit? (false: only summary, AST can be garbage)
+     */
+    public JavaparserDeclarationIndex(CompilationUnit compilationUnit, Function<NodeWithJavadoc<?>, String> commentAdjuster,
+            Function<String, String> returnExpAdjuster, boolean compilationUnitRetained) {
+        this.compilationUnit = compilationUnitRetained ? compilationUnit : null;
+        compilationUnit.accept(new IndexingVisitor(commentAdjuster, returnExpAdjuster), null);
+    }
+
+    protected class IndexingVisitor extends VoidVisitorAdapter<Void> {
+
+        protected final Function<NodeWithJavadoc<?>, String> commentAdjuster;
+        protected final Function<String, String> returnExpAdjuster;
+        protected final Deque<String> enclosingMethodStack = new ArrayDeque<String>(); // e.g. method of local class
+        protected int order;
+
+        public IndexingVisitor(Function<NodeWithJavadoc<?>, String> commentAdjuster, Function<String, String> returnExpAdjuster) {
+            this.commentAdjuster = commentAdjuster;
+            this.returnExpAdjuster = returnExpAdjuster;
+        }
+
+        @Override
+        public void visit(ClassOrInterfaceDeclaration classOrInterfaceDeclaration, Void arg) {
+            final TypeDeclarationEntry entry = new TypeDeclarationEntry(nextOrder(), prepareEnclosingMethodNameList());
+            entry.name = classOrInterfaceDeclaration.getNameAsString();
+            entry.lineCount = deriveLineCount(classOrInterfaceDeclaration);
+            entry.comment = commentAdjuster.apply(classOrInterfaceDeclaration);
+            registerTypeEntry(entry);
+            super.visit(classOrInterfaceDeclaration, arg);
+        }
+
+        @Override
+        public void visit(FieldDeclaration fieldDeclaration, Void arg) {
+            final FieldDeclarationEntry entry = new FieldDeclarationEntry(nextOrder(), prepareEnclosingMethodNameList());
+            entry.parentTypeName = fieldDeclaration.getParentNode().map(parentNode -> {
+                return parentNode instanceof TypeDeclaration<?> ? ((TypeDeclaration<?>) parentNode).getNameAsString() : null;
+            }).orElse(null); // null if e.g. anonymous class
+            entry.parentTypePath = deriveParentTypePath(fieldDeclaration);
+            entry.comment = commentAdjuster.apply(fieldDeclaration);
+            registerFieldEntry(entry, fieldDeclaration.getVariables().stream().map(variable -> {
+                return variable.getNameAsString();
+            }).collect(Collectors.toList()));
+            super.visit(fieldDeclaration, arg);
+        }
+
+        @Override
+        public void visit(MethodDeclaration methodDeclaration, Void arg) {
+            final MethodDeclarationEntry entry = new MethodDeclarationEntry(nextOrder(), prepareEnclosingMethodNameList());
+            entry.name = methodDeclaration.getNameAsString();
+            entry.parentTypePath = deriveParentTypePath(methodDeclaration);
+            entry.lineCount = deriveLineCount(methodDeclaration);
+            entry.comment = commentAdjuster.apply(methodDeclaration);
+            entry.parameterNameList = methodDeclaration.getParameters().stream().map(parameter -> {
+                return parameter.getNameAsString();
+            }).collect(Collectors.toList());
+            entry.returnExpList = DfCollectionUtil.newArrayList();
+            methodDeclaration.accept(new VoidVisitorAdapter<Void>() { // also e.g. return in lambda
+                @Override
+                public void visit(ReturnStmt returnStmt, Void arg) {
+                    returnStmt.getExpression().ifPresent(expression -> {
+                        entry.returnExpList.add(returnExpAdjuster.apply(expression.toString()));
+                    });
+                    super.visit(returnStmt, arg);
+                }
+            }, null);
+            registerMethodEntry(entry);
+            enclosingMethodStack.push(entry.name);
+            try {
+                super.visit(methodDeclaration, arg);
+            } finally {
+                enclosingMethodStack.pop();
+            }
+        }
+
+        protected int nextOrder() {
+            return order++;
+        }
+
+        protected List<String> prepareEnclosingMethodNameList() {
+            return enclosingMethodStack.isEmpty() ? Collections.emptyList() : DfCollectionUtil.newArrayList(enclosingMethodStack);
+        }
+
+        protected String deriveParentTypePath(Node node) { // e.g. SeaForm.HangarPart, empty name for anonymous class
+            final Deque<String> typeNameDeque = new ArrayDeque<String>();
+            Node current = node;
+            while (current.getParentNode().isPresent()) {
+                final Node parentNode = current.getParentNode().get();
+                final Node child = current;
+                if (parentNode instanceof TypeDeclaration<?>) {
+                    typeNameDeque.push(((TypeDeclaration<?>) parentNode).getNameAsString());
+                } else if (parentNode instanceof ObjectCreationExpr) { // member of anonymous class, not in arguments
+                    if (((ObjectCreationExpr) parentNode).getAnonymousClassBody().map(body -> containsNode(body, child)).orElse(false)) {
+                        typeNameDeque.push("");
+                    }
+                } else if (parentNode instanceof EnumConstantDeclaration) { // member of constant body, not in arguments
+                    if (containsNode(((EnumConstantDeclaration) parentNode).getClassBody(), child)) {
+                        typeNameDeque.push("");
+                    }
+                }
+                current = parentNode;
+            }
+            return String.join(".", typeNameDeque);
+        }
+
+        protected boolean containsNode(NodeList<? extends Node> nodeList, Node node) { // by identity (equals() is structural)
+            return nodeList.stream().anyMatch(element -> element == node);
+        }
+
+        protected Integer deriveLineCount(Node node) {
+            return node.getBegin().flatMap(begin -> node.getEnd().map(end -> end.line - begin.line)).orElse(null);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    /**
+     * @return The parsed compilation unit of the source file. (NullAllowed: when summary only)
+     */
+    public CompilationUnit getCompilationUnit() {
+        return compilationUnit;
+    }
+}
@@ -15,29 +15,26 @@
  */
 package org.lastaflute.doc.reflector;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.util.DfCollectionUtil;
 import org.dbflute.util.DfStringUtil;
 import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.meta.JavadocTagModel;
 import org.lastaflute.doc.meta.JobDocMeta;
 import org.lastaflute.doc.meta.TypeDocMeta;
 
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ParserConfiguration.LanguageLevel;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
@@ -52,95 +49,59 @@ import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
  * @author jflute
  * @since 0.5.0-sp9 (2015/09/18 Friday)
  */
-public class JavaparserSourceParserReflector implements SourceParserReflector {
-
-    // ===================================================================================
-    //                                                                          Definition
-    //                                                                          ==========
-    protected static final Pattern CLASS_METHOD_COMMENT_END_PATTERN = Pattern.compile("(.+)[.。]?.*(\r?\n)?");
-    protected static final Pattern FIELD_COMMENT_END_PATTERN = Pattern.compile("([^.。\\*]+).* ?\\*?");
-    protected static final Pattern RETURN_STMT_PATTERN = Pattern.compile("^[^)]+\\)");
+public class JavaparserSourceParserReflector extends BaseSourceParserReflector {
 
     // ===================================================================================
     //                                                                           Attribute
     //                                                                           =========
-    /** src dir list. (NotNull) */
-    protected final List<String> srcDirList;
+    /** The shared cache of compilation unit, for e.g. repeated generation in dev server. (NotNull) */
+    protected static final CompilationUnitCache SHARED_COMPILATION_UNIT_CACHE = new CompilationUnitCache();
 
-    /** cacheCompilationUnitMap. (NotNull) */
-    protected final static Map<String, CacheCompilationUnit> CACHE_COMPILATION_UNIT_MAP = DfCollectionUtil.newHashMap();
+    /** Does it retain only the summary (declaration index) of source and discard the compilation unit? */
+    protected boolean summaryOnlyRetention; // for e.g. dev server (AST is the largest retained object)
 
     // ===================================================================================
     //                                                                         Constructor
     //                                                                         ===========
     public JavaparserSourceParserReflector(List<String> srcDirList) {
-        this.srcDirList = srcDirList;
+        this(srcDirList, SHARED_COMPILATION_UNIT_CACHE);
     }
 
-    // ===================================================================================
-    //                                                                         Method List
-    //                                                                         ===========
-    @Override
-    public List<Method> getMethodListOrderByDefinition(Class<?> clazz) {
-        List<String> methodDeclarationList = DfCollectionUtil.newArrayList();
-        parseClass(clazz).ifPresent(compilationUnit -> {
-            VoidVisitorAdapter<Void> adapter = new VoidVisitorAdapter<Void>() {
-                public void visit(final MethodDeclaration methodDeclaration, final Void arg) {
-                    methodDeclarationList.add(methodDeclaration.getNameAsString());
-                    super.visit(methodDeclaration, arg);
-                }
-            };
-            adapter.visit(compilationUnit, null);
-        });
-
-        List<Method> methodList = Arrays.stream(clazz.getMethods()).sorted(Comparator.comparing(method -> {
-            return methodDeclarationList.indexOf(method.getName());
-        })).collect(Collectors.toList());
-
-        return methodList;
+    public JavaparserSourceParserReflector(List<String> srcDirList, CompilationUnitCache compilationUnitCache) {
+        super(srcDirList, compilationUnitCache);
     }
 
     // ===================================================================================
-    //                                                               Reflect ActionDocMeta
-    //                                                               =====================
-    @Override
-    public void reflect(ActionDocMeta meta, Method method) {
-        parseClass(method.getDeclaringClass()).ifPresent(compilationUnit -> {
-            Map<String, List<String>> returnMap = DfCollectionUtil.newLinkedHashMap();
-            VoidVisitorAdapter<ActionDocMeta> adapter = createActionDocMetaVisitorAdapter(method, returnMap);
-            adapter.visit(compilationUnit, meta);
-            List<String> descriptionList = DfCollectionUtil.newArrayList();
-            Arrays.asList(meta.getTypeComment(), meta.getMethodComment()).forEach(comment -> {
-                if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
-                    Matcher matcher = CLASS_METHOD_COMMENT_END_PATTERN.matcher(comment);
-                    if (matcher.find()) {
-                        descriptionList.add(matcher.group(1));
-                    }
-                }
-            });
-            if (!descriptionList.isEmpty()) {
-                meta.setDescription(String.join(", ", descriptionList));
-            }
-            List<TypeDocMeta> parameterTypeDocMetaList = meta.getParameterTypeDocMetaList();
-            Parameter[] parameters = method.getParameters();
-            for (int parameterIndex = 0; parameterIndex < parameters.length; parameterIndex++) {
-                if (parameterIndex < parameterTypeDocMetaList.size()) {
-                    Parameter parameter = parameters[parameterIndex];
-                    TypeDocMeta typeDocMeta = parameterTypeDocMetaList.get(parameterIndex);
-                    meta.setUrl(meta.getUrl().replace("{" + parameter.getName() + "}", "{" + typeDocMeta.getName() + "}"));
-                }
-            }
-            String methodName = method.getName();
-            if (returnMap.containsKey(methodName) && !returnMap.get(methodName).isEmpty()) {
-                meta.getReturnTypeDocMeta().setValue(String.join(",", returnMap.get(methodName)));
-            }
-        });
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * Retain only the summary of source e.g. javadoc, line counts and return expressions until first ')'. <br>
+     * The compilation unit is discarded after indexing, and parsed without validation (RAW language level).
+     * @return this. (NotNull)
+     */
+    public JavaparserSourceParserReflector retainSummaryOnly() {
+        summaryOnlyRetention = true;
+        return this;
     }
 
+    // ===================================================================================
+    //                                                                     Visitor Adapter
+    //                                                                     ===============
+    /**
+     * @param method The reflected method. (NotNull)
+     * @param returnMap The map of return statements to be registered. (NotNull)
+     * @return The visitor adapter for action document meta. (NotNull)
+     * @deprecated use reflectActionDeclaration(), the adapter is no longer used by this reflector
+     */
+    @Deprecated
     protected VoidVisitorAdapter<ActionDocMeta> createActionDocMetaVisitorAdapter(Method method, Map<String, List<String>> returnMap) {
         return new ActionDocMetaVisitorAdapter(method, returnMap);
     }
 
+    /**
+     * @deprecated use reflectActionDeclaration(), the adapter is no longer used by this reflector
+     */
+    @Deprecated
     public class ActionDocMetaVisitorAdapter extends VoidVisitorAdapter<ActionDocMeta> {
 
         protected final Method method;
@@ -180,21 +141,14 @@ public class JavaparserSourceParserReflector implements SourceParserReflector {
             if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
                 actionDocMeta.setMethodComment(comment);
             }
+            JavadocTagModel commentTagModel = JavadocTagModel.parse(comment);
             IntStream.range(0, actionDocMeta.getParameterTypeDocMetaList().size()).forEach(parameterIndex -> {
                 if (parameterIndex < methodDeclaration.getParameters().size()) {
                     TypeDocMeta typeDocMeta = actionDocMeta.getParameterTypeDocMetaList().get(parameterIndex);
                     com.github.javaparser.ast.body.Parameter parameter = methodDeclaration.getParameters().get(parameterIndex);
                     typeDocMeta.setName(parameter.getNameAsString());
                     typeDocMeta.setPublicName(parameter.getNameAsString());
-                    if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
-                        // parse parameter comment
-                        Pattern pattern = Pattern.compile(".*@param\\s?" + parameter.getNameAsString() + "\\s?(.*)\r?\n.*", Pattern.DOTALL);
-                        Matcher matcher = pattern.matcher(comment);
-                        if (matcher.matches()) {
-                            typeDocMeta.setComment(matcher.group(1).replaceAll("\r?\n.*", ""));
-                            typeDocMeta.setDescription(typeDocMeta.getComment().replaceAll(" ([^\\p{Alnum}]|e\\.g\\. )+.*", ""));
-                        }
-                    }
+                    prepareParameterComment(commentTagModel, parameter.getNameAsString(), typeDocMeta);
                 }
             });
 
@@ -220,33 +174,19 @@ public class JavaparserSourceParserReflector implements SourceParserReflector {
         }
     }
 
-    // ===================================================================================
-    //                                                                  Reflect JobDocMeta
-    //                                                                  ==================
-    @Override
-    public void reflect(JobDocMeta jobDocMeta, Class<?> clazz) {
-        parseClass(clazz).ifPresent(compilationUnit -> {
-            VoidVisitorAdapter<JobDocMeta> adapter = createJobDocMetaVisitorAdapter();
-            adapter.visit(compilationUnit, jobDocMeta);
-            List<String> descriptionList = DfCollectionUtil.newArrayList();
-            Arrays.asList(jobDocMeta.getTypeComment(), jobDocMeta.getMethodComment()).forEach(comment -> {
-                if (DfStringUtil.is_NotNull_and_NotEmpty(comment)) {
-                    Matcher matcher = CLASS_METHOD_COMMENT_END_PATTERN.matcher(comment);
-                    if (matcher.find()) {
-                        descriptionList.add(matcher.group(1));
-                    }
-                }
-            });
-            if (!descriptionList.isEmpty()) {
-                jobDocMeta.setDescription(String.join(", ", descriptionList));
-            }
-        });
-    }
-
+    /**
+     * @return The visitor adapter for job document meta. (NotNull)
+     * @deprecated use reflectJobDeclaration(), the adapter is no longer used by this reflector
+     */
+    @Deprecated
     protected VoidVisitorAdapter<JobDocMeta> createJobDocMetaVisitorAdapter() {
         return new JobDocMetaVisitorAdapter();
     }
 
+    /**
+     * @deprecated use reflectJobDeclaration(), the adapter is no longer used by this reflector
+     */
+    @Deprecated
     public class JobDocMetaVisitorAdapter extends VoidVisitorAdapter<JobDocMeta> {
 
         @Override
@@ -282,35 +222,24 @@ public class JavaparserSourceParserReflector implements SourceParserReflector {
         }
     }
 
-    // ===================================================================================
-    //                                                                 Reflect TypeDocMeta
-    //                                                                 ===================
-    @Override
-    public void reflect(TypeDocMeta typeDocMeta, Class<?> clazz) {
-        List<Class<?>> classList = DfCollectionUtil.newArrayList();
-        for (Class<?> targetClass = clazz; targetClass != null; targetClass = targetClass.getSuperclass()) {
-            if (!targetClass.isPrimitive() && !Number.class.isAssignableFrom(targetClass)
-                    && !Arrays.asList(Object.class, String.class).contains(targetClass)) {
-                classList.add(targetClass);
-            }
-        }
-        Collections.reverse(classList);
-        classList.forEach(targetClass -> {
-            parseClass(targetClass).ifPresent(compilationUnit -> {
-                VoidVisitorAdapter<TypeDocMeta> adapter = createTypeDocMetaVisitorAdapter(clazz);
-                adapter.visit(compilationUnit, typeDocMeta);
-            });
-        });
-    }
-
+    /**
+     * @param clazz The reflected class. (NotNull)
+     * @return The visitor adapter for type document meta. (NotNull)
+     * @deprecated use reflectTypeDeclaration(), the adapter is no longer used by this reflector
+     */
+    @Deprecated
     protected VoidVisitorAdapter<TypeDocMeta> createTypeDocMetaVisitorAdapter(Class<?> clazz) {
         return new TypeDocMetaVisitorAdapter(clazz);
     }
 
+    /**
+     * @deprecated use reflectTypeDeclaration(), the adapter is no longer used by this reflector
+     */
+    @Deprecated
     public class TypeDocMetaVisitorAdapter extends VoidVisitorAdapter<TypeDocMeta> {
 
         private Class<?> clazz;
-        
+
         public TypeDocMetaVisitorAdapter(Class<?> clazz) {
             this.clazz = clazz;
         }
@@ -386,55 +315,60 @@ public class JavaparserSourceParserReflector implements SourceParserReflector {
     //                                                                         Parse Class
     //                                                                         ===========
     protected OptionalThing<CompilationUnit> parseClass(Class<?> clazz) {
-        JavaParser javaParser = new JavaParser();
-        for (String srcDir : srcDirList) {
-            File file = new File(srcDir, clazz.getName().replace('.', File.separatorChar) + ".java");
-            if (!file.exists()) {
-                file = new File(srcDir, clazz.getName().replace('.', File.separatorChar).replaceAll("\\$.*", "") + ".java");
-                if (!file.exists()) {
-                    continue;
-                }
-            }
-            if (CACHE_COMPILATION_UNIT_MAP.containsKey(clazz.getName())) {
-                CacheCompilationUnit cacheCompilationUnit = CACHE_COMPILATION_UNIT_MAP.get(clazz.getName());
-                if (cacheCompilationUnit != null && cacheCompilationUnit.fileLastModified == file.lastModified()
-                        && cacheCompilationUnit.fileLength == file.length()) {
-                    return OptionalThing.of(cacheCompilationUnit.compilationUnit);
-                }
+        return findDeclarationIndex(clazz).flatMap(declarationIndex -> {
+            final CompilationUnit compilationUnit = declarationIndex instanceof JavaparserDeclarationIndex
+                    ? ((JavaparserDeclarationIndex) declarationIndex).getCompilationUnit() : null; // null if e.g. summary only
+            if (compilationUnit == null) { // parsed again without cache
+                return findSourceFile(clazz).flatMap(sourceFile -> parseSourceFile(sourceFile));
             }
+            return OptionalThing.of(compilationUnit);
+        });
+    }
 
-            CacheCompilationUnit cacheCompilationUnit = new CacheCompilationUnit();
-            cacheCompilationUnit.fileLastModified = file.lastModified();
-            cacheCompilationUnit.fileLength = file.length();
-            try {
-                ParseResult<CompilationUnit> parse = javaParser.parse(file);
-                parse.getResult().ifPresent(compilationUnit -> {
-                    cacheCompilationUnit.compilationUnit = compilationUnit;                    
-                });
-            } catch (FileNotFoundException e) {
-                throw new IllegalStateException("Source file don't exist.");
-            }
+    // ===================================================================================
+    //                                                                   Declaration Index
+    //                                                                   =================
+    @Override
+    protected OptionalThing<SourceDeclarationIndex> loadDeclarationIndex(Path sourceFile) {
+        return parseSourceFile(sourceFile).map(compilationUnit -> createSourceDeclarationIndex(compilationUnit));
+    }
 
-            CACHE_COMPILATION_UNIT_MAP.put(clazz.getName(), cacheCompilationUnit);
-            return OptionalThing.of(cacheCompilationUnit.compilationUnit);
+    protected OptionalThing<CompilationUnit> parseSourceFile(Path sourceFile) {
+        try {
+            final JavaParser javaParser = new JavaParser(createParserConfiguration()); // not thread-safe, so per parsing
+            ParseResult<CompilationUnit> parse = javaParser.parse(sourceFile);
+            return OptionalThing.ofNullable(parse.getResult().orElse(null), () -> {
+                throw new IllegalStateException("Failed to parse the source file: " + sourceFile + ", " + parse.getProblems());
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Source file don't exist: " + sourceFile, e);
         }
-        return OptionalThing.ofNullable(null, () -> {
-            throw new IllegalStateException("Source file don't exist.");
-        });
     }
 
-    /**
-     * @author p1us2er0
-     */
-    private static class CacheCompilationUnit {
+    protected ParserConfiguration createParserConfiguration() {
+        final ParserConfiguration configuration = new ParserConfiguration();
+        if (summaryOnlyRetention) { // the AST is discarded after indexing so no validation is needed
+            configuration.setLanguageLevel(LanguageLevel.RAW);
+        }
+        return configuration;
+    }
 
-        /** file last modified. */
-        private long fileLastModified;
+    @Override
+    protected String getDeclarationIndexParserType() { // summary index does not have AST and its return expressions are summarized
+        final String parserType = super.getDeclarationIndexParserType();
+        return summaryOnlyRetention ? parserType + "#summary" : parserType;
+    }
 
-        /** file length. */
-        private long fileLength;
+    @Override
+    protected int getWarmUpWeightFactor() { // whole AST is retained unless summary only
+        return summaryOnlyRetention ? CompilationUnitCache.INDEX_WEIGHT_FACTOR : CompilationUnitCache.AST_WEIGHT_FACTOR;
+    }
 
-        /** compilation unit. */
-        private CompilationUnit compilationUnit;
+    protected SourceDeclarationIndex createSourceDeclarationIndex(CompilationUnit compilationUnit) {
+        if (summaryOnlyRetention) { // the compilation unit becomes garbage after indexing
+            return new JavaparserDeclarationIndex(compilationUnit, nodeWithJavadoc -> adjustComment(nodeWithJavadoc),
+                    returnExp -> summarizeReturnExp(returnExp), false); // not retained
+        }
+        return new JavaparserDeclarationIndex(compilationUnit, nodeWithJavadoc -> adjustComment(nodeWithJavadoc));
     }
 }
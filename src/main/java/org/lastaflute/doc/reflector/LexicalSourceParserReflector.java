@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.dbflute.optional.OptionalThing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The source parser reflector by lexical scanner, which does not build syntax tree and does not need java parser. <br>
+ * It reflects only javadoc comments, parameter names, line counts and return expressions, same as java parser version.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LexicalSourceParserReflector extends BaseSourceParserReflector {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(LexicalSourceParserReflector.class);
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The shared cache of declaration index, for e.g. repeated generation in dev server. (NotNull) */
+    protected static final CompilationUnitCache SHARED_COMPILATION_UNIT_CACHE = new CompilationUnitCache();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LexicalSourceParserReflector(List<String> srcDirList) {
+        this(srcDirList, SHARED_COMPILATION_UNIT_CACHE);
+    }
+
+    public LexicalSourceParserReflector(List<String> srcDirList, CompilationUnitCache compilationUnitCache) {
+        super(srcDirList, compilationUnitCache);
+    }
+
+    // ===================================================================================
+    //                                                                   Declaration Index
+    //                                                                   =================
+    @Override
+    protected OptionalThing<SourceDeclarationIndex> loadDeclarationIndex(Path sourceFile) {
+        final String source;
+        try {
+            source = new String(Files.readAllBytes(sourceFile), StandardCharsets.UTF_8); // same as java parser
+        } catch (IOException e) {
+            throw new IllegalStateException("Source file don't exist: " + sourceFile, e);
+        }
+        SourceDeclarationIndex declarationIndex;
+        try {
+            declarationIndex = createLexicalSourceScanner().scan(source);
+        } catch (RuntimeException e) { // e.g. broken brackets, same as parse failure of java parser
+            _log.debug("Failed to scan the source file: {}, {}", sourceFile, e.getMessage());
+            declarationIndex = null;
+        }
+        return OptionalThing.ofNullable(declarationIndex, () -> {
+            throw new IllegalStateException("Failed to scan the source file: " + sourceFile);
+        });
+    }
+
+    protected LexicalSourceScanner createLexicalSourceScanner() {
+        return new LexicalSourceScanner(javadocText -> adjustComment(javadocText));
+    }
+
+    // ===================================================================================
+    //                                                                      Adjust Comment
+    //                                                                      ==============
+    protected String adjustComment(String javadocText) { // same as java parser version
+        return javadocText.replaceAll("(^\r?\n|\r?\n$)", "");
+    }
+}
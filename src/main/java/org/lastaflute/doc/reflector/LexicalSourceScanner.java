@@ -0,0 +1,1474 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.FieldDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.MethodDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.TypeDeclarationEntry;
+
+/**
+ * The lexical scanner of java source building the declaration index without syntax tree. <br>
+ * It only tracks brackets, declarations (class, field, method) and comments by tokens,
+ * and attributes javadoc comments to declarations by the same rules as javaparser (as possible).
+ * <pre>
+ * e.g. not supported (then different from javaparser)
+ *  o formatting of return expressions after first ')' (only the part before it is used by reflector)
+ *  o comments inside return expressions (javaparser prints them)
+ *  o javadoc comment inside class header, e.g. class Sea /&#42;&#42; ... &#42;/ {
+ * </pre>
+ * The scanner instance is not thread-safe, create it per source file.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LexicalSourceScanner {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final int TOKEN_WORD = 1; // identifier, keyword, number
+    protected static final int TOKEN_LITERAL = 2; // string, character, text block
+    protected static final int TOKEN_OPERATOR = 3; // also bracket, separator
+    protected static final int TOKEN_LINE_COMMENT = 4;
+    protected static final int TOKEN_BLOCK_COMMENT = 5;
+    protected static final int TOKEN_JAVADOC_COMMENT = 6;
+
+    // longer first, and '>' is always single for generic type (joined when formatting)
+    protected static final List<String> OPERATOR_LIST = Arrays.asList("<<=", "...", "->", "::", "++", "--", "&&", "||", "==", "!=",
+            "<=", "<<", "+=", "-=", "*=", "/=", "&=", "|=", "^=", "%=");
+
+    protected static final Set<String> MODIFIER_SET = DfCollectionUtil.newHashSet("public", "protected", "private", "static",
+            "final", "abstract", "synchronized", "native", "transient", "volatile", "strictfp", "default", "sealed", "non-sealed");
+
+    protected static final Set<String> BINARY_OPERATOR_SET = DfCollectionUtil.newHashSet("=", "+=", "-=", "*=", "/=", "%=", "&=", "|=",
+            "^=", "<<=", ">>=", ">>>=", "==", "!=", "<", ">", "<=", ">=", "&&", "||", "&", "|", "^", "+", "-", "*", "/", "%", "<<", ">>",
+            ">>>", "?", ":", "->");
+
+    protected static final Set<String> GENERIC_PART_SET = DfCollectionUtil.newHashSet(".", ",", "?", "&", "[", "]", "extends", "super", "@");
+
+    protected static final Pattern BLOCK_TAG_PATTERN = Pattern.compile("^\\s*@", Pattern.MULTILINE); // same as javaparser
+    protected static final String EOL = System.getProperty("line.separator"); // same as javaparser
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The adjuster of javadoc text, e.g. removing line separator at both ends. (NotNull) */
+    protected final Function<String, String> commentAdjuster;
+
+    /** The index to be built by scanning. (NotNull) */
+    protected final SourceDeclarationIndex declarationIndex = new SourceDeclarationIndex();
+
+    /** The list of code tokens, not containing comments. (NotNull) */
+    protected final List<Token> tokenList = DfCollectionUtil.newArrayList();
+
+    /** The list of comment tokens in source order. (NotNull) */
+    protected final List<Token> commentList = DfCollectionUtil.newArrayList();
+
+    /** The index of matched bracket for each code token, -1 if not bracket. (NotNull after tokenizing) */
+    protected int[] matchedIndexes;
+
+    /** The stack of enclosing method entries, e.g. method of local class. (NotNull) */
+    protected final Deque<MethodDeclarationEntry> enclosingMethodStack = new ArrayDeque<MethodDeclarationEntry>();
+
+    /** The stack of enclosing type names, empty name for anonymous class and enum constant. (NotNull) */
+    protected final Deque<String> enclosingTypeNameStack = new ArrayDeque<String>();
+
+    protected int order; // visiting order of declarations
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    /**
+     * @param commentAdjuster The adjuster of javadoc text converted like javaparser's toText(). (NotNull)
+     */
+    public LexicalSourceScanner(Function<String, String> commentAdjuster) {
+        this.commentAdjuster = commentAdjuster;
+    }
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    /**
+     * Scan the source and build the declaration index.
+     * @param source The whole text of java source file. (NotNull)
+     * @return The built declaration index. (NotNull)
+     * @throws IllegalStateException When the brackets of the source are broken.
+     */
+    public SourceDeclarationIndex scan(String source) {
+        tokenize(source);
+        matchBrackets();
+        scanCompilationUnit();
+        return declarationIndex;
+    }
+
+    // ===================================================================================
+    //                                                                            Tokenize
+    //                                                                            ========
+    protected void tokenize(String source) {
+        final int length = source.length();
+        int line = 1;
+        int pos = 0;
+        boolean spaced = true; // whitespace or comment before the token
+        while (pos < length) {
+            final char ch = source.charAt(pos);
+            if (ch == '\n' || ch == '\r') {
+                if (ch == '\r' && pos + 1 < length && source.charAt(pos + 1) == '\n') {
+                    ++pos;
+                }
+                ++pos;
+                ++line;
+                spaced = true;
+                continue;
+            }
+            if (Character.isWhitespace(ch)) {
+                ++pos;
+                spaced = true;
+                continue;
+            }
+            final int begin = pos;
+            final int beginLine = line;
+            final int kind;
+            if (ch == '/' && pos + 1 < length && source.charAt(pos + 1) == '/') {
+                kind = TOKEN_LINE_COMMENT;
+                while (pos < length && source.charAt(pos) != '\n' && source.charAt(pos) != '\r') {
+                    ++pos;
+                }
+            } else if (ch == '/' && pos + 1 < length && source.charAt(pos + 1) == '*') {
+                final boolean javadoc = source.startsWith("/**", pos) && !source.startsWith("/**/", pos);
+                kind = javadoc ? TOKEN_JAVADOC_COMMENT : TOKEN_BLOCK_COMMENT;
+                final int end = source.indexOf("*/", pos + 2);
+                final int next = end >= 0 ? end + 2 : length;
+                line += countLine(source, pos, next);
+                pos = next;
+            } else if (source.startsWith("\"\"\"", pos)) { // text block
+                kind = TOKEN_LITERAL;
+                pos += 3;
+                while (pos < length && !source.startsWith("\"\"\"", pos)) {
+                    pos += source.charAt(pos) == '\\' ? 2 : 1;
+                }
+                final int next = Math.min(pos + 3, length);
+                line += countLine(source, begin, next);
+                pos = next;
+            } else if (ch == '"' || ch == '\'') {
+                kind = TOKEN_LITERAL;
+                ++pos;
+                while (pos < length && source.charAt(pos) != ch && source.charAt(pos) != '\n') {
+                    pos += source.charAt(pos) == '\\' ? 2 : 1;
+                }
+                pos = Math.min(pos + 1, length);
+            } else if (Character.isJavaIdentifierStart(ch) || Character.isDigit(ch)
+                    || (ch == '.' && pos + 1 < length && Character.isDigit(source.charAt(pos + 1)))) {
+                kind = TOKEN_WORD;
+                pos = skipWord(source, pos);
+            } else {
+                kind = TOKEN_OPERATOR;
+                pos += OPERATOR_LIST.stream().filter(op -> source.startsWith(op, begin)).findFirst().map(op -> op.length()).orElse(1);
+            }
+            final Token token = new Token(kind, source.substring(begin, pos), beginLine, line, spaced);
+            if (token.isComment()) {
+                commentList.add(token);
+                token.index = commentList.size() - 1;
+                spaced = true;
+            } else {
+                tokenList.add(token);
+                token.index = tokenList.size() - 1;
+                token.commentIndex = commentList.size(); // comments before the token are [0, commentIndex)
+                spaced = false;
+            }
+        }
+    }
+
+    protected int countLine(String source, int begin, int end) {
+        int count = 0;
+        for (int pos = begin; pos < end; pos++) {
+            final char ch = source.charAt(pos);
+            if (ch == '\n' || (ch == '\r' && (pos + 1 >= end || source.charAt(pos + 1) != '\n'))) {
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    protected int skipWord(String source, int pos) {
+        final int length = source.length();
+        final int begin = pos;
+        final boolean number = !Character.isJavaIdentifierStart(source.charAt(pos));
+        ++pos;
+        while (pos < length) {
+            final char ch = source.charAt(pos);
+            if (Character.isJavaIdentifierPart(ch) && !Character.isIdentifierIgnorable(ch)) {
+                ++pos;
+            } else if (number && ch == '.') {
+                ++pos;
+            } else if (number && (ch == '+' || ch == '-') && "eEpP".indexOf(source.charAt(pos - 1)) >= 0
+                    && !(source.charAt(pos - 1) <= 'F' && source.charAt(pos - 1) >= 'A' && isHexNumber(source, pos))) {
+                ++pos; // e.g. 1.0e+10
+            } else {
+                break;
+            }
+        }
+        if (!number && pos - begin == 3 && source.startsWith("non-sealed", begin)) {
+            pos += "-sealed".length(); // contextual keyword with hyphen
+        }
+        return pos;
+    }
+
+    protected boolean isHexNumber(String source, int pos) { // e.g. 0x1E+2 is (0x1E) + 2
+        int begin = pos - 1;
+        while (begin > 0 && (Character.isLetterOrDigit(source.charAt(begin - 1)) || source.charAt(begin - 1) == '.')) {
+            --begin;
+        }
+        return source.startsWith("0x", begin) || source.startsWith("0X", begin);
+    }
+
+    protected void matchBrackets() {
+        matchedIndexes = new int[tokenList.size()];
+        Arrays.fill(matchedIndexes, -1);
+        final Deque<Integer> openStack = new ArrayDeque<Integer>();
+        for (Token token : tokenList) {
+            if (token.is("(") || token.is("[") || token.is("{")) {
+                openStack.push(token.index);
+            } else if (token.is(")") || token.is("]") || token.is("}")) {
+                if (openStack.isEmpty() || !isPairBracket(tokenList.get(openStack.peek()), token)) {
+                    throw new IllegalStateException("Unmatched bracket: line=" + token.beginLine + ", token=" + token.text);
+                }
+                final int openIndex = openStack.pop();
+                matchedIndexes[openIndex] = token.index;
+                matchedIndexes[token.index] = openIndex;
+            }
+        }
+        if (!openStack.isEmpty()) {
+            throw new IllegalStateException("Unclosed bracket: line=" + tokenList.get(openStack.peek()).beginLine);
+        }
+    }
+
+    protected boolean isPairBracket(Token open, Token close) {
+        return (open.is("(") && close.is(")")) || (open.is("[") && close.is("]")) || (open.is("{") && close.is("}"));
+    }
+
+    // ===================================================================================
+    //                                                                    Compilation Unit
+    //                                                                    ================
+    protected void scanCompilationUnit() {
+        final int size = tokenList.size();
+        int index = 0;
+        final List<MemberRange> memberList = DfCollectionUtil.newArrayList();
+        while (index < size) {
+            final Token token = tokenList.get(index);
+            if (token.is(";")) {
+                ++index;
+            } else if (token.is("package") || token.is("import")) {
+                index = findStatementEnd(index, size) + 1;
+            } else if (token.is("module") || (token.is("open") && index + 1 < size && tokenList.get(index + 1).is("module"))) {
+                return; // module-info.java has no class
+            } else if (isPackageAnnotation(index, size)) { // package-info.java
+                index = findStatementEnd(index, size) + 1;
+            } else {
+                final MemberRange member = scanMember(index, size, null, false);
+                memberList.add(member);
+                detachTrailingLineComment(memberList, member);
+                index = member.endIndex + 1;
+            }
+        }
+    }
+
+    protected boolean isPackageAnnotation(int index, int endIndex) {
+        int nextIndex = index;
+        while (nextIndex < endIndex && isAnnotationStart(nextIndex)) {
+            nextIndex = skipAnnotation(nextIndex);
+        }
+        return nextIndex > index && nextIndex < endIndex && tokenList.get(nextIndex).is("package");
+    }
+
+    protected int findStatementEnd(int index, int endIndex) { // index of ';' or endIndex - 1
+        while (index < endIndex && !tokenList.get(index).is(";")) {
+            index = skipBracket(index) + 1;
+        }
+        return Math.min(index, endIndex - 1);
+    }
+
+    protected int skipBracket(int index) { // the index of matched close bracket if open bracket
+        final Token token = tokenList.get(index);
+        return (token.is("(") || token.is("[") || token.is("{")) ? matchedIndexes[index] : index;
+    }
+
+    // ===================================================================================
+    //                                                                           Type Body
+    //                                                                           =========
+    /**
+     * Scan the members in the body of class, interface, enum, annotation, anonymous class, enum constant.
+     * @param openIndex The index of open brace of the body. (NotMinus)
+     * @param typeName The simple name of the type. (NullAllowed: anonymous class, enum constant)
+     * @param kind The keyword of the type, e.g. class, enum, @interface. (NullAllowed: anonymous class, enum constant)
+     */
+    protected void scanTypeBody(int openIndex, String typeName, String kind) {
+        final int closeIndex = matchedIndexes[openIndex];
+        int index = openIndex + 1;
+        if ("enum".equals(kind)) {
+            index = scanEnumConstants(index, closeIndex);
+        }
+        enclosingTypeNameStack.addLast(typeName != null ? typeName : "");
+        try {
+            final List<MemberRange> memberList = DfCollectionUtil.newArrayList();
+            while (index < closeIndex) {
+                if (tokenList.get(index).is(";")) {
+                    ++index;
+                    continue;
+                }
+                final MemberRange member = scanMember(index, closeIndex, typeName, "@interface".equals(kind));
+                memberList.add(member);
+                detachTrailingLineComment(memberList, member);
+                index = member.endIndex + 1;
+            }
+        } finally {
+            enclosingTypeNameStack.removeLast();
+        }
+    }
+
+    protected String prepareParentTypePath() { // e.g. SeaForm.HangarPart
+        return String.join(".", enclosingTypeNameStack);
+    }
+
+    protected int scanEnumConstants(int index, int closeIndex) { // returns the index after constants
+        while (index < closeIndex) {
+            final Token token = tokenList.get(index);
+            if (token.is(";")) {
+                return index + 1;
+            } else if (isAnnotationStart(index)) {
+                index = skipAnnotation(index);
+            } else if (token.is("(")) { // arguments may have e.g. lambda
+                scanExpressionList(index + 1, matchedIndexes[index]);
+                index = matchedIndexes[index] + 1;
+            } else if (token.is("{")) { // body of enum constant, parent node is not type
+                scanTypeBody(index, null, null);
+                index = matchedIndexes[index] + 1;
+            } else {
+                ++index;
+            }
+        }
+        return index;
+    }
+
+    // ===================================================================================
+    //                                                                              Member
+    //                                                                              ======
+    protected MemberRange scanMember(int beginIndex, int endIndex, String typeName, boolean annotationType) {
+        int index = beginIndex;
+        while (index < endIndex && isAnnotationStart(index)) {
+            index = skipAnnotation(index);
+        }
+        int angleDepth = 0;
+        for (; index < endIndex; index++) {
+            final Token token = tokenList.get(index);
+            if (token.is("<")) {
+                ++angleDepth;
+            } else if (token.is(">")) {
+                --angleDepth;
+            } else if (isAnnotationStart(index)) { // e.g. public @Nullable String sea;
+                index = skipAnnotation(index) - 1;
+            } else if (angleDepth > 0) {
+                continue;
+            } else if (isTypeKeyword(index)) {
+                return scanTypeDeclaration(beginIndex, index, false);
+            } else if (token.is("(")) {
+                return scanMethodDeclaration(beginIndex, index, typeName, annotationType);
+            } else if (token.is("=") || token.is(";") || token.is(",") || token.is("[")) {
+                final int arrayEnd = token.is("[") ? skipArrayDimensions(index, endIndex) : index;
+                if (arrayEnd < endIndex && tokenList.get(arrayEnd).kind == TOKEN_WORD) { // array type, e.g. String[][] sea;
+                    index = arrayEnd - 1;
+                    continue;
+                }
+                return scanFieldDeclaration(beginIndex, index - 1, endIndex, typeName);
+            } else if (token.is("{")) { // initializer, e.g. static { ... }
+                scanStatements(index + 1, matchedIndexes[index]);
+                return new MemberRange(beginIndex, matchedIndexes[index], null);
+            }
+        }
+        return new MemberRange(beginIndex, endIndex - 1, null); // basically no way (broken member)
+    }
+
+    protected int skipArrayDimensions(int index, int endIndex) { // returns the index after e.g. [][]
+        while (index < endIndex && tokenList.get(index).is("[")) {
+            index = matchedIndexes[index] + 1;
+        }
+        return index;
+    }
+
+    protected boolean isTypeKeyword(int index) {
+        final Token token = tokenList.get(index);
+        if (index > 0 && tokenList.get(index - 1).is(".")) { // e.g. Sea.class
+            return false;
+        }
+        if (token.is("class") || token.is("interface") || token.is("enum")) {
+            return true;
+        }
+        if (token.is("@") && index + 1 < tokenList.size() && tokenList.get(index + 1).is("interface")) {
+            return true;
+        }
+        if (token.is("record") && index + 2 < tokenList.size()) { // contextual keyword
+            final Token next = tokenList.get(index + 1);
+            final Token nextNext = tokenList.get(index + 2);
+            return next.kind == TOKEN_WORD && (nextNext.is("(") || nextNext.is("<"));
+        }
+        return false;
+    }
+
+    protected boolean isAnnotationStart(int index) {
+        final Token token = tokenList.get(index);
+        return token.is("@") && index + 1 < tokenList.size() && !tokenList.get(index + 1).is("interface");
+    }
+
+    protected int skipAnnotation(int index) { // returns the index after annotation
+        index += 2; // '@' and name
+        while (index + 1 < tokenList.size() && tokenList.get(index).is(".")) {
+            index += 2; // e.g. @javax.annotation.Resource
+        }
+        if (index < tokenList.size() && tokenList.get(index).is("(")) {
+            index = matchedIndexes[index] + 1;
+        }
+        return index;
+    }
+
+    // -----------------------------------------------------
+    //                                                  Type
+    //                                                  ----
+    protected MemberRange scanTypeDeclaration(int beginIndex, int keywordIndex, boolean local) {
+        final String kind = tokenList.get(keywordIndex).is("@") ? "@interface" : tokenList.get(keywordIndex).text;
+        final int nameIndex = keywordIndex + ("@interface".equals(kind) ? 2 : 1);
+        final String typeName = tokenList.get(nameIndex).text;
+        int openIndex = nameIndex + 1;
+        while (!tokenList.get(openIndex).is("{")) { // e.g. extends, implements, record components
+            openIndex = skipBracket(openIndex) + 1;
+        }
+        final int closeIndex = matchedIndexes[openIndex];
+        TypeDeclarationEntry entry = null;
+        if ("class".equals(kind) || "interface".equals(kind)) { // same as ClassOrInterfaceDeclaration
+            entry = new TypeDeclarationEntry(nextOrder(), prepareEnclosingMethodNameList());
+            entry.name = typeName;
+            entry.lineCount = deriveLineCount(beginIndex, closeIndex);
+            entry.comment = !local ? findJavadoc(beginIndex) : null; // comment of local class belongs to statement
+            declarationIndex.registerTypeEntry(entry);
+        }
+        scanTypeBody(openIndex, typeName, kind);
+        final TypeDeclarationEntry registered = entry;
+        return new MemberRange(beginIndex, closeIndex, registered != null ? () -> registered.comment = null : null);
+    }
+
+    // -----------------------------------------------------
+    //                                                Method
+    //                                                ------
+    protected MemberRange scanMethodDeclaration(int beginIndex, int openIndex, String typeName, boolean annotationType) {
+        final int closeIndex = matchedIndexes[openIndex];
+        int bodyIndex = closeIndex + 1; // e.g. throws, default value of annotation
+        while (!tokenList.get(bodyIndex).is("{") && !tokenList.get(bodyIndex).is(";")) {
+            bodyIndex = skipBracket(bodyIndex) + 1;
+        }
+        final int endIndex = tokenList.get(bodyIndex).is("{") ? matchedIndexes[bodyIndex] : bodyIndex;
+        final String methodName = tokenList.get(openIndex - 1).text;
+        if (annotationType || isConstructor(beginIndex, openIndex - 1, typeName)) { // not method declaration
+            if (bodyIndex < endIndex) {
+                scanStatements(bodyIndex + 1, endIndex);
+            }
+            return new MemberRange(beginIndex, endIndex, null);
+        }
+        final MethodDeclarationEntry entry = new MethodDeclarationEntry(nextOrder(), prepareEnclosingMethodNameList());
+        entry.name = methodName;
+        entry.parentTypePath = prepareParentTypePath();
+        entry.lineCount = deriveLineCount(beginIndex, endIndex);
+        entry.comment = findJavadoc(beginIndex);
+        entry.parameterNameList = extractParameterNameList(openIndex, closeIndex);
+        entry.returnExpList = DfCollectionUtil.newArrayList();
+        declarationIndex.registerMethodEntry(entry);
+        if (bodyIndex < endIndex) {
+            enclosingMethodStack.push(entry);
+            try {
+                scanStatements(bodyIndex + 1, endIndex);
+            } finally {
+                enclosingMethodStack.pop();
+            }
+        }
+        return new MemberRange(beginIndex, endIndex, () -> entry.comment = null);
+    }
+
+    protected boolean isConstructor(int beginIndex, int nameIndex, String typeName) {
+        if (typeName == null || !typeName.equals(tokenList.get(nameIndex).text)) {
+            return false;
+        }
+        int index = beginIndex; // only annotations, modifiers and type parameters before name
+        while (index < nameIndex) {
+            if (isAnnotationStart(index)) {
+                index = skipAnnotation(index);
+            } else if (tokenList.get(index).is("<")) {
+                final int genericEnd = findGenericEnd(index, nameIndex);
+                if (genericEnd < 0) {
+                    return false;
+                }
+                index = genericEnd + 1;
+            } else if (MODIFIER_SET.contains(tokenList.get(index).text)) {
+                ++index;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected List<String> extractParameterNameList(int openIndex, int closeIndex) {
+        final List<String> parameterNameList = DfCollectionUtil.newArrayList();
+        int angleDepth = 0;
+        String lastWord = null;
+        for (int index = openIndex + 1; index <= closeIndex; index++) {
+            final Token token = tokenList.get(index);
+            if (isAnnotationStart(index)) {
+                index = skipAnnotation(index) - 1;
+            } else if (token.is("<")) {
+                ++angleDepth;
+            } else if (token.is(">")) {
+                --angleDepth;
+            } else if (angleDepth == 0 && (token.is(",") || index == closeIndex)) {
+                if (lastWord != null && !"this".equals(lastWord)) { // receiver parameter is not parameter
+                    parameterNameList.add(lastWord);
+                }
+                lastWord = null;
+            } else if (token.kind == TOKEN_WORD) {
+                lastWord = token.text; // e.g. final String[] sea, String land[]
+            }
+        }
+        return parameterNameList;
+    }
+
+    // -----------------------------------------------------
+    //                                                 Field
+    //                                                 -----
+    protected MemberRange scanFieldDeclaration(int beginIndex, int firstNameIndex, int endIndex, String typeName) {
+        final FieldDeclarationEntry entry = new FieldDeclarationEntry(nextOrder(), prepareEnclosingMethodNameList());
+        entry.parentTypeName = typeName;
+        entry.parentTypePath = prepareParentTypePath();
+        entry.comment = findJavadoc(beginIndex);
+        final List<String> variableNameList = DfCollectionUtil.newArrayList();
+        final List<int[]> initializerList = DfCollectionUtil.newArrayList();
+        int index = firstNameIndex;
+        while (index < endIndex) {
+            variableNameList.add(tokenList.get(index).text);
+            ++index;
+            while (index < endIndex && tokenList.get(index).is("[")) { // e.g. String sea[];
+                index = matchedIndexes[index] + 1;
+            }
+            if (index < endIndex && tokenList.get(index).is("=")) {
+                final int initializerBegin = index + 1;
+                index = findExpressionEnd(initializerBegin, endIndex);
+                initializerList.add(new int[] { initializerBegin, index });
+            }
+            if (index >= endIndex || tokenList.get(index).is(";")) {
+                break;
+            }
+            ++index; // ','
+        }
+        declarationIndex.registerFieldEntry(entry, variableNameList);
+        initializerList.forEach(range -> scanExpression(range[0], range[1])); // after field entry (pre-order)
+        final int fieldEndIndex = Math.min(index, endIndex - 1);
+        return new MemberRange(beginIndex, fieldEndIndex, () -> entry.comment = null);
+    }
+
+    protected int findExpressionEnd(int index, int endIndex) { // index of ',' or ';' out of brackets
+        while (index < endIndex) {
+            final Token token = tokenList.get(index);
+            if (token.is(",") || token.is(";")) {
+                return index;
+            } else if (token.is("<")) {
+                final int genericEnd = findGenericEnd(index, endIndex);
+                index = genericEnd >= 0 ? genericEnd + 1 : index + 1; // e.g. new HashMap<String, Integer>()
+            } else {
+                index = skipBracket(index) + 1;
+            }
+        }
+        return endIndex;
+    }
+
+    protected int findGenericEnd(int openIndex, int endIndex) { // index of '>' closing the generic, -1 if not generic
+        int angleDepth = 0;
+        for (int index = openIndex; index < endIndex; index++) {
+            final Token token = tokenList.get(index);
+            if (token.is("<")) {
+                ++angleDepth;
+            } else if (token.is(">")) {
+                if (--angleDepth == 0) {
+                    return index;
+                }
+            } else if (token.kind != TOKEN_WORD && !GENERIC_PART_SET.contains(token.text)) {
+                return -1;
+            } else if (token.is("[")) {
+                index = matchedIndexes[index];
+            }
+        }
+        return -1;
+    }
+
+    // ===================================================================================
+    //                                                                           Statement
+    //                                                                           =========
+    // statements and expressions are scanned in the same order as javaparser visitor (not source order)
+    // e.g. else before then, catch before try, body before condition, arguments before scope
+    protected void scanStatements(int beginIndex, int endIndex) {
+        int index = beginIndex;
+        while (index < endIndex) {
+            index = scanStatement(index, endIndex);
+        }
+    }
+
+    /**
+     * Scan the statement for local classes, anonymous classes and return statements.
+     * @param index The index of first token of the statement. (NotMinus)
+     * @param endIndex The index after last token of the block. (NotMinus)
+     * @return The index after the statement. (NotMinus)
+     */
+    protected int scanStatement(int index, int endIndex) {
+        final Token token = tokenList.get(index);
+        final int statementEnd = skipStatement(index, endIndex);
+        if (token.is("{")) {
+            scanStatements(index + 1, matchedIndexes[index]);
+        } else if (token.is("if")) { // condition, else, then
+            final int conditionClose = matchedIndexes[index + 1];
+            final int thenEnd = skipStatement(conditionClose + 1, endIndex);
+            scanExpression(index + 2, conditionClose);
+            if (thenEnd < statementEnd) {
+                scanStatement(thenEnd + 1, statementEnd); // after 'else'
+            }
+            scanStatement(conditionClose + 1, thenEnd);
+        } else if (token.is("for")) { // body, (compare, initialization, update) or (iterable, variable)
+            final int headerClose = matchedIndexes[index + 1];
+            scanStatement(headerClose + 1, statementEnd);
+            final List<Integer> separatorList = findTopLevelIndexList(index + 2, headerClose, ";");
+            if (separatorList.size() == 2) {
+                scanExpressionList(separatorList.get(0) + 1, separatorList.get(1));
+                scanExpressionList(index + 2, separatorList.get(0));
+                scanExpressionList(separatorList.get(1) + 1, headerClose);
+            } else {
+                final List<Integer> colonList = findTopLevelIndexList(index + 2, headerClose, ":");
+                if (!colonList.isEmpty()) {
+                    scanExpression(colonList.get(0) + 1, headerClose);
+                }
+            }
+        } else if (token.is("while") || token.is("synchronized")) { // body, condition
+            final int conditionClose = matchedIndexes[index + 1];
+            scanStatement(conditionClose + 1, statementEnd);
+            scanExpression(index + 2, conditionClose);
+        } else if (token.is("do")) { // body, condition
+            final int bodyEnd = skipStatement(index + 1, endIndex);
+            scanStatement(index + 1, bodyEnd);
+            if (bodyEnd + 1 < endIndex && tokenList.get(bodyEnd + 1).is("(")) {
+                scanExpression(bodyEnd + 2, matchedIndexes[bodyEnd + 1]);
+            }
+        } else if (token.is("try")) {
+            scanTryStatement(index, statementEnd);
+        } else if (token.is("switch") && index + 1 < endIndex && tokenList.get(index + 1).is("(")) { // entries, selector
+            final int selectorClose = matchedIndexes[index + 1];
+            scanSwitchBody(selectorClose + 1);
+            scanExpression(index + 2, selectorClose);
+        } else if (token.is("return")) {
+            final int semicolonIndex = statementEnd - 1;
+            if (index + 1 < semicolonIndex) { // not e.g. return;
+                final String expression = formatExpression(index + 1, semicolonIndex);
+                enclosingMethodStack.forEach(method -> method.returnExpList.add(expression)); // before nested (pre-order)
+                scanExpression(index + 1, semicolonIndex);
+            }
+        } else if (isLabel(index, endIndex)) { // e.g. outer: for (...)
+            scanStatement(index + 2, endIndex);
+        } else {
+            final int keywordIndex = findLocalTypeKeyword(index, endIndex);
+            if (keywordIndex >= 0) {
+                scanTypeDeclaration(index, keywordIndex, true);
+            } else { // e.g. expression, variable declaration, throw
+                final int firstIndex = token.is("throw") || token.is("assert") || isYield(index, endIndex) ? index + 1 : index;
+                scanExpressionList(firstIndex, tokenList.get(statementEnd - 1).is(";") ? statementEnd - 1 : statementEnd);
+            }
+        }
+        return statementEnd;
+    }
+
+    protected void scanTryStatement(int index, int statementEnd) { // catch clauses, finally, resources, try block
+        int blockIndex = index + 1;
+        int resourceOpen = -1;
+        if (tokenList.get(blockIndex).is("(")) {
+            resourceOpen = blockIndex;
+            blockIndex = matchedIndexes[blockIndex] + 1;
+        }
+        int finallyIndex = -1;
+        final List<Integer> catchBlockList = DfCollectionUtil.newArrayList();
+        int clauseIndex = matchedIndexes[blockIndex] + 1;
+        while (clauseIndex < statementEnd) {
+            if (tokenList.get(clauseIndex).is("catch")) {
+                final int catchBlock = matchedIndexes[clauseIndex + 1] + 1;
+                catchBlockList.add(catchBlock);
+                clauseIndex = matchedIndexes[catchBlock] + 1;
+            } else if (tokenList.get(clauseIndex).is("finally")) {
+                finallyIndex = clauseIndex + 1;
+                clauseIndex = matchedIndexes[finallyIndex] + 1;
+            } else {
+                break; // basically no way
+            }
+        }
+        catchBlockList.forEach(catchBlock -> scanStatements(catchBlock + 1, matchedIndexes[catchBlock]));
+        if (finallyIndex >= 0) {
+            scanStatements(finallyIndex + 1, matchedIndexes[finallyIndex]);
+        }
+        if (resourceOpen >= 0) {
+            scanStatements(resourceOpen + 1, matchedIndexes[resourceOpen]);
+        }
+        scanStatements(blockIndex + 1, matchedIndexes[blockIndex]);
+    }
+
+    protected void scanSwitchBody(int openIndex) { // entries in order, labels and statements
+        final int closeIndex = matchedIndexes[openIndex];
+        int index = openIndex + 1;
+        while (index < closeIndex) {
+            final Token token = tokenList.get(index);
+            if (token.is("case") || token.is("default")) {
+                int labelEnd = index + 1;
+                while (labelEnd < closeIndex && !tokenList.get(labelEnd).is(":") && !tokenList.get(labelEnd).is("->")) {
+                    labelEnd = skipBracket(labelEnd) + 1;
+                }
+                scanExpressionList(index + 1, labelEnd);
+                if (labelEnd < closeIndex && tokenList.get(labelEnd).is("->")) { // switch rule, e.g. case SEA -> land();
+                    index = scanStatement(labelEnd + 1, closeIndex);
+                } else {
+                    index = labelEnd + 1;
+                }
+            } else {
+                index = scanStatement(index, closeIndex);
+            }
+        }
+    }
+
+    /**
+     * Skip the statement without scanning, e.g. to find else statement before then statement.
+     * @param index The index of first token of the statement. (NotMinus)
+     * @param endIndex The index after last token of the block. (NotMinus)
+     * @return The index after the statement. (NotMinus)
+     */
+    protected int skipStatement(int index, int endIndex) {
+        final Token token = tokenList.get(index);
+        if (token.is("{")) {
+            return matchedIndexes[index] + 1;
+        } else if (token.is(";")) {
+            return index + 1;
+        } else if (token.is("if")) {
+            final int thenEnd = skipStatement(matchedIndexes[index + 1] + 1, endIndex);
+            return thenEnd < endIndex && tokenList.get(thenEnd).is("else") ? skipStatement(thenEnd + 1, endIndex) : thenEnd;
+        } else if (token.is("for") || token.is("while") || token.is("synchronized")) {
+            return skipStatement(matchedIndexes[index + 1] + 1, endIndex);
+        } else if (token.is("switch") && index + 1 < endIndex && tokenList.get(index + 1).is("(")
+                && !isSwitchExpression(index, endIndex)) {
+            return matchedIndexes[matchedIndexes[index + 1] + 1] + 1;
+        } else if (token.is("do")) {
+            final int bodyEnd = skipStatement(index + 1, endIndex); // while (...);
+            return bodyEnd + 1 < endIndex && tokenList.get(bodyEnd + 1).is("(") ? findStatementEnd(bodyEnd, endIndex) + 1 : bodyEnd;
+        } else if (token.is("try")) {
+            int clauseIndex = index + 1;
+            if (tokenList.get(clauseIndex).is("(")) {
+                clauseIndex = matchedIndexes[clauseIndex] + 1;
+            }
+            clauseIndex = matchedIndexes[clauseIndex] + 1;
+            while (clauseIndex < endIndex && (tokenList.get(clauseIndex).is("catch") || tokenList.get(clauseIndex).is("finally"))) {
+                final int blockIndex = tokenList.get(clauseIndex).is("catch") ? matchedIndexes[clauseIndex + 1] + 1 : clauseIndex + 1;
+                clauseIndex = matchedIndexes[blockIndex] + 1;
+            }
+            return clauseIndex;
+        } else if (isLabel(index, endIndex)) {
+            return skipStatement(index + 2, endIndex);
+        }
+        final int keywordIndex = findLocalTypeKeyword(index, endIndex);
+        if (keywordIndex >= 0) {
+            int openIndex = keywordIndex + 1;
+            while (openIndex < endIndex && !tokenList.get(openIndex).is("{")) {
+                openIndex = skipBracket(openIndex) + 1;
+            }
+            return openIndex < endIndex ? matchedIndexes[openIndex] + 1 : endIndex;
+        }
+        return findStatementEnd(index, endIndex) + 1;
+    }
+
+    protected boolean isSwitchExpression(int index, int endIndex) { // e.g. switch (sea) { ... }.land();
+        final int closeIndex = matchedIndexes[matchedIndexes[index + 1] + 1];
+        return closeIndex + 1 < endIndex && !tokenList.get(closeIndex + 1).isStatementStart();
+    }
+
+    protected boolean isLabel(int index, int endIndex) {
+        final Token token = tokenList.get(index);
+        return token.kind == TOKEN_WORD && !token.is("default") && index + 1 < endIndex && tokenList.get(index + 1).is(":");
+    }
+
+    protected boolean isYield(int index, int endIndex) { // contextual keyword
+        return tokenList.get(index).is("yield") && index + 1 < endIndex && !tokenList.get(index + 1).is("=")
+                && !tokenList.get(index + 1).is("(") && !tokenList.get(index + 1).is(".");
+    }
+
+    protected int findLocalTypeKeyword(int index, int endIndex) { // -1 if not local type declaration
+        while (index < endIndex) {
+            if (isAnnotationStart(index)) {
+                index = skipAnnotation(index);
+            } else if (MODIFIER_SET.contains(tokenList.get(index).text) && !tokenList.get(index).is("default")) {
+                ++index;
+            } else {
+                return isTypeKeyword(index) ? index : -1;
+            }
+        }
+        return -1;
+    }
+
+    // ===================================================================================
+    //                                                                          Expression
+    //                                                                          ==========
+    protected void scanExpressionList(int beginIndex, int endIndex) { // e.g. arguments, variable declarators
+        int expressionBegin = beginIndex;
+        for (int index = beginIndex; index < endIndex; index = nextTopLevelIndex(index, endIndex)) {
+            if (tokenList.get(index).is(",")) {
+                scanExpression(expressionBegin, index);
+                expressionBegin = index + 1;
+            }
+        }
+        scanExpression(expressionBegin, endIndex);
+    }
+
+    /**
+     * Scan the expression for anonymous classes and lambda bodies in the same order as javaparser visitor.
+     * @param beginIndex The index of first token of the expression. (NotMinus)
+     * @param endIndex The index after last token of the expression. (NotMinus)
+     */
+    protected void scanExpression(int beginIndex, int endIndex) {
+        if (beginIndex >= endIndex) {
+            return;
+        }
+        for (int index = beginIndex; index < endIndex; index = nextTopLevelIndex(index, endIndex)) {
+            if (tokenList.get(index).is("->")) { // lambda, body only
+                if (tokenList.get(index + 1).is("{") && matchedIndexes[index + 1] == endIndex - 1) {
+                    scanStatements(index + 2, endIndex - 1);
+                } else {
+                    scanExpression(index + 1, endIndex);
+                }
+                return;
+            } else if (isAssignmentOperator(index)) { // target, value
+                scanExpression(beginIndex, index);
+                scanExpression(index + 1, endIndex);
+                return;
+            }
+        }
+        for (int index = beginIndex; index < endIndex; index = nextTopLevelIndex(index, endIndex)) {
+            if (tokenList.get(index).is("?")) { // condition, else, then
+                final int colonIndex = findConditionalColon(index, endIndex);
+                if (colonIndex >= 0) {
+                    scanExpression(beginIndex, index);
+                    scanExpression(colonIndex + 1, endIndex);
+                    scanExpression(index + 1, colonIndex);
+                    return;
+                }
+            }
+        }
+        int operandBegin = beginIndex; // binary operands in source order
+        for (int index = beginIndex; index < endIndex; index = nextTopLevelIndex(index, endIndex)) {
+            final Token token = tokenList.get(index);
+            if (index > operandBegin && (token.is("instanceof") || isBinaryOperator(token, token.text)) && !isGenericOpen(index, endIndex)) {
+                scanUnary(operandBegin, index);
+                operandBegin = index + 1;
+            }
+        }
+        scanUnary(operandBegin, endIndex);
+    }
+
+    protected void scanUnary(int beginIndex, int endIndex) {
+        int index = beginIndex;
+        while (index < endIndex && tokenList.get(index).kind == TOKEN_OPERATOR && isPrefixOperator(tokenList.get(index))) {
+            ++index;
+        }
+        if (index >= endIndex) {
+            return;
+        }
+        if (tokenList.get(index).is("(")) { // cast, e.g. (String) sea
+            final int closeIndex = matchedIndexes[index];
+            if (closeIndex + 1 < endIndex && isCastOperandStart(tokenList.get(closeIndex + 1)) && isTypeRange(index + 1, closeIndex)) {
+                scanUnary(closeIndex + 1, endIndex);
+                return;
+            }
+        }
+        scanPostfix(index, endIndex);
+    }
+
+    protected void scanPostfix(int beginIndex, int endIndex) { // e.g. sea.land(piari).bonvo[0]
+        final List<Runnable> partList = DfCollectionUtil.newArrayList(); // in source order, scanned in reverse (scope last)
+        int index = beginIndex;
+        final Token primary = tokenList.get(index);
+        if (primary.is("new")) {
+            index = prepareCreationPart(index, endIndex, partList);
+        } else if (primary.is("(") || primary.is("{")) { // parenthesized expression, array initializer
+            final int closeIndex = matchedIndexes[index];
+            final int innerBegin = index + 1;
+            partList.add(() -> scanExpressionList(innerBegin, closeIndex));
+            index = closeIndex + 1;
+        } else if (primary.is("switch") && index + 2 < endIndex && tokenList.get(index + 1).is("(")) { // entries, selector
+            final int selectorClose = matchedIndexes[index + 1];
+            final int selectorBegin = index + 2;
+            partList.add(() -> {
+                scanSwitchBody(selectorClose + 1);
+                scanExpression(selectorBegin, selectorClose);
+            });
+            index = matchedIndexes[selectorClose + 1] + 1;
+        } else {
+            index = prepareCallPart(index, endIndex, partList); // e.g. sea(), sea
+        }
+        while (index < endIndex) {
+            final Token token = tokenList.get(index);
+            if (token.is(".")) {
+                ++index;
+                index = skipGeneric(index, endIndex); // e.g. Collections.<String>emptyList()
+                if (index < endIndex && tokenList.get(index).is("new")) { // e.g. sea.new Land()
+                    index = prepareCreationPart(index, endIndex, partList);
+                } else if (index < endIndex) {
+                    index = prepareCallPart(index, endIndex, partList);
+                }
+            } else if (token.is("[")) { // array access, index
+                final int closeIndex = matchedIndexes[index];
+                final int innerBegin = index + 1;
+                partList.add(() -> scanExpression(innerBegin, closeIndex));
+                index = closeIndex + 1;
+            } else if (token.is("<")) { // e.g. Sea<Land>::new
+                final int skipped = skipGeneric(index, endIndex);
+                index = skipped > index ? skipped : index + 1;
+            } else {
+                ++index; // e.g. ::, ++, --
+            }
+        }
+        for (int partIndex = partList.size() - 1; partIndex >= 0; partIndex--) {
+            partList.get(partIndex).run();
+        }
+    }
+
+    protected int prepareCallPart(int index, int endIndex, List<Runnable> partList) { // returns the index after the part
+        if (index + 1 < endIndex && tokenList.get(index).kind == TOKEN_WORD && tokenList.get(index + 1).is("(")) {
+            final int closeIndex = matchedIndexes[index + 1];
+            final int argumentBegin = index + 2;
+            partList.add(() -> scanExpressionList(argumentBegin, closeIndex));
+            return closeIndex + 1;
+        }
+        return index + 1; // e.g. field access, class literal
+    }
+
+    protected int prepareCreationPart(int index, int endIndex, List<Runnable> partList) { // returns the index after 'new' expression
+        ++index; // 'new'
+        while (index < endIndex && (tokenList.get(index).kind == TOKEN_WORD || tokenList.get(index).is(".")
+                || tokenList.get(index).is("<") || isAnnotationStart(index))) { // type, e.g. Sea.Land<Piari>
+            if (tokenList.get(index).is("<")) {
+                final int skipped = skipGeneric(index, endIndex);
+                index = skipped > index ? skipped : index + 1;
+            } else {
+                index = isAnnotationStart(index) ? skipAnnotation(index) : index + 1;
+            }
+        }
+        if (index < endIndex && tokenList.get(index).is("(")) { // anonymous class body, arguments
+            final int argumentClose = matchedIndexes[index];
+            final int argumentBegin = index + 1;
+            final int bodyOpen = argumentClose + 1 < endIndex && tokenList.get(argumentClose + 1).is("{") ? argumentClose + 1 : -1;
+            partList.add(() -> {
+                if (bodyOpen >= 0) {
+                    scanTypeBody(bodyOpen, null, null);
+                }
+                scanExpressionList(argumentBegin, argumentClose);
+            });
+            return bodyOpen >= 0 ? matchedIndexes[bodyOpen] + 1 : argumentClose + 1;
+        }
+        final List<int[]> levelList = DfCollectionUtil.newArrayList(); // array creation, initializer, levels
+        while (index < endIndex && tokenList.get(index).is("[")) {
+            levelList.add(new int[] { index + 1, matchedIndexes[index] });
+            index = matchedIndexes[index] + 1;
+        }
+        final int initializerOpen = index < endIndex && tokenList.get(index).is("{") ? index : -1;
+        partList.add(() -> {
+            if (initializerOpen >= 0) {
+                scanExpressionList(initializerOpen + 1, matchedIndexes[initializerOpen]);
+            }
+            levelList.forEach(level -> scanExpression(level[0], level[1]));
+        });
+        return initializerOpen >= 0 ? matchedIndexes[initializerOpen] + 1 : index;
+    }
+
+    protected int nextTopLevelIndex(int index, int endIndex) { // skipping brackets and generics
+        if (isGenericOpen(index, endIndex)) {
+            return findGenericEnd(index, endIndex) + 1;
+        }
+        return skipBracket(index) + 1;
+    }
+
+    protected boolean isGenericOpen(int index, int endIndex) { // e.g. List<String>, Collections.<String>emptyList()
+        if (tokenList.get(index).is("<") && index > 0 && (tokenList.get(index - 1).kind == TOKEN_WORD || tokenList.get(index - 1).is("."))) {
+            return findGenericEnd(index, endIndex) >= 0;
+        }
+        return false;
+    }
+
+    protected int skipGeneric(int index, int endIndex) { // returns the index after generic, or the index if not generic
+        if (index < endIndex && tokenList.get(index).is("<")) {
+            final int genericEnd = findGenericEnd(index, endIndex);
+            if (genericEnd >= 0) {
+                return genericEnd + 1;
+            }
+        }
+        return index;
+    }
+
+    protected List<Integer> findTopLevelIndexList(int beginIndex, int endIndex, String expected) {
+        final List<Integer> indexList = DfCollectionUtil.newArrayList();
+        for (int index = beginIndex; index < endIndex; index = nextTopLevelIndex(index, endIndex)) {
+            if (tokenList.get(index).is(expected)) {
+                indexList.add(index);
+            }
+        }
+        return indexList;
+    }
+
+    protected int findConditionalColon(int questionIndex, int endIndex) { // -1 if not found
+        int nestedCount = 0;
+        for (int index = questionIndex + 1; index < endIndex; index = nextTopLevelIndex(index, endIndex)) {
+            final Token token = tokenList.get(index);
+            if (token.is("?")) {
+                ++nestedCount;
+            } else if (token.is(":")) {
+                if (nestedCount == 0) {
+                    return index;
+                }
+                --nestedCount;
+            }
+        }
+        return -1;
+    }
+
+    protected boolean isAssignmentOperator(int index) {
+        final Token token = tokenList.get(index);
+        if (token.is("=")) { // '>' is single token so >= and >>= are split
+            int greaterCount = 0;
+            for (int previous = index - 1; previous >= 0 && !tokenList.get(previous + 1).spaced && tokenList.get(previous).is(">"); previous--) {
+                ++greaterCount;
+            }
+            return greaterCount != 1; // >= is comparison
+        }
+        return token.kind == TOKEN_OPERATOR && token.text.length() >= 2 && token.text.endsWith("=") && !token.is("==")
+                && !token.is("!=") && !token.is("<=");
+    }
+
+    protected boolean isCastOperandStart(Token token) {
+        return (token.kind == TOKEN_WORD && !token.is("instanceof")) || token.kind == TOKEN_LITERAL || token.is("(") || token.is("!")
+                || token.is("~");
+    }
+
+    protected boolean isTypeRange(int beginIndex, int endIndex) { // e.g. String, List<String>, int[]
+        for (int index = beginIndex; index < endIndex; index++) {
+            final Token token = tokenList.get(index);
+            if (token.kind != TOKEN_WORD && !GENERIC_PART_SET.contains(token.text) && !token.is("<") && !token.is(">")) {
+                return false;
+            }
+        }
+        return endIndex > beginIndex;
+    }
+
+    // ===================================================================================
+    //                                                                   Format Expression
+    //                                                                   =================
+    /**
+     * Format the expression tokens like javaparser's pretty printing, e.g. redirect(SeaAction.class, moreUrl(1))
+     * @param beginIndex The index of first token of the expression. (NotMinus)
+     * @param endIndex The index after last token of the expression. (NotMinus)
+     * @return The formatted expression. (NotNull)
+     */
+    protected String formatExpression(int beginIndex, int endIndex) {
+        final StringBuilder sb = new StringBuilder();
+        final Deque<Boolean> bracketStack = new ArrayDeque<>(); // true if statement block, e.g. lambda body
+        int genericEnd = -1; // index of '>' closing current generic
+        boolean typeArgument = false; // e.g. Collections.<String>emptyList()
+        Token previous = null;
+        String previousText = null;
+        boolean previousGeneric = false;
+        for (int index = beginIndex; index < endIndex; index++) {
+            final Token current = tokenList.get(index);
+            if (current.is("<") && index > genericEnd) {
+                genericEnd = findGenericEnd(index, endIndex);
+                typeArgument = genericEnd >= 0 && previous != null && previous.is(".");
+            }
+            final boolean currentGeneric = index <= genericEnd;
+            final StringBuilder textSb = new StringBuilder(current.text);
+            while (current.is(">") && !currentGeneric && index + 1 < endIndex && !tokenList.get(index + 1).spaced
+                    && (tokenList.get(index + 1).is(">") || tokenList.get(index + 1).is("=") || tokenList.get(index + 1).is(">="))) {
+                textSb.append(tokenList.get(++index).text); // e.g. >>, >>>=
+            }
+            final String currentText = textSb.toString();
+            final boolean inBlock = !bracketStack.isEmpty() && bracketStack.peek();
+            if (current.is("}") && !bracketStack.isEmpty() && bracketStack.pop()) { // end of block
+                trimRight(sb);
+                sb.append(EOL).append(indent(bracketStack));
+            } else if (previous != null && !endsWithLineSeparator(sb)) {
+                final boolean afterTypeArgument = typeArgument && previousGeneric && !currentGeneric;
+                if (!afterTypeArgument && needsSpace(previous, previousText, previousGeneric, current, currentText, currentGeneric)) {
+                    sb.append(' ');
+                }
+            }
+            sb.append(currentText);
+            if (current.is("(") || current.is("[")) {
+                bracketStack.push(false);
+            } else if (current.is(")") || current.is("]")) {
+                bracketStack.poll();
+            } else if (current.is("{")) { // e.g. sea -> {, new Sea() {, if (sea) {
+                final boolean block = previous != null && (previous.is("->") || previous.is(")") || previous.is("else")
+                        || previous.is("try") || previous.is("finally") || previous.is("do"));
+                bracketStack.push(block);
+                if (block) {
+                    sb.append(EOL).append(indent(bracketStack));
+                }
+            } else if (current.is(";") && inBlock) { // end of statement
+                sb.append(EOL).append(indent(bracketStack));
+            }
+            previous = current;
+            previousText = currentText;
+            previousGeneric = currentGeneric;
+        }
+        return sb.toString();
+    }
+
+    protected String indent(Deque<Boolean> bracketStack) { // javaparser prints block with 4 spaces
+        final StringBuilder sb = new StringBuilder();
+        bracketStack.stream().filter(block -> block).forEach(block -> sb.append("    "));
+        return sb.toString();
+    }
+
+    protected boolean endsWithLineSeparator(StringBuilder sb) {
+        int index = sb.length() - 1;
+        while (index >= 0 && sb.charAt(index) == ' ') {
+            --index;
+        }
+        return index >= 0 && (sb.charAt(index) == '\n' || sb.charAt(index) == '\r');
+    }
+
+    protected void trimRight(StringBuilder sb) { // removing indent before e.g. '}'
+        int length = sb.length();
+        while (length > 0 && Character.isWhitespace(sb.charAt(length - 1))) {
+            --length;
+        }
+        sb.setLength(length);
+    }
+
+    protected boolean needsSpace(Token previous, String previousText, boolean previousGeneric, Token current, String currentText,
+            boolean currentGeneric) {
+        if (previousGeneric || currentGeneric) { // e.g. List<String>, Collections.<String>emptyList()
+            if (previousGeneric && !currentGeneric && previousText.equals(">")) { // e.g. List<String> sea, Class<?> ? sea : land
+                return current.kind == TOKEN_WORD || (current.kind == TOKEN_OPERATOR && BINARY_OPERATOR_SET.contains(currentText));
+            }
+            return previousText.equals(",") || isGenericKeyword(previousText) || isGenericKeyword(currentText); // e.g. ? extends Sea
+        }
+        if (currentText.equals(",") || currentText.equals(";") || currentText.equals(")") || currentText.equals("]")
+                || currentText.equals(".") || currentText.equals("::") || previousText.equals(".") || previousText.equals("::")
+                || previousText.equals("(") || previousText.equals("[") || previousText.equals("@")) {
+            return false;
+        }
+        if (previousText.equals(",") || previousText.equals("{") || currentText.equals("{") || currentText.equals("}")) {
+            return !(previousText.equals("{") && currentText.equals("}")); // e.g. new String[] { sea }
+        }
+        if (isBinaryOperator(previous, previousText) || isBinaryOperator(current, currentText)) {
+            return true;
+        }
+        if (isPrefixOperator(previous)) { // e.g. !(sea || land)
+            return false;
+        }
+        if (currentText.equals("(") || currentText.equals("[")) { // e.g. sea(), land[0], new int[]
+            if (previous.is("if") || previous.is("for") || previous.is("while") || previous.is("switch") || previous.is("catch")
+                    || previous.is("synchronized")) {
+                return true;
+            }
+            if (previousText.equals(")")) { // e.g. (String) (sea), sea()[0]
+                return currentText.equals("(");
+            }
+            return !(previous.kind == TOKEN_WORD || previous.kind == TOKEN_LITERAL || previousText.equals("]") || previousText.equals(">"))
+                    || previous.is("return") || previous.is("instanceof");
+        }
+        if (previousText.equals(")")) { // e.g. (String) sea
+            return current.kind == TOKEN_WORD || current.kind == TOKEN_LITERAL;
+        }
+        return !currentText.equals("++") && !currentText.equals("--"); // e.g. new Sea, land++
+    }
+
+    protected boolean isGenericKeyword(String text) { // e.g. T extends Sea & Land
+        return text.equals("extends") || text.equals("super") || text.equals("&");
+    }
+
+    protected boolean isBinaryOperator(Token token, String text) {
+        if (token.kind != TOKEN_OPERATOR || !BINARY_OPERATOR_SET.contains(text)) {
+            return false;
+        }
+        return !isPrefixOperator(token); // e.g. -1
+    }
+
+    protected boolean isPrefixOperator(Token token) { // e.g. !sea, -1, ++land
+        final String text = token.text;
+        if (!(text.equals("!") || text.equals("~") || text.equals("+") || text.equals("-") || text.equals("++") || text.equals("--"))) {
+            return false;
+        }
+        if (text.equals("!") || text.equals("~")) {
+            return true;
+        }
+        final Token before = token.index > 0 ? tokenList.get(token.index - 1) : null;
+        if (before == null) {
+            return true;
+        }
+        if (before.kind == TOKEN_LITERAL || before.is(")") || before.is("]")) {
+            return false;
+        }
+        if (before.kind == TOKEN_WORD) {
+            return before.is("return") || before.is("case") || before.is("yield");
+        }
+        return !(before.is("++") || before.is("--")) || isPrefixOperator(before);
+    }
+
+    // ===================================================================================
+    //                                                                             Javadoc
+    //                                                                             =======
+    /**
+     * Find the javadoc of the declaration, attributed by the same rules as javaparser. <br>
+     * The last comment before the declaration is attributed if no empty line between them.
+     * @param beginIndex The index of first token of the declaration, e.g. annotation, modifier. (NotMinus)
+     * @return The adjusted javadoc text. (NullAllowed: no javadoc)
+     */
+    protected String findJavadoc(int beginIndex) {
+        final Token first = tokenList.get(beginIndex);
+        final int previousCommentIndex = beginIndex > 0 ? tokenList.get(beginIndex - 1).commentIndex : 0;
+        if (first.commentIndex <= previousCommentIndex) { // no comment between previous token and declaration
+            return null;
+        }
+        final Token comment = commentList.get(first.commentIndex - 1);
+        if (comment.kind != TOKEN_JAVADOC_COMMENT || first.beginLine > comment.endLine + 1 || !comment.text.endsWith("*/")) {
+            return null;
+        }
+        return commentAdjuster.apply(toJavadocText(comment.text.substring(3, comment.text.length() - 2)));
+    }
+
+    /**
+     * Convert the javadoc content to text in the same way as javaparser, e.g. cleaning asterisks, block tags.
+     * @param content The content of javadoc comment without '/&#42;&#42;' and '&#42;/'. (NotNull)
+     * @return The text of the javadoc. (NotNull)
+     */
+    protected String toJavadocText(String content) {
+        final List<String> cleanLineList = cleanJavadocLines(content.replaceAll("\r\n|\r|\n", EOL));
+        int firstBlockIndex = -1;
+        for (int index = 0; index < cleanLineList.size(); index++) {
+            if (cleanLineList.get(index).trim().startsWith("@")) {
+                firstBlockIndex = index;
+                break;
+            }
+        }
+        final String description;
+        final List<String> blockTagList = DfCollectionUtil.newArrayList();
+        if (firstBlockIndex < 0) {
+            description = trimRight(String.join(EOL, cleanLineList));
+        } else {
+            description = trimRight(String.join(EOL, cleanLineList.subList(0, firstBlockIndex)));
+            final String blockText = String.join(EOL, cleanLineList.subList(firstBlockIndex, cleanLineList.size()));
+            for (String block : BLOCK_TAG_PATTERN.split(blockText)) {
+                if (!block.isEmpty()) {
+                    blockTagList.add(toBlockTagText(block));
+                }
+            }
+        }
+        final StringBuilder sb = new StringBuilder();
+        if (!description.isEmpty()) {
+            sb.append(description).append(EOL);
+        }
+        if (!blockTagList.isEmpty()) {
+            sb.append(EOL);
+        }
+        blockTagList.forEach(blockTag -> sb.append(blockTag).append(EOL));
+        return sb.toString();
+    }
+
+    protected List<String> cleanJavadocLines(String content) {
+        final String[] lines = content.split(EOL);
+        if (lines.length == 0) {
+            return Collections.emptyList();
+        }
+        List<String> cleanLineList = DfCollectionUtil.newArrayList();
+        for (String line : lines) {
+            final int asteriskIndex = findLeadingAsterisk(line);
+            String cleanLine = line;
+            if (asteriskIndex >= 0) {
+                final boolean spaceAfter = line.length() > asteriskIndex + 1
+                        && (line.charAt(asteriskIndex + 1) == ' ' || line.charAt(asteriskIndex + 1) == '\t');
+                cleanLine = line.substring(asteriskIndex + (spaceAfter ? 2 : 1));
+            }
+            cleanLineList.add(cleanLine.trim().isEmpty() ? "" : cleanLine);
+        }
+        final String firstLine = cleanLineList.get(0);
+        if (!firstLine.isEmpty() && (firstLine.charAt(0) == ' ' || firstLine.charAt(0) == '\t')) {
+            cleanLineList.set(0, firstLine.substring(1));
+        }
+        while (!cleanLineList.isEmpty() && cleanLineList.get(0).trim().isEmpty()) {
+            cleanLineList = cleanLineList.subList(1, cleanLineList.size());
+        }
+        while (!cleanLineList.isEmpty() && cleanLineList.get(cleanLineList.size() - 1).trim().isEmpty()) {
+            cleanLineList = cleanLineList.subList(0, cleanLineList.size() - 1);
+        }
+        return cleanLineList;
+    }
+
+    protected int findLeadingAsterisk(String line) { // -1 if not found, only spaces or tabs before asterisk
+        for (int index = 0; index < line.length(); index++) {
+            final char ch = line.charAt(index);
+            if (ch == '*') {
+                return index;
+            } else if (!((ch == ' ' || ch == '\t') && index + 1 < line.length())) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    protected String toBlockTagText(String block) { // e.g. @param sea The sea of land. (NotNull)
+        final String line = ("@" + block).trim().substring(1);
+        final String tagName = nextWord(line);
+        String content = line.substring(tagName.length()).trim();
+        final StringBuilder sb = new StringBuilder();
+        sb.append("@").append(tagName);
+        if (tagName.equals("param")) { // only param has name in javaparser
+            final String name = nextWord(content);
+            sb.append(" ").append(name);
+            content = content.substring(name.length()).trim();
+        }
+        if (!content.isEmpty()) {
+            sb.append(" ").append(content);
+        }
+        return sb.toString();
+    }
+
+    protected String nextWord(String text) {
+        int index = 0;
+        while (index < text.length() && !Character.isWhitespace(text.charAt(index))) {
+            ++index;
+        }
+        return text.substring(0, index);
+    }
+
+    protected String trimRight(String text) {
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            --end;
+        }
+        return text.substring(0, end);
+    }
+
+    /**
+     * Detach the javadoc of members ending at line of trailing line comment, same as javaparser. <br>
+     * javaparser attributes the line comment to the member starting and ending at the line instead of javadoc.
+     * @param memberList The list of scanned members in the same body, the last is the current member. (NotNull)
+     * @param member The current member. (NotNull)
+     */
+    protected void detachTrailingLineComment(List<MemberRange> memberList, MemberRange member) {
+        final Token last = tokenList.get(member.endIndex);
+        final int commentEnd = member.endIndex + 1 < tokenList.size() ? tokenList.get(member.endIndex + 1).commentIndex : commentList.size();
+        for (int commentIndex = last.commentIndex; commentIndex < commentEnd; commentIndex++) {
+            final Token comment = commentList.get(commentIndex);
+            if (comment.kind == TOKEN_LINE_COMMENT && comment.beginLine == last.endLine) {
+                memberList.stream().filter(scanned -> {
+                    return scanned.commentDetacher != null && tokenList.get(scanned.beginIndex).beginLine == comment.beginLine
+                            && tokenList.get(scanned.endIndex).endLine == comment.beginLine;
+                }).forEach(scanned -> scanned.commentDetacher.run());
+                return;
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    protected int nextOrder() {
+        return order++;
+    }
+
+    protected List<String> prepareEnclosingMethodNameList() {
+        if (enclosingMethodStack.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<String> nameList = DfCollectionUtil.newArrayList();
+        enclosingMethodStack.forEach(method -> nameList.add(method.name));
+        return nameList;
+    }
+
+    protected Integer deriveLineCount(int beginIndex, int endIndex) {
+        return tokenList.get(endIndex).endLine - tokenList.get(beginIndex).beginLine;
+    }
+
+    // ===================================================================================
+    //                                                                        Helper Class
+    //                                                                        ============
+    protected static class Token {
+
+        protected final int kind;
+        protected final String text;
+        protected final int beginLine;
+        protected final int endLine;
+        protected final boolean spaced; // whitespace or comment before the token
+        protected int index; // in code tokens or comments
+        protected int commentIndex; // count of comments before the code token
+
+        public Token(int kind, String text, int beginLine, int endLine, boolean spaced) {
+            this.kind = kind;
+            this.text = text;
+            this.beginLine = beginLine;
+            this.endLine = endLine;
+            this.spaced = spaced;
+        }
+
+        public boolean is(String expected) {
+            return text.equals(expected);
+        }
+
+        public boolean isStatementStart() { // after switch statement
+            return kind != TOKEN_OPERATOR || is("{") || is("}") || is(";") || is("(") || is("@") || is("++") || is("--");
+        }
+
+        public boolean isComment() {
+            return kind == TOKEN_LINE_COMMENT || kind == TOKEN_BLOCK_COMMENT || kind == TOKEN_JAVADOC_COMMENT;
+        }
+
+        @Override
+        public String toString() {
+            return text + "(" + beginLine + ")";
+        }
+    }
+
+    protected static class MemberRange {
+
+        protected final int beginIndex; // first token e.g. annotation
+        protected final int endIndex; // last token e.g. '}', ';'
+        protected final Runnable commentDetacher; // null if not declaration entry
+
+        public MemberRange(int beginIndex, int endIndex, Runnable commentDetacher) {
+            this.beginIndex = beginIndex;
+            this.endIndex = endIndex;
+            this.commentDetacher = commentDetacher;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.meta.JavadocTagModel;
+
+/**
+ * The index of declarations in one source file, built once per parsed file. <br>
+ * The declarations (class, field, method) are recorded in the same order as visiting the compilation unit,
+ * so reflecting by the index (map lookups) can replay the visiting and keep the last-wins rule of it. <br>
+ * The index itself does not depend on parser, entries are registered by e.g. javaparser visitor or lexical scanner.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class SourceDeclarationIndex {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The list of method names in definition (visiting) order, also nested classes' methods. (NotNull) */
+    protected final List<String> methodNameList = DfCollectionUtil.newArrayList();
+
+    /** The map of class declarations, key is simple name of class. (NotNull) */
+    protected final Map<String, List<TypeDeclarationEntry>> typeEntryMap = DfCollectionUtil.newHashMap();
+
+    /** The list of all class declarations in visiting order. (NotNull) */
+    protected final List<TypeDeclarationEntry> typeEntryList = DfCollectionUtil.newArrayList();
+
+    /** The map of field declarations, key is variable name. (NotNull) */
+    protected final Map<String, List<FieldDeclarationEntry>> fieldEntryMap = DfCollectionUtil.newHashMap();
+
+    /** The map of method declarations, key is method name. (NotNull) */
+    protected final Map<String, List<MethodDeclarationEntry>> methodEntryMap = DfCollectionUtil.newHashMap();
+
+    /** The map of method ordinals (first definition), key is e.g. SeaAction#index, lazy-loaded. (NullAllowed: until first use) */
+    protected volatile Map<String, Integer> methodOrdinalMap; // also for restored index (not registered)
+
+    /** The map of field ordinals, key is e.g. SeaForm.HangarPart#memberName, lazy-loaded. (NullAllowed: until first use) */
+    protected volatile Map<String, Integer> fieldOrdinalMap;
+
+    // ===================================================================================
+    //                                                                            Register
+    //                                                                            ========
+    // registered in visiting order (pre-order) by index builder
+    protected void registerTypeEntry(TypeDeclarationEntry entry) {
+        typeEntryList.add(entry);
+        typeEntryMap.computeIfAbsent(entry.name, key -> DfCollectionUtil.newArrayList()).add(entry);
+    }
+
+    protected void registerFieldEntry(FieldDeclarationEntry entry, List<String> variableNameList) {
+        variableNameList.forEach(variableName -> { // e.g. public String sea, land;
+            fieldEntryMap.computeIfAbsent(variableName, key -> DfCollectionUtil.newArrayList()).add(entry);
+        });
+    }
+
+    protected void registerMethodEntry(MethodDeclarationEntry entry) {
+        methodNameList.add(entry.name);
+        methodEntryMap.computeIfAbsent(entry.name, key -> DfCollectionUtil.newArrayList()).add(entry);
+    }
+
+    // ===================================================================================
+    //                                                                              Lookup
+    //                                                                              ======
+    /**
+     * @return The list of all class declarations in visiting order. (NotNull, EmptyAllowed)
+     */
+    public List<TypeDeclarationEntry> findTypeEntryList() {
+        return Collections.unmodifiableList(typeEntryList);
+    }
+
+    /**
+     * @param simpleName The simple name of class, e.g. SeaResult, HangarPart. (NotNull)
+     * @return The list of class declarations in visiting order. (NotNull, EmptyAllowed)
+     */
+    public List<TypeDeclarationEntry> findTypeEntryList(String simpleName) {
+        return typeEntryMap.getOrDefault(simpleName, Collections.emptyList());
+    }
+
+    /**
+     * @param variableName The name of field variable, e.g. memberName. (NotNull)
+     * @return The list of field declarations in visiting order. (NotNull, EmptyAllowed)
+     */
+    public List<FieldDeclarationEntry> findFieldEntryList(String variableName) {
+        return fieldEntryMap.getOrDefault(variableName, Collections.emptyList());
+    }
+
+    /**
+     * @param methodName The name of method, e.g. index. (NotNull)
+     * @return The list of method declarations in visiting order, e.g. overloads. (NotNull, EmptyAllowed)
+     */
+    public List<MethodDeclarationEntry> findMethodEntryList(String methodName) {
+        return methodEntryMap.getOrDefault(methodName, Collections.emptyList());
+    }
+
+    /**
+     * Find the declarations of class and field for the property in visiting order.
+     * @param simpleTypeName The simple name of property type, e.g. HangarPart. (NullAllowed: then no class)
+     * @param propertyName The name of property (field variable). (NullAllowed: then no field)
+     * @return The list of class and field declarations, sorted by visiting order. (NotNull, EmptyAllowed)
+     */
+    public List<DeclarationEntry> findPropertyEntryList(String simpleTypeName, String propertyName) {
+        final List<TypeDeclarationEntry> typeList = simpleTypeName != null ? findTypeEntryList(simpleTypeName) : Collections.emptyList();
+        final List<FieldDeclarationEntry> fieldList = propertyName != null ? findFieldEntryList(propertyName) : Collections.emptyList();
+        if (typeList.isEmpty() && fieldList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Stream.concat(typeList.stream(), fieldList.stream()).sorted((e1, e2) -> {
+            return Integer.compare(e1.order, e2.order);
+        }).collect(Collectors.toList());
+    }
+
+    // -----------------------------------------------------
+    //                                               Ordinal
+    //                                               -------
+    // the ordinals are keyed by nesting path of declaring type, so same-name nested types are distinguished
+    // e.g. SeaForm.HangarPart and LandForm.HangarPart in one file
+    /**
+     * @param typePath The nesting path of class declaring the method, e.g. SeaAction, SeaForm.HangarPart. (NotNull)
+     * @param methodName The name of method, e.g. index. (NotNull)
+     * @return The ordinal of first definition in the class, for sorting by definition. (-1 if not found)
+     */
+    public int findMethodOrdinal(String typePath, String methodName) {
+        Map<String, Integer> ordinalMap = methodOrdinalMap;
+        if (ordinalMap == null) { // no problem if built twice by threads
+            final Map<String, Integer> builtMap = DfCollectionUtil.newHashMap();
+            methodEntryMap.forEach((name, entryList) -> entryList.forEach(entry -> {
+                builtMap.merge(entry.parentTypePath + "#" + name, entry.order, Math::min); // first definition
+            }));
+            ordinalMap = builtMap;
+            methodOrdinalMap = ordinalMap;
+        }
+        return ordinalMap.getOrDefault(typePath + "#" + methodName, -1);
+    }
+
+    /**
+     * @param typePath The nesting path of class declaring the field, e.g. SeaForm, SeaForm.HangarPart. (NotNull)
+     * @param variableName The name of field variable, e.g. memberName. (NotNull)
+     * @return The ordinal (visiting order) of the field in the file, for sorting by definition. (-1 if not found)
+     */
+    public int findFieldOrdinal(String typePath, String variableName) {
+        Map<String, Integer> ordinalMap = fieldOrdinalMap;
+        if (ordinalMap == null) { // no problem if built twice by threads
+            final Map<String, Integer> builtMap = DfCollectionUtil.newHashMap();
+            fieldEntryMap.forEach((fieldName, entryList) -> entryList.forEach(entry -> {
+                builtMap.merge(entry.parentTypePath + "#" + fieldName, entry.order, Math::min); // first definition
+            }));
+            ordinalMap = builtMap;
+            fieldOrdinalMap = ordinalMap;
+        }
+        return ordinalMap.getOrDefault(typePath + "#" + variableName, -1);
+    }
+
+    public List<String> getMethodNameList() {
+        return Collections.unmodifiableList(methodNameList);
+    }
+
+    // ===================================================================================
+    //                                                                   Declaration Entry
+    //                                                                   =================
+    public static abstract class DeclarationEntry {
+
+        protected final int order; // visiting order in the file
+        protected final List<String> enclosingMethodNameList; // e.g. local class in method, empty if top or member
+
+        public DeclarationEntry(int order, List<String> enclosingMethodNameList) {
+            this.order = order;
+            this.enclosingMethodNameList = enclosingMethodNameList;
+        }
+
+        /**
+         * Is the declaration visited when only the method is visited in the file? (other methods are not visited)
+         * @param methodName The name of visited method. (NotNull)
+         * @return The determination, true if e.g. top or member declaration, local declaration in the method.
+         */
+        public boolean isVisitedWithMethod(String methodName) {
+            return enclosingMethodNameList.stream().allMatch(enclosingName -> enclosingName.equals(methodName));
+        }
+
+        public int getOrder() {
+            return order;
+        }
+    }
+
+    public static class TypeDeclarationEntry extends DeclarationEntry {
+
+        protected String name;
+        protected Integer lineCount; // null if unknown
+        protected String comment; // null if no comment
+
+        public TypeDeclarationEntry(int order, List<String> enclosingMethodNameList) {
+            super(order, enclosingMethodNameList);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Integer getLineCount() {
+            return lineCount;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+    }
+
+    public static class FieldDeclarationEntry extends DeclarationEntry {
+
+        protected String parentTypeName; // null if e.g. anonymous class
+        protected String parentTypePath; // e.g. SeaForm.HangarPart, null if e.g. anonymous class
+        protected String comment; // null if no comment
+
+        public FieldDeclarationEntry(int order, List<String> enclosingMethodNameList) {
+            super(order, enclosingMethodNameList);
+        }
+
+        public String getParentTypeName() {
+            return parentTypeName;
+        }
+
+        public String getParentTypePath() {
+            return parentTypePath;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+    }
+
+    public static class MethodDeclarationEntry extends DeclarationEntry {
+
+        protected String name;
+        protected String parentTypePath; // e.g. SeaAction, null if e.g. anonymous class
+        protected Integer lineCount; // null if unknown
+        protected String comment; // null if no comment
+        protected List<String> parameterNameList;
+        protected List<String> returnExpList; // expressions of return statements in the method
+        protected transient JavadocTagModel commentTagModel; // lazy-loaded, not stored
+
+        public MethodDeclarationEntry(int order, List<String> enclosingMethodNameList) {
+            super(order, enclosingMethodNameList);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getParentTypePath() {
+            return parentTypePath;
+        }
+
+        public Integer getLineCount() {
+            return lineCount;
+        }
+
+        public String getComment() {
+            return comment;
+        }
+
+        public JavadocTagModel getCommentTagModel() { // for e.g. @param comments
+            if (commentTagModel == null) {
+                commentTagModel = JavadocTagModel.parse(comment);
+            }
+            return commentTagModel;
+        }
+
+        public List<String> getParameterNameList() {
+            return parameterNameList;
+        }
+
+        public List<String> getReturnExpList() {
+            return returnExpList;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.generator.LaDocJsonEngine;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.FieldDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.MethodDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.TypeDeclarationEntry;
+import org.lastaflute.doc.util.LaDocFileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The persistent store of source declaration index, reused across JVMs (e.g. test runs in CI build). <br>
+ * Entries are keyed by source file path, and fresh only when the size and last modified are same,
+ * so only changed sources are parsed again and others are restored from the store file.
+ * <pre>
+ * e.g. target/lastadoc/cache/source-declaration-index.json
+ * {
+ *   "formatVersion": "1",
+ *   "entryMap": {
+ *     "/.../src/main/java/org/docksidestage/app/web/sea/SeaAction.java": {
+ *       "parserType": "org.lastaflute.doc.reflector.JavaparserSourceParserReflector",
+ *       "fileSize": 1234,
+ *       "fileLastModified": 1792191600000,
+ *       "index": { ...(comments, line counts, return expressions) }
+ *     }
+ *   }
+ * }
+ * </pre>
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class SourceDeclarationIndexStore {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(SourceDeclarationIndexStore.class);
+
+    /** The version of store file format, old format file is ignored. */
+    protected static final String FORMAT_VERSION = "2"; // 2: with parent type path
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The path of store file. (NotNull) */
+    protected final Path storeFile;
+
+    /** The JSON engine for store file, streaming for large store. (NotNull) */
+    protected final LaDocJsonEngine jsonEngine;
+
+    /** The map of entries, loaded from store file and registered in current process, key is source file path. (NotNull) */
+    protected final Map<String, StoreEntry> entryMap = new ConcurrentHashMap<String, StoreEntry>();
+
+    /** Is it changed after loading or saving? (saved only when changed) */
+    protected volatile boolean changed;
+
+    protected final AtomicInteger restoredCount = new AtomicInteger();
+    protected final AtomicInteger registeredCount = new AtomicInteger();
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public SourceDeclarationIndexStore(Path storeFile, LaDocJsonEngine jsonEngine) {
+        this.storeFile = storeFile;
+        this.jsonEngine = jsonEngine;
+    }
+
+    // ===================================================================================
+    //                                                                           Load/Save
+    //                                                                           =========
+    public void load() {
+        entryMap.clear();
+        changed = false;
+        if (!Files.exists(storeFile)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(storeFile, StandardCharsets.UTF_8)) {
+            final StoreFile loaded = jsonEngine.fromJson(reader, StoreFile.class);
+            if (loaded != null && FORMAT_VERSION.equals(loaded.formatVersion) && loaded.entryMap != null) {
+                entryMap.putAll(loaded.entryMap);
+            }
+        } catch (IOException | RuntimeException e) { // broken store is ignored, parsed again
+            _log.debug("...Ignoring the broken source declaration index store: {}, {}", storeFile, e.getMessage());
+        }
+    }
+
+    /**
+     * Save the entries to the store file if changed, entries of deleted sources are removed here.
+     */
+    public synchronized void save() {
+        if (!changed) { // e.g. no source is changed
+            return;
+        }
+        changed = false;
+        entryMap.keySet().removeIf(sourcePath -> !Files.exists(Paths.get(sourcePath)));
+        final StoreFile saved = new StoreFile();
+        saved.formatVersion = FORMAT_VERSION;
+        saved.entryMap = DfCollectionUtil.newLinkedHashMap();
+        entryMap.keySet().stream().sorted().forEach(key -> { // sorted for deterministic file
+            saved.entryMap.put(key, entryMap.get(key));
+        });
+        LaDocFileUtil.writeAtomically(storeFile, writer -> jsonEngine.toJson(saved, writer));
+        _log.debug("...Saving source declaration index store: restored={}, registered={}, file={}", restoredCount.get(),
+                registeredCount.get(), storeFile);
+    }
+
+    // ===================================================================================
+    //                                                                    Restore/Register
+    //                                                                    ================
+    /**
+     * Restore the declaration index of the source file if fresh in the store.
+     * @param parserType The type of parser building the index, e.g. class name of reflector. (NotNull)
+     * @param sourceFile The path of source file, also the key of entry. (NotNull)
+     * @param fileLastModified The last modified of current source file.
+     * @param fileSize The size of current source file.
+     * @return The optional restored index. (NotNull, EmptyAllowed: not stored or changed)
+     */
+    public OptionalThing<SourceDeclarationIndex> restore(String parserType, Path sourceFile, long fileLastModified, long fileSize) {
+        final StoreEntry entry = entryMap.get(sourceFile.toString());
+        SourceDeclarationIndex restored = null;
+        if (entry != null && parserType.equals(entry.parserType) && entry.fileLastModified == fileLastModified
+                && entry.fileSize == fileSize && entry.index != null) {
+            restored = entry.index.toDeclarationIndex();
+            restoredCount.incrementAndGet();
+        }
+        return OptionalThing.ofNullable(restored, () -> {
+            throw new IllegalStateException("Not found the stored index: " + sourceFile);
+        });
+    }
+
+    public void register(String parserType, Path sourceFile, long fileLastModified, long fileSize, SourceDeclarationIndex index) {
+        final StoreEntry entry = new StoreEntry();
+        entry.parserType = parserType;
+        entry.fileLastModified = fileLastModified;
+        entry.fileSize = fileSize;
+        entry.index = StoredIndex.of(index);
+        entryMap.put(sourceFile.toString(), entry);
+        registeredCount.incrementAndGet();
+        changed = true;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public Path getStoreFile() {
+        return storeFile;
+    }
+
+    public int getRestoredCount() {
+        return restoredCount.get();
+    }
+
+    public int getRegisteredCount() {
+        return registeredCount.get();
+    }
+
+    // ===================================================================================
+    //                                                                          Store Bean
+    //                                                                          ==========
+    public static class StoreFile { // for JSON
+
+        protected String formatVersion;
+        protected Map<String, StoreEntry> entryMap;
+    }
+
+    public static class StoreEntry { // for JSON
+
+        protected String parserType;
+        protected long fileLastModified;
+        protected long fileSize;
+        protected StoredIndex index;
+    }
+
+    public static class StoredIndex { // for JSON, type map is made from list when restoring
+
+        protected List<String> methodNameList;
+        protected List<TypeDeclarationEntry> typeEntryList;
+        protected Map<String, List<FieldDeclarationEntry>> fieldEntryMap;
+        protected Map<String, List<MethodDeclarationEntry>> methodEntryMap;
+
+        public static StoredIndex of(SourceDeclarationIndex index) {
+            final StoredIndex stored = new StoredIndex();
+            stored.methodNameList = index.methodNameList;
+            stored.typeEntryList = index.typeEntryList;
+            stored.fieldEntryMap = index.fieldEntryMap;
+            stored.methodEntryMap = index.methodEntryMap;
+            return stored;
+        }
+
+        public SourceDeclarationIndex toDeclarationIndex() {
+            final SourceDeclarationIndex index = new SourceDeclarationIndex();
+            if (typeEntryList != null) {
+                typeEntryList.forEach(entry -> index.registerTypeEntry(entry));
+            }
+            if (fieldEntryMap != null) {
+                index.fieldEntryMap.putAll(fieldEntryMap);
+            }
+            if (methodNameList != null) {
+                index.methodNameList.addAll(methodNameList);
+            }
+            if (methodEntryMap != null) {
+                index.methodEntryMap.putAll(methodEntryMap);
+            }
+            return index;
+        }
+    }
+}
@@ -15,7 +15,9 @@
  */
 package org.lastaflute.doc.reflector;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 
 import org.lastaflute.doc.meta.ActionDocMeta;
@@ -33,9 +35,49 @@ public interface SourceParserReflector {
     //                                                                             =======
     List<Method> getMethodListOrderByDefinition(Class<?> clazz);
 
+    /**
+     * Get the declared fields of the class in definition order of source, stable across JVMs.
+     * @param clazz The class declaring the fields, e.g. form, result, part class. (NotNull)
+     * @return The list of declared fields. (NotNull, EmptyAllowed)
+     */
+    default List<Field> getFieldListOrderByDefinition(Class<?> clazz) { // reflection order as default
+        return Arrays.asList(clazz.getDeclaredFields());
+    }
+
+    // no batch for execute methods: action meta is built from only its execute (for meta cache and parallel building)
+    // and one reflecting is already one cached index lookup of the action class and map lookups by method name
     void reflect(ActionDocMeta actionDocMeta, Method method);
 
     void reflect(JobDocMeta jobDocMeta, Class<?> clazz);
 
     void reflect(TypeDocMeta typeDocMeta, Class<?> clazz);
+
+    /**
+     * Reflect the source to all property metas of the class at once, e.g. one lookup of source per class.
+     * @param typeDocMetaList The list of property metas, e.g. fields of form. (NotNull, EmptyAllowed)
+     * @param clazz The class declaring the properties, e.g. form, result, part class. (NotNull)
+     */
+    default void reflect(List<TypeDocMeta> typeDocMetaList, Class<?> clazz) { // one by one as default
+        typeDocMetaList.forEach(typeDocMeta -> reflect(typeDocMeta, clazz));
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    /**
+     * Prepare (e.g. parse) all sources before reflecting, to use multiple cores for large application.
+     * @param parallelism The count of worker threads for preparing. (positive)
+     */
+    default void warmUp(int parallelism) { // no preparation as default
+    }
+
+    // ===================================================================================
+    //                                                                         Index Store
+    //                                                                         ===========
+    /**
+     * Use the persistent store of declaration index, restoring unchanged sources without parsing.
+     * @param indexStore The loaded store of declaration index, saved by caller. (NotNull)
+     */
+    default void useDeclarationIndexStore(SourceDeclarationIndexStore indexStore) { // no store as default
+    }
 }
@@ -39,10 +39,44 @@ public class SourceParserReflectorFactory {
     private static final String JAVA_PARSER_CLASS_NAME = "com.github.javaparser.JavaParser";
     private static final float JAVA_PARSER_VERSION = 3.14f;
 
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** Does it use the lexical scanner instead of java parser? */
+    protected boolean lexicalScannerUsed; // for e.g. large application (parsing whole sources is heavy)
+    protected boolean summaryOnlyRetained; // for e.g. dev server (retaining whole AST is heavy)
+
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    /**
+     * Use the lexical scanner (only for javadoc and declarations) instead of java parser. <br>
+     * It does not need javaparser-core in classpath, and faster than java parser.
+     * @return this. (NotNull)
+     */
+    public SourceParserReflectorFactory useLexicalScanner() {
+        lexicalScannerUsed = true;
+        return this;
+    }
+
+    /**
+     * Retain only the summary of sources in java parser, discarding the AST after reflecting. <br>
+     * (the lexical scanner always retains only the summary)
+     * @return this. (NotNull)
+     */
+    public SourceParserReflectorFactory retainSummaryOnly() {
+        summaryOnlyRetained = true;
+        return this;
+    }
+
     // ===================================================================================
     //                                                                           Reflector
     //                                                                           =========
     public OptionalThing<SourceParserReflector> reflector(List<String> srcDirList) { // empty allowed if not found
+        if (lexicalScannerUsed) {
+            _log.debug("...Loading lexical scanner for document");
+            return OptionalThing.of(createLexicalSourceParserReflector(srcDirList));
+        }
         final String className = JAVA_PARSER_CLASS_NAME;
         SourceParserReflector reflector = null;
         try {
@@ -94,6 +128,14 @@ public class SourceParserReflectorFactory {
     }
 
     protected JavaparserSourceParserReflector createJavaparserSourceParserReflector(List<String> srcDirList) {
-        return new JavaparserSourceParserReflector(srcDirList);
+        final JavaparserSourceParserReflector reflector = new JavaparserSourceParserReflector(srcDirList);
+        if (summaryOnlyRetained) {
+            reflector.retainSummaryOnly();
+        }
+        return reflector;
+    }
+
+    protected LexicalSourceParserReflector createLexicalSourceParserReflector(List<String> srcDirList) {
+        return new LexicalSourceParserReflector(srcDirList);
     }
 }
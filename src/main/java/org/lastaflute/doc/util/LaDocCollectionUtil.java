@@ -0,0 +1,77 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LaDocCollectionUtil {
+
+    /**
+     * Copy the map (e.g. swagger map) as deeply immutable, nested maps and lists are also copied.
+     * @param map The map to be copied, also nested values are not changed. (NotNull)
+     * @return The new-created immutable map keeping the order. (NotNull)
+     */
+    public static Map<String, Object> toImmutableMap(Map<String, Object> map) {
+        final Map<String, Object> immutableMap = DfCollectionUtil.newLinkedHashMap();
+        map.forEach((key, value) -> immutableMap.put(key, toImmutable(value)));
+        return Collections.unmodifiableMap(immutableMap);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Object toImmutable(Object value) {
+        if (value instanceof Map<?, ?>) {
+            return toImmutableMap((Map<String, Object>) value);
+        } else if (value instanceof List<?>) {
+            final List<Object> immutableList = ((List<Object>) value).stream().map(element -> {
+                return toImmutable(element);
+            }).collect(Collectors.toList());
+            return Collections.unmodifiableList(immutableList);
+        }
+        return value; // e.g. String, Number, Boolean
+    }
+
+    /**
+     * Copy the map (e.g. shared swagger map) as deeply mutable, nested maps and lists are also copied.
+     * @param map The map to be copied, e.g. immutable snapshot. (NotNull)
+     * @return The new-created mutable map keeping the order, independent from the source. (NotNull)
+     */
+    public static Map<String, Object> toMutableMap(Map<String, Object> map) {
+        final Map<String, Object> mutableMap = DfCollectionUtil.newLinkedHashMap();
+        map.forEach((key, value) -> mutableMap.put(key, toMutable(value)));
+        return mutableMap;
+    }
+
+    @SuppressWarnings("unchecked")
+    protected static Object toMutable(Object value) {
+        if (value instanceof Map<?, ?>) {
+            return toMutableMap((Map<String, Object>) value);
+        } else if (value instanceof List<?>) {
+            final List<Object> mutableList = DfCollectionUtil.newArrayList();
+            ((List<Object>) value).forEach(element -> mutableList.add(toMutable(element)));
+            return mutableList;
+        }
+        return value; // e.g. String, Number, Boolean
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LaDocConcurrentUtil {
+
+    public static int getDefaultParallelism() {
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Map the elements on bounded fork-join pool, the result list keeps the order of the elements.
+     * @param elementList The list of elements to be mapped. (NotNull)
+     * @param mapper The callback of mapping for each element, called in worker thread. (NotNull)
+     * @return The list of mapped results in the same order as the elements. (NotNull)
+     */
+    public static <ELEMENT, RESULT> List<RESULT> mapInParallel(List<ELEMENT> elementList, Function<ELEMENT, RESULT> mapper) {
+        return mapInParallel(elementList, getDefaultParallelism(), mapper);
+    }
+
+    public static <ELEMENT, RESULT> List<RESULT> mapInParallel(List<ELEMENT> elementList, int parallelism,
+            Function<ELEMENT, RESULT> mapper) {
+        if (elementList.isEmpty()) {
+            return DfCollectionUtil.newArrayList();
+        }
+        // worker threads of fork-join pool do not inherit context class loader of caller
+        // but e.g. DfReflectionUtil.forName() uses it (may be hot-deploy class loader)
+        final ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+        final List<Callable<RESULT>> taskList = elementList.stream().map(element -> {
+            return (Callable<RESULT>) () -> {
+                final Thread currentThread = Thread.currentThread();
+                final ClassLoader originalLoader = currentThread.getContextClassLoader();
+                currentThread.setContextClassLoader(callerLoader);
+                try {
+                    return mapper.apply(element);
+                } finally {
+                    currentThread.setContextClassLoader(originalLoader);
+                }
+            };
+        }).collect(Collectors.toList());
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(parallelism, elementList.size())));
+        try {
+            final List<RESULT> resultList = DfCollectionUtil.newArrayList();
+            for (Future<RESULT> future : pool.invokeAll(taskList)) { // invokeAll() keeps order of tasks
+                resultList.add(future.get());
+            }
+            return resultList;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted the parallel mapping: elements=" + elementList.size(), e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to map the element in parallel.", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.UUID;
+
+/**
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LaDocFileUtil {
+
+    /**
+     * Write the file atomically by the writer callback, written to temporary file and moved to the path. <br>
+     * Readers of the file (e.g. swagger-ui, watch mode) never see half-written file. <br>
+     * The permissions of existing file are kept, and new file has default permissions like normal writing.
+     * @param path The path of written file, parent directories are created if needed. (NotNull)
+     * @param writerCallback The callback of writing to UTF-8 writer (buffered). (NotNull)
+     */
+    public static void writeAtomically(Path path, LaDocWriterCallback writerCallback) {
+        final Path parentPath = path.toAbsolutePath().getParent();
+        if (!Files.exists(parentPath)) {
+            try {
+                Files.createDirectories(parentPath);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to create directory: " + parentPath, e);
+            }
+        }
+        Path tempPath = null;
+        try {
+            // not createTempFile() which makes owner-only file (rw-------) on POSIX
+            tempPath = parentPath.resolve(path.getFileName() + "." + UUID.randomUUID() + ".tmp"); // same file system
+            Files.createFile(tempPath); // default permissions (umask)
+            try (BufferedWriter bw = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                writerCallback.write(bw);
+            }
+            copyPermissionsIfExists(path, tempPath);
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) { // e.g. some network file system
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write the file: " + path, e);
+        } finally {
+            if (tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath); // basically already moved
+                } catch (IOException ignored) {}
+            }
+        }
+    }
+
+    protected static void copyPermissionsIfExists(Path existingPath, Path tempPath) throws IOException {
+        if (Files.exists(existingPath) && Files.getFileStore(tempPath).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(tempPath, Files.getPosixFilePermissions(existingPath));
+        } // e.g. Windows, moved file inherits ACL of the directory
+    }
+
+    @FunctionalInterface
+    public static interface LaDocWriterCallback {
+
+        void write(Writer writer) throws IOException;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * The parsed type name (raw type and generic arguments), memoized per class and per type name in given map. <br>
+ * It makes e.g. simple name and definition name once without regular expressions in every call.
+ * Type names (e.g. of parameterized type) are memoized by caller's map, e.g. per generation run, not statically.
+ * <pre>
+ * e.g. java.util.List&lt;org.docksidestage.app.web.sea.SeaBean&gt;
+ *  raw type name   : java.util.List
+ *  argument list   : [org.docksidestage.app.web.sea.SeaBean]
+ *  simple name     : List&lt;SeaBean&gt;
+ *  definition name : org.docksidestage.app.web.sea.SeaBean
+ * </pre>
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LaDocTypeName {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    /** The parsed type name per class, released with class loader, e.g. hot deploy. (NotNull) */
+    protected static final ClassValue<LaDocTypeName> CLASS_TYPE_NAME = new ClassValue<LaDocTypeName>() {
+        @Override
+        protected LaDocTypeName computeValue(Class<?> type) {
+            return of(type.getTypeName());
+        }
+    };
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The whole type name, e.g. java.util.List&lt;java.lang.String&gt;. (NotNull) */
+    protected final String typeName;
+
+    /** The type name before generic arguments, e.g. java.util.List. (NotNull) */
+    protected final String rawTypeName;
+
+    /** The list of top-level generic arguments, e.g. [java.lang.String]. (NotNull, EmptyAllowed) */
+    protected final List<LaDocTypeName> argumentList;
+
+    /** The type name without package, e.g. List&lt;String&gt;. (NotNull) */
+    protected final String simpleName;
+
+    /** The name for e.g. swagger definitions, generic arguments if generic, without spaces. (NotNull) */
+    protected final String definitionName;
+
+    /** The expression in last (innermost) generic brackets, e.g. java.lang.String. (NullAllowed: not generic) */
+    protected final String lastGenericExp;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    protected LaDocTypeName(String typeName, Function<String, LaDocTypeName> argumentParser) {
+        this.typeName = typeName;
+        final int firstBegin = typeName.indexOf('<');
+        this.rawTypeName = firstBegin >= 0 ? typeName.substring(0, firstBegin) : typeName;
+        this.argumentList = firstBegin >= 0 ? parseArgumentList(typeName, firstBegin, argumentParser) : Collections.emptyList();
+        this.simpleName = buildSimpleName(typeName);
+        this.definitionName = buildDefinitionName(typeName, firstBegin);
+        this.lastGenericExp = buildLastGenericExp(typeName);
+    }
+
+    /**
+     * @param type The type to be parsed, e.g. class, parameterized type. (NotNull)
+     * @return The type name, memoized if class. (NotNull)
+     */
+    public static LaDocTypeName of(Type type) {
+        if (type instanceof Class<?>) {
+            return CLASS_TYPE_NAME.get((Class<?>) type);
+        }
+        return of(type.getTypeName());
+    }
+
+    /**
+     * @param typeName The type name to be parsed, e.g. java.util.List&lt;java.lang.String&gt;. (NotNull)
+     * @return The new-created type name, not memoized. (NotNull)
+     */
+    public static LaDocTypeName of(String typeName) {
+        return new LaDocTypeName(typeName, argument -> of(argument));
+    }
+
+    /**
+     * @param type The type to be parsed, e.g. class, parameterized type. (NotNull)
+     * @param typeNameMap The map to memoize type names, e.g. per generation run, thread-safe if shared. (NotNull)
+     * @return The memoized type name. (NotNull)
+     */
+    public static LaDocTypeName of(Type type, Map<String, LaDocTypeName> typeNameMap) {
+        if (type instanceof Class<?>) {
+            return CLASS_TYPE_NAME.get((Class<?>) type);
+        }
+        return of(type.getTypeName(), typeNameMap);
+    }
+
+    /**
+     * @param typeName The type name to be parsed, e.g. java.util.List&lt;java.lang.String&gt;. (NotNull)
+     * @param typeNameMap The map to memoize type names, e.g. per generation run, thread-safe if shared. (NotNull)
+     * @return The memoized type name, also its arguments are memoized in the map. (NotNull)
+     */
+    public static LaDocTypeName of(String typeName, Map<String, LaDocTypeName> typeNameMap) {
+        LaDocTypeName parsed = typeNameMap.get(typeName);
+        if (parsed == null) { // not computeIfAbsent() because arguments are parsed recursively
+            parsed = new LaDocTypeName(typeName, argument -> of(argument, typeNameMap));
+            final LaDocTypeName existing = typeNameMap.putIfAbsent(typeName, parsed);
+            if (existing != null) {
+                parsed = existing;
+            }
+        }
+        return parsed;
+    }
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    protected List<LaDocTypeName> parseArgumentList(String typeName, int firstBegin, Function<String, LaDocTypeName> argumentParser) {
+        final List<LaDocTypeName> argumentList = DfCollectionUtil.newArrayList();
+        int nestLevel = 0;
+        int argumentStart = firstBegin + 1;
+        for (int index = argumentStart; index < typeName.length(); index++) {
+            final char ch = typeName.charAt(index);
+            if (ch == '<') {
+                ++nestLevel;
+            } else if (ch == '>' || (ch == ',' && nestLevel == 0)) {
+                if (nestLevel == 0) { // end of argument
+                    final String argument = typeName.substring(argumentStart, index).trim();
+                    if (!argument.isEmpty()) {
+                        argumentList.add(argumentParser.apply(argument));
+                    }
+                    if (ch == '>') { // end of top-level arguments
+                        break;
+                    }
+                    argumentStart = index + 1;
+                } else {
+                    --nestLevel;
+                }
+            }
+        }
+        return Collections.unmodifiableList(argumentList);
+    }
+
+    // same as replaceAll("[a-z0-9]+\\.", ""), lower-case run followed by dot is removed
+    protected String buildSimpleName(String typeName) {
+        final StringBuilder sb = new StringBuilder(typeName.length());
+        int index = 0;
+        while (index < typeName.length()) {
+            int runEnd = index;
+            while (runEnd < typeName.length() && isLowerCaseOrDigit(typeName.charAt(runEnd))) {
+                ++runEnd;
+            }
+            if (runEnd > index) { // lower-case run
+                if (runEnd < typeName.length() && typeName.charAt(runEnd) == '.') { // e.g. org.
+                    index = runEnd + 1;
+                } else {
+                    sb.append(typeName, index, runEnd);
+                    index = runEnd;
+                }
+            } else {
+                sb.append(typeName.charAt(index));
+                ++index;
+            }
+        }
+        return sb.toString();
+    }
+
+    protected boolean isLowerCaseOrDigit(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9');
+    }
+
+    // same as "^[^<]+<(.+)>$" then $1, and spaces removed
+    protected String buildDefinitionName(String typeName, int firstBegin) {
+        final String name;
+        if (firstBegin > 0 && typeName.endsWith(">") && typeName.length() - 1 > firstBegin + 1) {
+            name = typeName.substring(firstBegin + 1, typeName.length() - 1);
+        } else {
+            name = typeName;
+        }
+        return name.indexOf(' ') >= 0 ? name.replace(" ", "") : name;
+    }
+
+    // same as ".*<(.*)>" then $1, from last '<' to end '>'
+    protected String buildLastGenericExp(String typeName) {
+        final int lastBegin = typeName.lastIndexOf('<');
+        if (lastBegin < 0 || !typeName.endsWith(">")) {
+            return null;
+        }
+        return typeName.substring(lastBegin + 1, typeName.length() - 1);
+    }
+
+    // ===================================================================================
+    //                                                                      Basic Override
+    //                                                                      ==============
+    @Override
+    public String toString() {
+        return typeName;
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public String getRawTypeName() {
+        return rawTypeName;
+    }
+
+    public List<LaDocTypeName> getArgumentList() {
+        return argumentList;
+    }
+
+    public boolean isGeneric() {
+        return !argumentList.isEmpty();
+    }
+
+    public String getSimpleName() {
+        return simpleName;
+    }
+
+    public String getDefinitionName() {
+        return definitionName;
+    }
+
+    /**
+     * @return The expression in last (innermost) generic brackets, e.g. java.lang.String. (NullAllowed: not generic)
+     */
+    public String getLastGenericExp() {
+        return lastGenericExp;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.watch;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The watcher of source directories for LastaDoc watch mode. <br>
+ * It watches all directories under the source directories (also created later),
+ * and calls the listener with changed source files after quiet time (debounce) in watcher thread.
+ * <pre>
+ * try (LastaDocWatcher watcher = new DocumentGenerator().watchLastaDocMeta(() -&gt; {
+ *     saveSwaggerMeta(new SwaggerAction()); // e.g. in LastaDoc test
+ * })) {
+ *     watcher.awaitClosed(); // until e.g. stopped by IDE
+ * }
+ * </pre>
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class LastaDocWatcher implements Closeable {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    private static final Logger _log = LoggerFactory.getLogger(LastaDocWatcher.class);
+
+    /** The default quiet time to wait for following changes, e.g. saving many files by IDE. */
+    protected static final long DEFAULT_DEBOUNCE_MILLIS = 300L;
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    /** The list of watched source directories. (NotNull) */
+    protected final List<String> srcDirList;
+
+    /** The listener called with changed files (or directories when e.g. overflow), in watcher thread. (NotNull) */
+    protected final Consumer<List<Path>> changeListener;
+
+    /** The quiet time to wait for following changes. */
+    protected long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+
+    /** The map of watched directory by the key. (NotNull) */
+    protected final Map<WatchKey, Path> watchedDirMap = new ConcurrentHashMap<WatchKey, Path>();
+
+    /** The latch released when closed. (NotNull) */
+    protected final CountDownLatch closedLatch = new CountDownLatch(1);
+
+    /** The service of watching, closed by close() and it stops the watcher thread. (NotNull) */
+    protected final WatchService watchService;
+
+    protected Thread watchThread; // null allowed: until started
+    protected volatile boolean running;
+    protected volatile boolean closed;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public LastaDocWatcher(List<String> srcDirList, Consumer<List<Path>> changeListener) {
+        this.srcDirList = srcDirList;
+        this.changeListener = changeListener;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create the watch service for LastaDoc.", e);
+        }
+    }
+
+    public LastaDocWatcher debounceMillis(long debounceMillis) {
+        this.debounceMillis = debounceMillis;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                               Start
+    //                                                                               =====
+    public synchronized LastaDocWatcher start() {
+        if (running) {
+            return this;
+        }
+        if (closed) {
+            throw new IllegalStateException("The watcher is already closed: " + srcDirList);
+        }
+        try {
+            for (String srcDir : srcDirList) {
+                final Path srcPath = Paths.get(srcDir);
+                if (Files.isDirectory(srcPath)) {
+                    registerRecursively(srcPath);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start watching the source directories: " + srcDirList, e);
+        }
+        running = true;
+        // the listener may use e.g. DfReflectionUtil.forName() depending on context class loader
+        final ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+        watchThread = new Thread(() -> watch(), "lastadoc-watcher");
+        watchThread.setContextClassLoader(callerLoader);
+        watchThread.setDaemon(true); // not to block JVM exit
+        watchThread.start();
+        _log.info("...Watching the source directories for LastaDoc: {}", srcDirList);
+        return this;
+    }
+
+    protected void registerRecursively(Path rootPath) throws IOException {
+        Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                watchedDirMap.put(dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // ===================================================================================
+    //                                                                               Watch
+    //                                                                               =====
+    protected void watch() {
+        try {
+            while (running) {
+                final Set<Path> changedSet = DfCollectionUtil.newLinkedHashSet();
+                collectChanged(watchService.take(), changedSet);
+                WatchKey followingKey; // debounce
+                while ((followingKey = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS)) != null) {
+                    collectChanged(followingKey, changedSet);
+                }
+                if (!changedSet.isEmpty() && running) {
+                    handleChanged(DfCollectionUtil.newArrayList(changedSet));
+                }
+            }
+        } catch (ClosedWatchServiceException e) { // stop signal from close(), also while taking or registering
+            _log.debug("...Closing the watcher for LastaDoc");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running = false;
+            closedLatch.countDown();
+        }
+    }
+
+    protected void collectChanged(WatchKey watchKey, Set<Path> changedSet) {
+        final Path dir = watchedDirMap.get(watchKey);
+        if (dir != null) {
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == OVERFLOW) { // lost events so the directory itself
+                    changedSet.add(dir);
+                    continue;
+                }
+                final Path changed = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed)) { // e.g. new package
+                    try {
+                        registerRecursively(changed);
+                    } catch (IOException e) {
+                        _log.warn("Failed to watch the created directory: " + changed, e);
+                    }
+                    changedSet.add(changed); // may be moved with source files
+                } else if (isWatchedFile(changed)) {
+                    changedSet.add(changed);
+                }
+            }
+        }
+        if (!watchKey.reset()) { // e.g. deleted directory
+            watchedDirMap.remove(watchKey);
+        }
+    }
+
+    protected boolean isWatchedFile(Path changed) {
+        return changed.getFileName().toString().endsWith(".java"); // e.g. not IDE temporary file
+    }
+
+    protected void handleChanged(List<Path> changedList) {
+        _log.debug("...Handling the changed sources: {}", changedList);
+        try {
+            changeListener.accept(changedList);
+        } catch (RuntimeException e) { // e.g. compile error in the middle of editing, continue watching
+            _log.warn("Failed to handle the changed sources: " + changedList, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    /**
+     * Wait for closing this watcher, e.g. to keep unit test running in watch mode.
+     * @throws InterruptedException When the current thread is interrupted.
+     */
+    public void awaitClosed() throws InterruptedException {
+        closedLatch.await();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        running = false;
+        try {
+            watchService.close(); // ClosedWatchServiceException in watcher thread stops it
+        } catch (IOException e) {
+            _log.debug("Failed to close the watch service: {}", e.getMessage());
+        }
+        watchedDirMap.clear();
+        if (watchThread == null) { // not started, no thread to release the latch
+            closedLatch.countDown();
+        }
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public boolean isRunning() {
+        return running;
+    }
+}
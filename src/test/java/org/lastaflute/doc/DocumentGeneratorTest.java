@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ */
+public class DocumentGeneratorTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                          Watch Mode
+    //                                                                          ==========
+    public void test_toChangedClassNameSet_basic() {
+        // ## Arrange ##
+        DocumentGenerator generator = new DocumentGenerator(DfCollectionUtil.newArrayList("src/main/java/", "../sea-common/src/main/java/"));
+        Path seaForm = Paths.get("src/main/java/org/docksidestage/app/web/sea/SeaForm.java");
+        Path landBean = Paths.get("../sea-common/src/main/java/org/docksidestage/bizfw/LandBean.java").toAbsolutePath();
+
+        // ## Act ##
+        Set<String> classNameSet = generator.toChangedClassNameSet(Arrays.asList(seaForm, landBean)).get();
+
+        // ## Assert ##
+        assertEquals(newHashSet("org.docksidestage.app.web.sea.SeaForm", "org.docksidestage.bizfw.LandBean"), classNameSet);
+    }
+
+    public void test_toChangedClassNameSet_directory() {
+        // ## Arrange ##
+        DocumentGenerator generator = new DocumentGenerator(DfCollectionUtil.newArrayList("src/main/java/"));
+        Path seaForm = Paths.get("src/main/java/org/docksidestage/app/web/sea/SeaForm.java");
+        Path landDir = Paths.get("src/main/java/org/docksidestage/app/web/land"); // e.g. created package
+
+        // ## Act ##
+        OptionalThing<Set<String>> optClassNameSet = generator.toChangedClassNameSet(Arrays.asList(seaForm, landDir));
+
+        // ## Assert ##
+        assertFalse(optClassNameSet.isPresent()); // then saving whole meta
+    }
+}
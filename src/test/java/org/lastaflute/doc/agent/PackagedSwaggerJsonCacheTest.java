@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.agent;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.lastaflute.doc.generator.DocumentGeneratorFactory;
+
+/**
+ * @author jflute
+ */
+public class PackagedSwaggerJsonCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                                Find
+    //                                                                                ====
+    @SuppressWarnings("unchecked")
+    public void test_findSwaggerMap_loadedOnceAndShallowCopied() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-swagger");
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { rootDir.toUri().toURL() })) {
+            Thread.currentThread().setContextClassLoader(loader);
+            Path swaggerJson = rootDir.resolve("swagger.json");
+            Files.write(swaggerJson, "{\"info\": {\"title\": \"sea\"}, \"tags\": [{\"name\": \"land\"}]}".getBytes(StandardCharsets.UTF_8));
+            AtomicInteger loadCount = new AtomicInteger();
+            PackagedSwaggerJsonCache cache = new PackagedSwaggerJsonCache("swagger.json") {
+                @Override
+                protected Map<String, Object> loadSwaggerMap(URL resourceUrl, RealJsonEngine jsonEngine) {
+                    loadCount.incrementAndGet();
+                    return super.loadSwaggerMap(resourceUrl, jsonEngine);
+                }
+            };
+            RealJsonEngine jsonEngine = new DocumentGeneratorFactory().createJsonEngine();
+
+            // ## Act ##
+            Map<String, Object> first = cache.findSwaggerMap(jsonEngine).get();
+            first.put("schemes", Arrays.asList("https")); // e.g. replaced per request
+            Map<String, Object> second = cache.findSwaggerMap(jsonEngine).get();
+
+            // ## Assert ##
+            assertEquals(1, loadCount.get());
+            assertFalse(second.containsKey("schemes")); // independent per call
+            assertSame(first.get("info"), second.get("info")); // nested values are shared
+            assertException(UnsupportedOperationException.class, () -> {
+                ((Map<String, Object>) first.get("info")).put("title", "changed"); // read-only
+            });
+            assertEquals(1, ((List<Object>) second.get("tags")).size());
+
+            // reloaded when the file is changed
+            Files.write(swaggerJson, "{\"info\": {\"title\": \"piari\"}}".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(swaggerJson, FileTime.fromMillis(System.currentTimeMillis() + 60000L));
+            Map<String, Object> reloaded = cache.findSwaggerMap(jsonEngine).get();
+            assertEquals(2, loadCount.get());
+            assertEquals("piari", ((Map<String, Object>) reloaded.get("info")).get("title"));
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    public void test_findSwaggerMap_notPackaged() {
+        // ## Arrange ##
+        PackagedSwaggerJsonCache cache = new PackagedSwaggerJsonCache("./not-existing-swagger.json");
+
+        // ## Act ##
+        // ## Assert ##
+        assertFalse(cache.findSwaggerMap(new DocumentGeneratorFactory().createJsonEngine()).isPresent());
+    }
+}
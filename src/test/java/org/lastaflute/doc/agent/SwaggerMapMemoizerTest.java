@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.agent;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ */
+public class SwaggerMapMemoizerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                             Memoize
+    //                                                                             =======
+    public void test_memoize_hitAndMiss() {
+        // ## Arrange ##
+        SwaggerMapMemoizer memoizer = new SwaggerMapMemoizer();
+        AtomicInteger generatedCount = new AtomicInteger();
+
+        // ## Act ##
+        Map<String, Object> first = memoizer.memoize("option", "v1", () -> createSwaggerMap(generatedCount));
+        Map<String, Object> second = memoizer.memoize("option", "v1", () -> createSwaggerMap(generatedCount));
+        memoizer.memoize("option", "v2", () -> createSwaggerMap(generatedCount)); // sources are changed
+        memoizer.memoize("other", "v2", () -> createSwaggerMap(generatedCount)); // e.g. other base path
+
+        // ## Assert ##
+        assertSame(first, second);
+        assertEquals(3, generatedCount.get());
+        assertException(UnsupportedOperationException.class, () -> first.put("swagger", "3.0")); // shared
+    }
+
+    private Map<String, Object> createSwaggerMap(AtomicInteger generatedCount) {
+        generatedCount.incrementAndGet();
+        Map<String, Object> swaggerMap = DfCollectionUtil.newLinkedHashMap();
+        swaggerMap.put("swagger", "2.0");
+        return swaggerMap;
+    }
+
+    // ===================================================================================
+    //                                                                  Source Fingerprint
+    //                                                                  ==================
+    public void test_deriveSourceFingerprint_watched() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-memoizer");
+        SwaggerMapMemoizer memoizer = new SwaggerMapMemoizer();
+        try {
+            Path seaDir = Files.createDirectories(rootDir.resolve("sea"));
+            Files.write(seaDir.resolve("SeaForm.java"), "class SeaForm {}".getBytes(StandardCharsets.UTF_8));
+            List<Path> dirList = Collections.singletonList(rootDir);
+            String first = memoizer.deriveSourceFingerprint(dirList);
+
+            // ## Act ##
+            // ## Assert ##
+            assertEquals(first, memoizer.deriveSourceFingerprint(dirList)); // not changed
+            Files.write(seaDir.resolve("memo.txt"), "not source".getBytes(StandardCharsets.UTF_8));
+            Thread.sleep(300L); // for watch event
+            assertEquals(first, memoizer.deriveSourceFingerprint(dirList)); // not target file
+
+            Files.write(seaDir.resolve("SeaForm.java"), "class SeaForm { String hangar; }".getBytes(StandardCharsets.UTF_8));
+            String modified = awaitChanged(memoizer, dirList, first);
+            assertEquals(modified, memoizer.deriveSourceFingerprint(dirList)); // not changed after polled
+
+            Path landDir = Files.createDirectories(seaDir.resolve("land")); // new package, also watched
+            String created = awaitChanged(memoizer, dirList, modified);
+            Files.write(landDir.resolve("LandResult.class"), new byte[] { 1 });
+            awaitChanged(memoizer, dirList, created);
+        } finally {
+            memoizer.close();
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private String awaitChanged(SwaggerMapMemoizer memoizer, List<Path> dirList, String previous) throws InterruptedException {
+        for (int i = 0; i < 100; i++) { // watch event may be delivered asynchronously
+            String current = memoizer.deriveSourceFingerprint(dirList);
+            if (!current.equals(previous)) {
+                return current;
+            }
+            Thread.sleep(100L);
+        }
+        fail("The fingerprint is not changed: " + previous);
+        return null; // unreachable
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The benchmark of property analysis in action document generator (with warm source parser cache).
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActionDocumentGeneratorBenchmark {
+
+    @Benchmark
+    public void analyzeProperties(LaDocBenchmarkState state, Blackhole blackhole) {
+        state.actionDocumentGenerator.clearPropertyAnalysisCache();
+        for (Class<?> resultClass : state.resultClassList) {
+            blackhole.consume(state.actionDocumentGenerator.benchmarkAnalyzeProperties(resultClass, DfCollectionUtil.newLinkedHashMap()));
+        }
+        for (Class<?> formClass : state.formClassList) {
+            blackhole.consume(state.actionDocumentGenerator.benchmarkAnalyzeProperties(formClass, DfCollectionUtil.newLinkedHashMap()));
+        }
+    }
+
+    @Benchmark
+    public void analyzeAnnotationList(LaDocBenchmarkState state, Blackhole blackhole) {
+        for (Class<?> formClass : state.formClassList) {
+            for (Field field : formClass.getFields()) {
+                final List<Annotation> annotationList = Arrays.stream(field.getAnnotations()).collect(Collectors.toList());
+                blackhole.consume(state.actionDocumentGenerator.benchmarkAnalyzeAnnotationList(annotationList));
+            }
+        }
+    }
+
+    @Benchmark
+    public void generateActionDocMetaList(LaDocBenchmarkState state, Blackhole blackhole) {
+        state.actionDocumentGenerator.clearPropertyAnalysisCache();
+        blackhole.consume(state.actionDocumentGenerator.generateActionDocMetaList());
+    }
+
+    @Benchmark
+    public void generateActionDocMetaListWithMetaCache(LaDocBenchmarkState state, Blackhole blackhole) { // e.g. second saveLastaDocMeta()
+        state.metaCachedActionDocumentGenerator.clearPropertyAnalysisCache();
+        state.actionDocMetaCache.load(); // all hit, fingerprints are derived from sources
+        blackhole.consume(state.metaCachedActionDocumentGenerator.generateActionDocMetaList());
+    }
+
+    @Benchmark
+    public void generateActionDocMetaListInParallel(LaDocBenchmarkState state, Blackhole blackhole) {
+        state.parallelActionDocumentGenerator.clearPropertyAnalysisCache();
+        blackhole.consume(state.parallelActionDocumentGenerator.generateActionDocMetaList());
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.doc.meta.TypeDocMeta;
+import org.lastaflute.doc.reflector.SourceParserReflector;
+import org.lastaflute.doc.unit.synthetic.SyntheticActionDocumentGenerator;
+
+/**
+ * The action document generator for benchmark, without DI container. <br>
+ * Only discovery is overridden (by synthetic generator) so generation is measured in the production path.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class BenchmarkActionDocumentGenerator extends SyntheticActionDocumentGenerator {
+
+    public BenchmarkActionDocumentGenerator(List<String> srcDirList, int depth, OptionalThing<SourceParserReflector> sourceParserReflector,
+            List<Class<?>> actionClassList) {
+        super(srcDirList, depth, sourceParserReflector, actionClassList);
+    }
+
+    // ===================================================================================
+    //                                                                        Hot Accessor
+    //                                                                        ============
+    public List<TypeDocMeta> benchmarkAnalyzeProperties(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap) {
+        return analyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+    }
+
+    public void clearPropertyAnalysisCache() { // to measure one generation per operation
+        propertyAnalysisCacheMap.clear();
+    }
+
+    public List<String> benchmarkAnalyzeAnnotationList(List<Annotation> annotationList) {
+        return analyzeAnnotationList(annotationList);
+    }
+
+    public TypeDocMeta benchmarkAnalyzeReturnClass(Method method) {
+        return analyzeReturnClass(method);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.util.List;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.doc.reflector.CompilationUnitCache;
+import org.lastaflute.doc.reflector.JavaparserSourceParserReflector;
+
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class BenchmarkJavaparserSourceParserReflector extends JavaparserSourceParserReflector {
+
+    public BenchmarkJavaparserSourceParserReflector(List<String> srcDirList) {
+        super(srcDirList, new CompilationUnitCache()); // not shared with other trials
+    }
+
+    public OptionalThing<CompilationUnit> benchmarkParseClass(Class<?> clazz) {
+        return parseClass(clazz);
+    }
+
+    public void clearParsedCache() { // for cold parsing
+        compilationUnitCache.clear();
+        sourceFileMap.clear();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.dbflute.optional.OptionalThing;
+import org.lastaflute.core.direction.AccessibleConfig;
+import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.doc.SwaggerGenerator;
+import org.lastaflute.doc.SwaggerOption;
+import org.lastaflute.doc.generator.ActionDocumentGenerator;
+import org.lastaflute.doc.meta.TypeDocMeta;
+
+/**
+ * The swagger generator for benchmark, without DI container and request.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class BenchmarkSwaggerGenerator extends SwaggerGenerator {
+
+    protected final ActionDocumentGenerator actionDocumentGenerator;
+
+    public BenchmarkSwaggerGenerator(ActionDocumentGenerator actionDocumentGenerator) {
+        this.actionDocumentGenerator = actionDocumentGenerator;
+    }
+
+    // ===================================================================================
+    //                                                                        Hot Accessor
+    //                                                                        ============
+    public Map<String, Object> benchmarkCreateSwaggerMap() {
+        return createSwaggerMap(new SwaggerOption());
+    }
+
+    public Map<String, Object> benchmarkToParameterMap(TypeDocMeta typeDocMeta, Map<String, Map<String, Object>> definitionsMap) {
+        return toParameterMap(typeDocMeta, definitionsMap);
+    }
+
+    // ===================================================================================
+    //                                                                      Container Stub
+    //                                                                      ==============
+    @Override
+    protected ActionDocumentGenerator createActionDocumentGenerator() {
+        return actionDocumentGenerator;
+    }
+
+    @Override
+    protected AccessibleConfig getAccessibleConfig() {
+        return (AccessibleConfig) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { AccessibleConfig.class },
+                (proxy, method, args) -> {
+                    return method.getName().equals("get") ? "benchmark" : null; // e.g. domain.title
+                });
+    }
+
+    @Override
+    protected HttpServletRequest getRequest() {
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { HttpServletRequest.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getScheme")) {
+                        return "http";
+                    } else if (method.getName().equals("getContextPath")) {
+                        return "/benchmark";
+                    }
+                    return null;
+                });
+    }
+
+    @Override
+    protected OptionalThing<String> findLastaDocVersion() {
+        return OptionalThing.empty(); // not to read maven properties
+    }
+
+    @Override
+    protected OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
+        return OptionalThing.empty();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.generator.ActionDocMetaCache;
+import org.lastaflute.doc.generator.DocumentGeneratorFactory;
+import org.lastaflute.doc.reflector.CompilationUnitCache;
+import org.lastaflute.doc.reflector.LexicalSourceParserReflector;
+import org.lastaflute.doc.unit.synthetic.SyntheticApplication;
+import org.lastaflute.doc.unit.synthetic.SyntheticApplicationGenerator;
+import org.lastaflute.doc.util.LaDocConcurrentUtil;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The state of LastaDoc benchmarks, the fixture size is the count of actions.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+@State(Scope.Benchmark)
+public class LaDocBenchmarkState {
+
+    /** The count of synthetic actions, each has Form, Body and Results with nested parts. */
+    @Param({ "10", "100", "500" })
+    public int actionCount;
+
+    public SyntheticApplication application;
+    public BenchmarkJavaparserSourceParserReflector reflector;
+    public LexicalSourceParserReflector lexicalReflector;
+    public BenchmarkActionDocumentGenerator actionDocumentGenerator;
+    public BenchmarkActionDocumentGenerator parallelActionDocumentGenerator;
+    public BenchmarkActionDocumentGenerator metaCachedActionDocumentGenerator; // through prepareActionDocMeta() with cache
+    public ActionDocMetaCache actionDocMetaCache;
+    public BenchmarkSwaggerGenerator swaggerGenerator;
+    public List<Class<?>> actionClassList;
+    public List<Class<?>> formClassList;
+    public List<Class<?>> resultClassList;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        application = new SyntheticApplicationGenerator().actionCount(actionCount).generate();
+        Thread.currentThread().setContextClassLoader(application.getClassLoader()); // for e.g. DfReflectionUtil.forName()
+        final List<String> srcDirList = DfCollectionUtil.newArrayList(application.getSrcDir());
+        reflector = new BenchmarkJavaparserSourceParserReflector(srcDirList);
+        lexicalReflector = new LexicalSourceParserReflector(srcDirList, new CompilationUnitCache()); // not shared
+        actionClassList = application.getActionClassList();
+        formClassList = application.getFormClassList();
+        resultClassList = application.getResultClassList();
+        actionDocumentGenerator = new BenchmarkActionDocumentGenerator(srcDirList, 4, OptionalThing.of(reflector), actionClassList);
+        parallelActionDocumentGenerator = new BenchmarkActionDocumentGenerator(srcDirList, 4, OptionalThing.of(reflector), actionClassList);
+        parallelActionDocumentGenerator.enableParallelMetaBuilding(LaDocConcurrentUtil.getDefaultParallelism());
+        swaggerGenerator = new BenchmarkSwaggerGenerator(actionDocumentGenerator);
+        setupActionDocMetaCache(srcDirList);
+    }
+
+    protected void setupActionDocMetaCache(List<String> srcDirList) { // saved once, so hit in benchmark
+        final Path cacheFile;
+        try {
+            cacheFile = Files.createTempFile("lastadoc-benchmark-", "-action-doc-meta-cache.json");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the cache file for benchmark.", e);
+        }
+        actionDocMetaCache = new ActionDocMetaCache(cacheFile, new DocumentGeneratorFactory().createLaDocJsonEngine(true));
+        metaCachedActionDocumentGenerator =
+                new BenchmarkActionDocumentGenerator(srcDirList, 4, OptionalThing.of(reflector), actionClassList);
+        metaCachedActionDocumentGenerator.useActionDocMetaCache(actionDocMetaCache);
+        actionDocMetaCache.load();
+        metaCachedActionDocumentGenerator.generateActionDocMetaList();
+        actionDocMetaCache.save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        // shown in benchmark output, e.g. evictions mean warm-up beyond the cache capacity
+        System.out.println("[actionCount=" + actionCount + "] java parser: " + reflector.getCompilationUnitCache());
+        System.out.println("[actionCount=" + actionCount + "] lexical: " + lexicalReflector.getCompilationUnitCache());
+        reflector.clearParsedCache(); // release ASTs
+        lexicalReflector.getCompilationUnitCache().clear();
+        try {
+            Files.deleteIfExists(actionDocMetaCache.getCacheFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete the cache file for benchmark.", e);
+        }
+        application.close();
+    }
+}
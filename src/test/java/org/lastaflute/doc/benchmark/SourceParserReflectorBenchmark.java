@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.lastaflute.doc.meta.TypeDocMeta;
+import org.lastaflute.doc.util.LaDocConcurrentUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The benchmark of source parser reflector, cold parsing and reflection with warm cache.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SourceParserReflectorBenchmark {
+
+    @Benchmark
+    public void parseClass_cold(LaDocBenchmarkState state, Blackhole blackhole) {
+        state.reflector.clearParsedCache();
+        for (Class<?> actionClass : state.actionClassList) {
+            blackhole.consume(state.reflector.benchmarkParseClass(actionClass));
+        }
+        for (Class<?> resultClass : state.resultClassList) {
+            blackhole.consume(state.reflector.benchmarkParseClass(resultClass));
+        }
+    }
+
+    @Benchmark
+    public void warmUp_cold(LaDocBenchmarkState state, Blackhole blackhole) { // all sources in parallel
+        state.reflector.clearParsedCache();
+        state.reflector.warmUp(LaDocConcurrentUtil.getDefaultParallelism());
+        blackhole.consume(state.reflector.getCompilationUnitCache().getEntryCount());
+    }
+
+    @Benchmark
+    public void warmUp_cold_lexical(LaDocBenchmarkState state, Blackhole blackhole) { // compared with java parser
+        state.lexicalReflector.getCompilationUnitCache().clear();
+        state.lexicalReflector.warmUp(LaDocConcurrentUtil.getDefaultParallelism());
+        blackhole.consume(state.lexicalReflector.getCompilationUnitCache().getEntryCount());
+    }
+
+    @Benchmark
+    public void reflect_typeDocMeta(LaDocBenchmarkState state, Blackhole blackhole) {
+        for (Class<?> resultClass : state.resultClassList) {
+            final TypeDocMeta meta = new TypeDocMeta();
+            state.reflector.reflect(meta, resultClass);
+            blackhole.consume(meta);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.meta.TypeDocMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The benchmark of swagger generator, parameter conversion and end-to-end swagger map.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SwaggerGeneratorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ParameterState {
+
+        public List<TypeDocMeta> propertyDocMetaList;
+
+        @Setup(Level.Trial)
+        public void setup(LaDocBenchmarkState state) {
+            propertyDocMetaList = DfCollectionUtil.newArrayList();
+            for (ActionDocMeta actionDocMeta : state.actionDocumentGenerator.generateActionDocMetaList()) {
+                if (actionDocMeta.getFormTypeDocMeta() != null) {
+                    propertyDocMetaList.addAll(actionDocMeta.getFormTypeDocMeta().getNestTypeDocMetaList());
+                }
+                propertyDocMetaList.addAll(actionDocMeta.getReturnTypeDocMeta().getNestTypeDocMetaList());
+            }
+        }
+    }
+
+    @Benchmark
+    public void toParameterMap(LaDocBenchmarkState state, ParameterState parameterState, Blackhole blackhole) {
+        final Map<String, Map<String, Object>> definitionsMap = DfCollectionUtil.newLinkedHashMap();
+        for (TypeDocMeta typeDocMeta : parameterState.propertyDocMetaList) {
+            blackhole.consume(state.swaggerGenerator.benchmarkToParameterMap(typeDocMeta, definitionsMap));
+        }
+    }
+
+    @Benchmark
+    public void createSwaggerMap(LaDocBenchmarkState state, Blackhole blackhole) { // includes action analysis
+        blackhole.consume(state.swaggerGenerator.benchmarkCreateSwaggerMap());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.generator;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.doc.meta.ActionDocMeta;
+
+/**
+ * @author jflute
+ */
+public class ActionDocMetaCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                       Find/Register
+    //                                                                       =============
+    public void test_find_hitAndMiss() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-cache");
+        Path cacheFile = rootDir.resolve("cache").resolve("action-doc-meta-cache.json"); // parent is created when saving
+        try {
+            ActionDocMetaCache saving = createCache(cacheFile);
+            saving.load(); // no file yet
+            saving.register("sea.SeaAction#index", "fp-sea", createMeta("/sea/"));
+            saving.register("sea.LandAction#index", "fp-land", createMeta("/land/"));
+            saving.save();
+            ActionDocMetaCache cache = createCache(cacheFile);
+
+            // ## Act ##
+            cache.load();
+
+            // ## Assert ##
+            assertEquals("/sea/", cache.find("sea.SeaAction#index", "fp-sea").get().getUrl());
+            assertFalse(cache.find("sea.LandAction#index", "fp-changed").isPresent()); // invalidated by fingerprint
+            assertFalse(cache.find("sea.PiariAction#index", "fp-sea").isPresent()); // new action
+            assertEquals(1, cache.getHitCount());
+            assertEquals(2, cache.getMissCount());
+        } finally {
+            deleteDirectory(rootDir);
+        }
+    }
+
+    public void test_save_onlyUsedEntries() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-cache");
+        Path cacheFile = rootDir.resolve("action-doc-meta-cache.json");
+        try {
+            ActionDocMetaCache cache = createCache(cacheFile);
+            cache.register("sea.SeaAction#index", "fp-sea", createMeta("/sea/"));
+            cache.register("sea.LandAction#index", "fp-land", createMeta("/land/"));
+            cache.save();
+            cache.load();
+            cache.find("sea.SeaAction#index", "fp-sea"); // LandAction is deleted
+
+            // ## Act ##
+            cache.save();
+
+            // ## Assert ##
+            ActionDocMetaCache reloaded = createCache(cacheFile);
+            reloaded.load();
+            assertTrue(reloaded.find("sea.SeaAction#index", "fp-sea").isPresent());
+            assertFalse(reloaded.find("sea.LandAction#index", "fp-land").isPresent());
+            assertEquals(0, cache.getHitCount()); // reset by save
+        } finally {
+            deleteDirectory(rootDir);
+        }
+    }
+
+    public void test_load_broken() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-cache");
+        Path cacheFile = rootDir.resolve("action-doc-meta-cache.json");
+        try {
+            Files.write(cacheFile, "{ broken".getBytes(StandardCharsets.UTF_8));
+            ActionDocMetaCache cache = createCache(cacheFile);
+
+            // ## Act ##
+            cache.load(); // ignored, it's only cache
+
+            // ## Assert ##
+            assertFalse(cache.find("sea.SeaAction#index", "fp-sea").isPresent());
+        } finally {
+            deleteDirectory(rootDir);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Assist Logic
+    //                                                                        ============
+    private ActionDocMetaCache createCache(Path cacheFile) {
+        return new ActionDocMetaCache(cacheFile, new DocumentGeneratorFactory().createLaDocJsonEngine(true));
+    }
+
+    private ActionDocMeta createMeta(String url) {
+        ActionDocMeta meta = new ActionDocMeta();
+        meta.setUrl(url);
+        return meta;
+    }
+
+    private void deleteDirectory(Path rootDir) throws Exception {
+        try (Stream<Path> stream = Files.walk(rootDir)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
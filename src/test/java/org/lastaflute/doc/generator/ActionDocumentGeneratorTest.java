@@ -15,12 +15,45 @@
  */
 package org.lastaflute.doc.generator;
 
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
 
 import org.dbflute.optional.OptionalThing;
 import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.doc.index.ActionIndexProcessor;
+import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.meta.TypeDocMeta;
+import org.lastaflute.doc.reflector.JavaparserSourceParserReflector;
+import org.lastaflute.doc.unit.mock.LandResult;
+import org.lastaflute.doc.unit.mock.MarinaResult;
 import org.lastaflute.doc.unit.mock.MockCDef;
 import org.lastaflute.doc.unit.mock.SeaForm;
+import org.lastaflute.doc.unit.synthetic.SyntheticActionDocumentGenerator;
+import org.lastaflute.doc.unit.synthetic.SyntheticApplication;
+import org.lastaflute.doc.unit.synthetic.SyntheticApplicationGenerator;
+import org.lastaflute.web.ruts.config.ActionExecute;
+
+import com.google.gson.Gson;
 
 /**
  * @author jflute
@@ -28,6 +61,202 @@ import org.lastaflute.doc.unit.mock.SeaForm;
  */
 public class ActionDocumentGeneratorTest extends PlainTestCase {
 
+    // ===================================================================================
+    //                                                                            Generate
+    //                                                                            ========
+    public void test_generateActionDocMetaList_parallel() {
+        // ## Arrange ##
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        try (SyntheticApplication application = new SyntheticApplicationGenerator().actionCount(8).generate()) {
+            Thread.currentThread().setContextClassLoader(application.getClassLoader()); // for e.g. DfReflectionUtil.forName()
+            List<String> srcDirList = DfCollectionUtil.newArrayList(application.getSrcDir());
+            List<Class<?>> actionClassList = application.getActionClassList();
+            ActionDocumentGenerator sequential = new SyntheticActionDocumentGenerator(srcDirList, 4,
+                    OptionalThing.of(new JavaparserSourceParserReflector(srcDirList)), actionClassList);
+            ActionDocumentGenerator parallel = new SyntheticActionDocumentGenerator(srcDirList, 4,
+                    OptionalThing.of(new JavaparserSourceParserReflector(srcDirList)), actionClassList);
+            parallel.enableParallelMetaBuilding(4);
+            Path cacheFile = application.getClassesDir().resolve("action-doc-meta-cache.json"); // deleted with application
+            ActionDocMetaCache cache = new ActionDocMetaCache(cacheFile, new DocumentGeneratorFactory().createLaDocJsonEngine(true));
+            cache.load();
+            ActionDocumentGenerator parallelCached = new SyntheticActionDocumentGenerator(srcDirList, 4,
+                    OptionalThing.of(new JavaparserSourceParserReflector(srcDirList)), actionClassList);
+            parallelCached.enableParallelMetaBuilding(4).useActionDocMetaCache(cache);
+
+            // ## Act ##
+            List<ActionDocMeta> sequentialList = sequential.generateActionDocMetaList();
+            List<ActionDocMeta> parallelList = parallel.generateActionDocMetaList();
+            List<ActionDocMeta> parallelCachedList = parallelCached.generateActionDocMetaList();
+
+            // ## Assert ##
+            assertEquals(24, parallelList.size());
+            assertTrue(parallelList.get(0).getUrl().startsWith("/product0/"));
+            assertNotNull(parallelList.get(0).getDescription()); // reflected by source parser in worker thread
+            Gson gson = new Gson(); // transient items (e.g. type) are excluded
+            assertEquals(gson.toJson(sequentialList), gson.toJson(parallelList)); // same order and same contents
+            assertEquals(gson.toJson(sequentialList), gson.toJson(parallelCachedList));
+            assertEquals(24, cache.getMissCount()); // via prepareActionDocMeta() in worker threads
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                            Meta Cache
+    //                                            ----------
+    public void test_prepareActionDocMeta_cache_hitMissInvalidation() throws Exception {
+        // ## Arrange ##
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        try (SyntheticApplication application = new SyntheticApplicationGenerator().actionCount(2).generate()) {
+            Thread.currentThread().setContextClassLoader(application.getClassLoader());
+            List<String> srcDirList = DfCollectionUtil.newArrayList(application.getSrcDir());
+            List<Class<?>> actionClassList = application.getActionClassList();
+            Path cacheFile = application.getClassesDir().resolve("action-doc-meta-cache.json"); // deleted with application
+            ActionDocMetaCache cache = new ActionDocMetaCache(cacheFile, new DocumentGeneratorFactory().createLaDocJsonEngine(true));
+            cache.load();
+            List<ActionDocMeta> firstList = createSyntheticGenerator(srcDirList, 4, actionClassList, cache).generateActionDocMetaList();
+            assertEquals(0, cache.getHitCount());
+            assertEquals(6, cache.getMissCount());
+            cache.save();
+            Gson gson = new Gson(); // transient items (e.g. type) are excluded
+
+            // ## Act ##
+            // ## Assert ##
+            // hit: nothing is changed
+            cache.load();
+            List<ActionDocMeta> hitList = createSyntheticGenerator(srcDirList, 4, actionClassList, cache).generateActionDocMetaList();
+            assertEquals(6, cache.getHitCount());
+            assertEquals(0, cache.getMissCount());
+            assertEquals(gson.toJson(firstList), gson.toJson(hitList));
+            cache.save();
+
+            // miss: depth is changed
+            cache.load();
+            createSyntheticGenerator(srcDirList, 2, actionClassList, cache).generateActionDocMetaList();
+            assertEquals(0, cache.getHitCount());
+            assertEquals(6, cache.getMissCount());
+            cache.save(); // depth 2 is cached
+
+            // miss: URL is changed by path resolver (e.g. naming convention)
+            cache.load();
+            List<ActionDocMeta> urlList = new SyntheticActionDocumentGenerator(srcDirList, 2, OptionalThing.empty(), actionClassList) {
+                @Override
+                protected String deriveActionUrl(ActionExecute execute) {
+                    return "/v2" + super.deriveActionUrl(execute);
+                }
+            }.useActionDocMetaCache(cache).generateActionDocMetaList();
+            assertEquals(0, cache.getHitCount());
+            assertEquals(6, cache.getMissCount());
+            assertTrue(urlList.stream().allMatch(meta -> meta.getUrl().startsWith("/v2/")));
+            cache.load(); // not saved, so depth 2 is still cached
+
+            // invalidation: detail result (not having target suffix in action) of first action is changed
+            Class<?> detailResultClass = application.getResultClassList().get(2); // row results, and detail results
+            assertTrue(detailResultClass.getName().endsWith("Product0DetailResult"));
+            Path detailResultSource = Paths.get(application.getSrcDir(), detailResultClass.getName().replace('.', '/') + ".java");
+            Files.write(detailResultSource, "// changed\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            createSyntheticGenerator(srcDirList, 2, actionClassList, cache).generateActionDocMetaList();
+            assertEquals(4, cache.getHitCount());
+            assertEquals(2, cache.getMissCount()); // get$detail and post$register of first action
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+        }
+    }
+
+    // -----------------------------------------------------
+    //                                            Regenerate
+    //                                            ----------
+    public void test_regenerateActionDocMetaList_onlyAffected() {
+        // ## Arrange ##
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        try (SyntheticApplication application = new SyntheticApplicationGenerator().actionCount(2).generate()) {
+            Thread.currentThread().setContextClassLoader(application.getClassLoader());
+            List<String> srcDirList = DfCollectionUtil.newArrayList(application.getSrcDir());
+            List<Class<?>> actionClassList = application.getActionClassList();
+            ActionDocumentGenerator generator =
+                    new SyntheticActionDocumentGenerator(srcDirList, 4, OptionalThing.empty(), actionClassList);
+            List<ActionExecute> executeList = generator.findActionExecuteList();
+            List<ActionDocMeta> previousList = generator.generateActionDocMetaList(executeList);
+            String detailResultName = application.getResultClassList().get(2).getName(); // detail result of first action
+
+            // ## Act ##
+            List<ActionDocMeta> metaList = new SyntheticActionDocumentGenerator(srcDirList, 4, OptionalThing.empty(), actionClassList)
+                    .regenerateActionDocMetaList(executeList, previousList, newHashSet(detailResultName));
+
+            // ## Assert ##
+            assertEquals(6, metaList.size());
+            for (int i = 0; i < metaList.size(); i++) {
+                ActionDocMeta meta = metaList.get(i);
+                assertEquals(previousList.get(i).getUrl(), meta.getUrl()); // same order
+                boolean affected = i == 0 || i == 2; // get$detail and post$register of first action (sorted by name)
+                assertEquals(affected, meta != previousList.get(i)); // others are reused as they are
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+        }
+    }
+
+    private ActionDocumentGenerator createSyntheticGenerator(List<String> srcDirList, int depth, List<Class<?>> actionClassList,
+            ActionDocMetaCache cache) {
+        return new SyntheticActionDocumentGenerator(srcDirList, depth, OptionalThing.empty(), actionClassList).useActionDocMetaCache(cache);
+    }
+
+    // -----------------------------------------------------
+    //                                          Action Index
+    //                                          ------------
+    public void test_findIndexedActionClassNameList_classLoaderResources() throws Exception {
+        // ## Arrange ##
+        ActionDocumentGenerator generator = createGenerator();
+        String indexPath = ActionIndexProcessor.ACTION_INDEX_PATH;
+        Path rootDir = Files.createTempDirectory("lastadoc-index");
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Path classesDir = rootDir.resolve("classes"); // application
+            Files.createDirectories(classesDir.resolve(indexPath).getParent());
+            Files.write(classesDir.resolve(indexPath), "sea.SeaAction\n# comment\nsea.land.LandAction\n".getBytes(StandardCharsets.UTF_8));
+            Path libraryJar = rootDir.resolve("library.jar"); // dependency having own index
+            try (JarOutputStream jarOut = new JarOutputStream(Files.newOutputStream(libraryJar))) {
+                jarOut.putNextEntry(new JarEntry(indexPath));
+                jarOut.write("library.PiariAction\n".getBytes(StandardCharsets.UTF_8));
+                jarOut.closeEntry();
+            }
+            try (URLClassLoader loader = new URLClassLoader(new URL[] { classesDir.toUri().toURL(), libraryJar.toUri().toURL() })) {
+                Thread.currentThread().setContextClassLoader(loader);
+
+                // ## Act ##
+                List<String> indexedList = generator.findIndexedActionClassNameList().get();
+
+                // ## Assert ##
+                // library actions are filtered by the container later
+                assertEquals(Arrays.asList("sea.SeaAction", "sea.land.LandAction", "library.PiariAction"), indexedList);
+            }
+            try (URLClassLoader loader = new URLClassLoader(new URL[0], null)) { // no index
+                Thread.currentThread().setContextClassLoader(loader);
+
+                // ## Act ##
+                OptionalThing<List<String>> noneList = generator.findIndexedActionClassNameList();
+
+                // ## Assert ##
+                assertFalse(noneList.isPresent()); // then scanning the container
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    public void test_findIndexedActionClass_stale() {
+        // ## Arrange ##
+        ActionDocumentGenerator generator = createGenerator();
+
+        // ## Act ##
+        // ## Assert ##
+        assertEquals(SeaForm.class, generator.findIndexedActionClass(SeaForm.class.getName()).get());
+        assertFalse(generator.findIndexedActionClass("sea.NotExistingAction").isPresent()); // e.g. deleted after compiling
+    }
+
     // ===================================================================================
     //                                                                             Analyze
     //                                                                             =======
@@ -48,6 +277,181 @@ public class ActionDocumentGeneratorTest extends PlainTestCase {
         assertFalse(generator.isTargetSuffixResolvedClass(MockCDef.WhiteConfusingFormatBodying.class));
     }
 
+    // -----------------------------------------------------
+    //                                        Property Cache
+    //                                        --------------
+    public void test_analyzeProperties_cacheHitAndIsolation() {
+        // ## Arrange ##
+        List<Class<?>> analyzedList = DfCollectionUtil.newArrayList();
+        ActionDocumentGenerator generator = new ActionDocumentGenerator(Collections.emptyList(), 4, OptionalThing.empty()) {
+            @Override
+            protected List<TypeDocMeta> doAnalyzeProperties(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap,
+                    int depth) {
+                analyzedList.add(propertyOwner);
+                return super.doAnalyzeProperties(propertyOwner, genericParameterTypesMap, depth);
+            }
+
+            @Override
+            protected OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
+                return OptionalThing.empty(); // no container
+            }
+        };
+        List<TypeDocMeta> firstList = generator.analyzeProperties(SeaForm.class, new LinkedHashMap<>(), 4);
+        TypeDocMeta firstHangar = firstList.get(0);
+        firstHangar.setType(Object.class); // e.g. temporarily changed in swagger generation
+        firstHangar.getNestTypeDocMetaList().get(0).setDescription("changed");
+
+        // ## Act ##
+        List<TypeDocMeta> secondList = generator.analyzeProperties(SeaForm.class, new LinkedHashMap<>(), 4);
+
+        // ## Assert ##
+        assertEquals(Arrays.asList(SeaForm.class, SeaForm.HangarPart.class), analyzedList); // second is cache hit
+        TypeDocMeta secondHangar = secondList.get(0);
+        assertNotSame(firstHangar, secondHangar);
+        assertEquals(SeaForm.HangarPart.class, secondHangar.getType()); // not affected by first caller
+        TypeDocMeta showName = secondHangar.getNestTypeDocMetaList().get(0);
+        assertEquals("showName", showName.getName());
+        assertNull(showName.getDescription());
+        assertEquals(firstHangar.getAnnotationList(), secondHangar.getAnnotationList());
+    }
+
+    // -----------------------------------------------------
+    //                                            Type Graph
+    //                                            ----------
+    public void test_analyzeTopProperties_typeGraph() {
+        // ## Arrange ##
+        SyntheticActionDocumentGenerator generator =
+                new SyntheticActionDocumentGenerator(Collections.emptyList(), 4, OptionalThing.empty(), Collections.emptyList());
+        generator.enableTypeGraphAnalysis();
+
+        // ## Act ##
+        List<TypeDocMeta> propertyList = generator.analyzeTopProperties(LandResult.class, new LinkedHashMap<>());
+
+        // ## Assert ##
+        log(propertyList);
+        TypeDocMeta first = propertyList.get(0); // expanded at first occurrence
+        assertNull(first.getReferenceTypeName());
+        assertEquals(3, first.getNestTypeDocMetaList().size());
+        TypeDocMeta land = first.getNestTypeDocMetaList().get(1); // cycle to top
+        assertEquals(LandResult.class.getName(), land.getReferenceTypeName());
+        assertTrue(land.getNestTypeDocMetaList().isEmpty());
+        TypeDocMeta child = first.getNestTypeDocMetaList().get(2); // cycle to itself
+        assertEquals(LandResult.PiariPart.class.getName(), child.getReferenceTypeName());
+        TypeDocMeta second = propertyList.get(1); // same part again
+        assertEquals(LandResult.PiariPart.class.getName(), second.getReferenceTypeName());
+        assertTrue(second.getNestTypeDocMetaList().isEmpty());
+        TypeDocMeta piariList = propertyList.get(2); // same part again as list
+        assertEquals(LandResult.PiariPart.class.getName(), piariList.getReferenceTypeName());
+        assertTrue(piariList.getNestTypeDocMetaList().isEmpty());
+    }
+
+    public void test_analyzeTopProperties_typeGraph_depthAndCache() {
+        // ## Arrange ##
+        SyntheticActionDocumentGenerator generator =
+                new SyntheticActionDocumentGenerator(Collections.emptyList(), 1, OptionalThing.empty(), Collections.emptyList());
+        generator.enableTypeGraphAnalysis();
+
+        // ## Act ##
+        List<TypeDocMeta> propertyList = generator.analyzeTopProperties(LandResult.class, new LinkedHashMap<>());
+        List<TypeDocMeta> cachedList = generator.analyzeTopProperties(LandResult.class, new LinkedHashMap<>());
+
+        // ## Assert ##
+        TypeDocMeta first = propertyList.get(0);
+        assertEquals(3, first.getNestTypeDocMetaList().size());
+        first.getNestTypeDocMetaList().forEach(nest -> { // cut by depth 1, so not expanded and not reference
+            assertTrue(nest.getNestTypeDocMetaList().isEmpty());
+            assertNull(nest.getReferenceTypeName());
+        });
+        assertEquals(LandResult.PiariPart.class.getName(), propertyList.get(1).getReferenceTypeName());
+
+        assertEquals(1, generator.propertyAnalysisCacheMap.size()); // the whole graph of top type
+        assertEquals(new Gson().toJson(propertyList), new Gson().toJson(cachedList));
+        assertNotSame(propertyList.get(0), cachedList.get(0)); // copied from cache
+        assertNull(generator.currentTypeGraph.get());
+    }
+
+    public void test_analyzeTopProperties_typeGraph_deepThenShallow() {
+        // ## Arrange ##
+        SyntheticActionDocumentGenerator generator =
+                new SyntheticActionDocumentGenerator(Collections.emptyList(), 2, OptionalThing.empty(), Collections.emptyList());
+        generator.enableTypeGraphAnalysis();
+        SyntheticActionDocumentGenerator normalGenerator =
+                new SyntheticActionDocumentGenerator(Collections.emptyList(), 2, OptionalThing.empty(), Collections.emptyList());
+
+        // ## Act ##
+        List<TypeDocMeta> propertyList = generator.analyzeTopProperties(MarinaResult.class, new LinkedHashMap<>());
+        List<TypeDocMeta> normalList = normalGenerator.analyzeTopProperties(MarinaResult.class, new LinkedHashMap<>());
+
+        // ## Assert ##
+        log(propertyList);
+        TypeDocMeta deepShared = propertyList.get(0).getNestTypeDocMetaList().get(0); // cut by depth, so replaced by shallow one
+        assertEquals(MarinaResult.SharedPart.class.getName(), deepShared.getReferenceTypeName());
+        assertTrue(deepShared.getNestTypeDocMetaList().isEmpty());
+        TypeDocMeta shared = propertyList.get(1); // expanded with more depth
+        assertNull(shared.getReferenceTypeName());
+        TypeDocMeta child = shared.getNestTypeDocMetaList().get(0);
+        assertNull(child.getReferenceTypeName());
+        assertEquals("name", child.getNestTypeDocMetaList().get(0).getName()); // not lost
+
+        TypeDocMeta normalChild = normalList.get(1).getNestTypeDocMetaList().get(0); // same depth as normal analysis
+        assertEquals(normalChild.getNestTypeDocMetaList().size(), child.getNestTypeDocMetaList().size());
+    }
+
+    public void test_analyzeTopProperties_typeGraph_clearedWhenException() {
+        // ## Arrange ##
+        SyntheticActionDocumentGenerator generator =
+                new SyntheticActionDocumentGenerator(Collections.emptyList(), 4, OptionalThing.empty(), Collections.emptyList()) {
+                    @Override
+                    protected List<TypeDocMeta> doAnalyzeProperties(Class<?> propertyOwner, Map<String, Type> genericParameterTypesMap,
+                            int depth) {
+                        throw new IllegalStateException("broken analysis");
+                    }
+                };
+        generator.enableTypeGraphAnalysis();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> generator.analyzeTopProperties(LandResult.class, new LinkedHashMap<>()));
+        assertNull(generator.currentTypeGraph.get()); // not left in e.g. pooled thread
+    }
+
+    // -----------------------------------------------------
+    //                                    Analyze Annotation
+    //                                    ------------------
+    public void test_analyzeAnnotationList_basic() throws Exception {
+        // ## Arrange ##
+        ActionDocumentGenerator generator = createGenerator();
+        Annotation dockside = getClass().getDeclaredField("dockside").getAnnotation(SeaPark.class);
+        Annotation hangar = getClass().getDeclaredField("hangar").getAnnotation(SeaPark.class);
+        Annotation sameHangar = getClass().getDeclaredField("sameHangar").getAnnotation(SeaPark.class);
+
+        // ## Act ##
+        List<String> annotationList = generator.analyzeAnnotationList(Arrays.asList(dockside, hangar, sameHangar));
+
+        // ## Assert ##
+        assertEquals("SeaPark", annotationList.get(0)); // only default values
+        assertTrue(annotationList.get(1).startsWith("SeaPark{")); // attribute order is by reflection
+        assertContains(annotationList.get(1), "hangar=shadow");
+        assertContains(annotationList.get(1), "groups=[String, Integer]");
+        assertEquals(annotationList.get(1), annotationList.get(2));
+        assertEquals(2, generator.annotationExpMap.size()); // equal annotations are rendered once
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface SeaPark {
+
+        String hangar() default "mystic";
+
+        Class<?>[] groups() default {};
+    }
+
+    @SeaPark
+    protected String dockside;
+    @SeaPark(hangar = "shadow", groups = { String.class, Integer.class })
+    protected String hangar;
+    @SeaPark(hangar = "shadow", groups = { String.class, Integer.class })
+    protected String sameHangar;
+
     private ActionDocumentGenerator createGenerator() {
         return new ActionDocumentGenerator(Collections.emptyList(), 0, OptionalThing.empty());
     }
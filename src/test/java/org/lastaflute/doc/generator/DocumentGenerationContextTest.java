@@ -0,0 +1,143 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.generator;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.core.json.engine.RealJsonEngine;
+import org.lastaflute.doc.DocumentGenerator;
+import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.web.UrlChain;
+import org.lastaflute.web.path.ActionPathResolver;
+
+/**
+ * @author jflute
+ */
+public class DocumentGenerationContextTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                           Component
+    //                                                                           =========
+    public void test_component_resolvedOncePerRun() {
+        // ## Arrange ##
+        Map<String, AtomicInteger> lookupCountMap = new ConcurrentHashMap<String, AtomicInteger>();
+        CountingDocumentGenerator generator = new CountingDocumentGenerator(lookupCountMap);
+
+        // ## Act ##
+        DocumentGenerationContext firstContext = generator.runGeneration(); // using components many times
+
+        // ## Assert ##
+        assertEquals(1, lookupCountMap.get(ActionPathResolver.class.getSimpleName()).get());
+        assertEquals(1, lookupCountMap.get("ApplicationJsonMappingOption").get());
+        assertEquals(1, lookupCountMap.get("JsonEngine").get());
+        assertNull(generator.getCurrentGenerationContext()); // cleared after the run
+
+        // next run, e.g. watch mode, resolves again
+        DocumentGenerationContext secondContext = generator.runGeneration();
+        assertNotSame(firstContext, secondContext);
+        assertEquals(2, lookupCountMap.get(ActionPathResolver.class.getSimpleName()).get());
+        assertEquals(2, lookupCountMap.get("ApplicationJsonMappingOption").get());
+        assertEquals(2, lookupCountMap.get("JsonEngine").get());
+        assertNull(generator.getCurrentGenerationContext());
+    }
+
+    private static class CountingDocumentGenerator extends DocumentGenerator {
+
+        private final Map<String, AtomicInteger> lookupCountMap;
+        private DocumentGenerationContext usedContext;
+
+        public CountingDocumentGenerator(Map<String, AtomicInteger> lookupCountMap) {
+            super(DfCollectionUtil.newArrayList("src/main/java/"));
+            this.lookupCountMap = lookupCountMap;
+            suppressJobDoc();
+        }
+
+        @Override
+        protected DocumentGeneratorFactory createDocumentGeneratorFactory() {
+            return new CountingDocumentGeneratorFactory(lookupCountMap);
+        }
+
+        public DocumentGenerationContext runGeneration() {
+            generateLastaDocDetailMap(() -> { // instead of generating action metas by container
+                for (int i = 0; i < 3; i++) { // e.g. per action, per swagger schema
+                    usedContext = getGenerationContext();
+                    usedContext.getActionPathResolver();
+                    usedContext.getJsonEngine();
+                    getApplicationJsonMappingOption();
+                }
+                List<ActionDocMeta> actionDocMetaList = DfCollectionUtil.newArrayList();
+                return actionDocMetaList;
+            });
+            return usedContext;
+        }
+
+        public DocumentGenerationContext getCurrentGenerationContext() {
+            return generationContext;
+        }
+    }
+
+    private static class CountingDocumentGeneratorFactory extends DocumentGeneratorFactory {
+
+        private final Map<String, AtomicInteger> lookupCountMap;
+
+        public CountingDocumentGeneratorFactory(Map<String, AtomicInteger> lookupCountMap) {
+            this.lookupCountMap = lookupCountMap;
+        }
+
+        @Override
+        public DocumentGenerationContext createDocumentGenerationContext() {
+            return new DocumentGenerationContext(this) {
+                @SuppressWarnings("unchecked")
+                @Override
+                protected <COMPONENT> COMPONENT findContainerComponent(Class<COMPONENT> componentType) { // stub container
+                    countUp(componentType.getSimpleName());
+                    if (ActionPathResolver.class.equals(componentType)) {
+                        return (COMPONENT) new ActionPathResolver() {
+                            @Override
+                            public String toActionUrl(Class<?> actionType, UrlChain chain) {
+                                return "/";
+                            }
+                        };
+                    }
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
+            countUp("ApplicationJsonMappingOption");
+            return OptionalThing.empty();
+        }
+
+        @Override
+        public RealJsonEngine createJsonEngine() {
+            countUp("JsonEngine");
+            return super.createJsonEngine();
+        }
+
+        private void countUp(String key) {
+            lookupCountMap.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.index;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ */
+public class ActionIndexProcessorTest extends PlainTestCase {
+
+    public void test_process_basic() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-index");
+        try {
+            Path srcDir = rootDir.resolve("src");
+            Path classesDir = Files.createDirectories(rootDir.resolve("classes"));
+            writeSource(srcDir, "sea/SeaAction.java", "package sea; public class SeaAction { public static class InnerAction {} }");
+            writeSource(srcDir, "sea/land/LandAction.java", "package sea.land; public class LandAction {}");
+            writeSource(srcDir, "sea/AbstractPiariAction.java", "package sea; public abstract class AbstractPiariAction {}");
+            writeSource(srcDir, "sea/BonvoAction.java", "package sea; public interface BonvoAction {}");
+            writeSource(srcDir, "sea/DstoreLogic.java", "package sea; public class DstoreLogic {}");
+
+            // ## Act ##
+            compile(srcDir, classesDir);
+
+            // ## Assert ##
+            Path indexFile = classesDir.resolve(ActionIndexProcessor.ACTION_INDEX_PATH);
+            List<String> lineList = Files.readAllLines(indexFile, StandardCharsets.UTF_8);
+            log(lineList);
+            assertEquals(DfCollectionUtil.newArrayList("sea.SeaAction", "sea.land.LandAction"), lineList); // sorted, concrete top-level
+        } finally {
+            delete(rootDir);
+        }
+    }
+
+    public void test_process_noAction() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-index");
+        try {
+            Path srcDir = rootDir.resolve("src");
+            Path classesDir = Files.createDirectories(rootDir.resolve("classes"));
+            writeSource(srcDir, "sea/DstoreLogic.java", "package sea; public class DstoreLogic {}");
+
+            // ## Act ##
+            compile(srcDir, classesDir);
+
+            // ## Assert ##
+            assertFalse(Files.exists(classesDir.resolve(ActionIndexProcessor.ACTION_INDEX_PATH))); // e.g. library module
+        } finally {
+            delete(rootDir);
+        }
+    }
+
+    private void writeSource(Path srcDir, String path, String source) throws IOException {
+        Path sourceFile = srcDir.resolve(path);
+        Files.createDirectories(sourceFile.getParent());
+        Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void compile(Path srcDir, Path classesDir) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> argList = DfCollectionUtil.newArrayList("-nowarn", "-encoding", "UTF-8");
+        argList.addAll(DfCollectionUtil.newArrayList("-processor", ActionIndexProcessor.class.getName()));
+        argList.addAll(DfCollectionUtil.newArrayList("-processorpath", System.getProperty("java.class.path")));
+        argList.addAll(DfCollectionUtil.newArrayList("-d", classesDir.toString()));
+        try (Stream<Path> stream = Files.walk(srcDir)) {
+            stream.filter(path -> path.toString().endsWith(".java")).forEach(path -> argList.add(path.toString()));
+        }
+        assertEquals(0, compiler.run(null, null, null, argList.toArray(new String[argList.size()])));
+    }
+
+    private void delete(Path rootDir) throws IOException {
+        try (Stream<Path> stream = Files.walk(rootDir)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.meta;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class JavadocTagModelTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    public void test_parse_basic() {
+        // ## Arrange ##
+        String comment = String.join("\n", //
+                "Show the sea.", //
+                "@param seaId The ID of sea. (NotNull) e.g. 1", //
+                "@param land The name of land.", //
+                "@return The JSON response. (NotNull)");
+
+        // ## Act ##
+        JavadocTagModel model = JavadocTagModel.parse(comment);
+
+        // ## Assert ##
+        assertEquals("Show the sea.", model.getSummary());
+        assertEquals("The ID of sea. (NotNull) e.g. 1", model.findParamComment("seaId"));
+        assertEquals("The name of land.", model.findParamComment("land"));
+        assertNull(model.findParamComment("sea"));
+        assertEquals("The JSON response. (NotNull)", model.getReturnComment());
+        assertEquals("1", model.getExampleValue());
+    }
+
+    public void test_parse_empty() {
+        assertNull(JavadocTagModel.parse(null).getSummary());
+        assertTrue(JavadocTagModel.parse("").getParamCommentMap().isEmpty());
+        assertNull(JavadocTagModel.parse(null).getExampleValue());
+    }
+
+    // ===================================================================================
+    //                                                                       Param Comment
+    //                                                                       =============
+    public void test_findParamComment_sameAsRegex() {
+        List<String> commentList = Arrays.asList( //
+                "@param sea The sea.\n@param land The land.\n", //
+                "Show.\n@param sea The sea.\n  continued\n@return The result.", //
+                "@param sea The first.\n@param sea The second.\n@return The result.", //
+                "@param sea The sea.\r\n@param land The land.\r\n@return The result.", //
+                "@param sea The sea.\r\n@return The result.", //
+                "@param sea\n@return The result.", //
+                "@param sea\n", //
+                "@paramsea The sea.\n", //
+                "@param  sea The double spaces.\n", //
+                "@param sea\tThe tab.\nend", //
+                "@param sea The sea.");
+        for (String comment : commentList) {
+            JavadocTagModel model = JavadocTagModel.parse(comment);
+            for (String name : Arrays.asList("sea", "land")) {
+                assertEquals(comment, findParamCommentByRegex(comment, name), model.findParamComment(name));
+            }
+        }
+    }
+
+    protected String findParamCommentByRegex(String comment, String name) { // old logic
+        Pattern pattern = Pattern.compile(".*@param\\s?" + name + "\\s?(.*)\r?\n.*", Pattern.DOTALL);
+        Matcher matcher = pattern.matcher(comment);
+        return matcher.matches() ? matcher.group(1).replaceAll("\r?\n.*", "") : null;
+    }
+
+    // ===================================================================================
+    //                                                                       Example Value
+    //                                                                       =============
+    public void test_getExampleValue() {
+        assertEquals("sea land", JavadocTagModel.parse("The name. e.g. \"sea land\"").getExampleValue());
+        assertEquals(Arrays.asList("sea", "land", null), JavadocTagModel.parse("The list. e.g. [sea, \"land\", null]").getExampleValue());
+        assertEquals("sea", JavadocTagModel.parse("The name.\ne.g. sea (land)").getExampleValue());
+        assertNull(JavadocTagModel.parse("The name. e.g. null").getExampleValue());
+        assertNull(JavadocTagModel.parse("The name. (NotNull)").getExampleValue());
+    }
+}
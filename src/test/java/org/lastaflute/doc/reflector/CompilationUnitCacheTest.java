@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+/**
+ * @author jflute
+ */
+public class CompilationUnitCacheTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                                 Get
+    //                                                                                 ===
+    public void test_get_hitAndChanged() {
+        // ## Arrange ##
+        CompilationUnitCache cache = new CompilationUnitCache();
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // ## Act ##
+        SourceDeclarationIndex first = cache.get("sea", 1L, 10L, () -> newUnit(loadCount)).get();
+        SourceDeclarationIndex second = cache.get("sea", 1L, 10L, () -> newUnit(loadCount)).get();
+        SourceDeclarationIndex modified = cache.get("sea", 2L, 10L, () -> newUnit(loadCount)).get();
+
+        // ## Assert ##
+        assertSame(first, second);
+        assertNotSame(first, modified);
+        assertEquals(2, loadCount.get());
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(2L, cache.getMissCount());
+        assertEquals(1, cache.getEntryCount());
+        assertEquals(10L * CompilationUnitCache.INDEX_WEIGHT_FACTOR, cache.getWeight());
+    }
+
+    public void test_get_evictByEntryCount() {
+        // ## Arrange ##
+        CompilationUnitCache cache = new CompilationUnitCache(2, Long.MAX_VALUE);
+        AtomicInteger loadCount = new AtomicInteger();
+        cache.get("sea", 1L, 10L, () -> newUnit(loadCount));
+        cache.get("land", 1L, 10L, () -> newUnit(loadCount));
+        cache.get("sea", 1L, 10L, () -> newUnit(loadCount)); // sea is recently used
+
+        // ## Act ##
+        cache.get("piari", 1L, 10L, () -> newUnit(loadCount));
+
+        // ## Assert ##
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(1L, cache.getEvictionCount());
+        cache.get("sea", 1L, 10L, () -> newUnit(loadCount)); // still cached
+        assertEquals(3, loadCount.get());
+        cache.get("land", 1L, 10L, () -> newUnit(loadCount)); // evicted
+        assertEquals(4, loadCount.get());
+    }
+
+    public void test_get_evictByWeight() {
+        // ## Arrange ##
+        CompilationUnitCache cache = new CompilationUnitCache(100, 50L);
+        AtomicInteger loadCount = new AtomicInteger();
+
+        // ## Act ##
+        cache.get("sea", 1L, 10L, () -> newUnit(loadCount));
+        cache.get("land", 1L, 10L, () -> newUnit(loadCount));
+        cache.get("piari", 1L, 10L, () -> newUnit(loadCount));
+
+        // ## Assert ##
+        assertEquals(2, cache.getEntryCount());
+        assertEquals(40L, cache.getWeight());
+        assertEquals(1L, cache.getEvictionCount());
+    }
+
+    public void test_get_weightByRetainedAst() {
+        // ## Arrange ##
+        CompilationUnitCache cache = new CompilationUnitCache();
+        CompilationUnit compilationUnit = StaticJavaParser.parse("public class Sea { /** land */ public String land; }");
+
+        // ## Act ##
+        cache.get("full", 1L, 10L, () -> new JavaparserDeclarationIndex(compilationUnit, node -> null));
+        cache.get("summary", 1L, 10L, () -> new JavaparserDeclarationIndex(compilationUnit, node -> null, exp -> exp, false));
+
+        // ## Assert ##
+        long expected = 10L * CompilationUnitCache.AST_WEIGHT_FACTOR + 10L * CompilationUnitCache.INDEX_WEIGHT_FACTOR;
+        assertEquals(expected, cache.getWeight());
+    }
+
+    public void test_get_loadFailure() {
+        // ## Arrange ##
+        CompilationUnitCache cache = new CompilationUnitCache();
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> {
+            cache.get("sea", 1L, 10L, () -> {
+                throw new IllegalStateException("broken");
+            });
+        });
+        assertEquals(0, cache.getEntryCount());
+        assertFalse(cache.get("sea", 1L, 10L, () -> null).isPresent()); // retried, parse failure is empty
+    }
+
+    private SourceDeclarationIndex newUnit(AtomicInteger loadCount) {
+        loadCount.incrementAndGet();
+        return new SourceDeclarationIndex();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class JavaparserSourceParserReflectorTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                   Declaration Index
+    //                                                                   =================
+    public void test_findDeclarationIndex_sharedCacheByRetention() {
+        // ## Arrange ##
+        List<String> srcDirList = Arrays.asList("src/test/java");
+        CompilationUnitCache cache = new CompilationUnitCache();
+        JavaparserSourceParserReflector summary = new JavaparserSourceParserReflector(srcDirList, cache).retainSummaryOnly();
+        JavaparserSourceParserReflector full = new JavaparserSourceParserReflector(srcDirList, cache);
+
+        // ## Act ##
+        SourceDeclarationIndex summaryIndex = summary.findDeclarationIndex(getClass()).get();
+        SourceDeclarationIndex fullIndex = full.findDeclarationIndex(getClass()).get();
+
+        // ## Assert ##
+        assertNull(((JavaparserDeclarationIndex) summaryIndex).getCompilationUnit());
+        assertNotNull(((JavaparserDeclarationIndex) fullIndex).getCompilationUnit()); // not served the summary one
+        assertEquals(2, cache.getEntryCount());
+        assertSame(summaryIndex, summary.findDeclarationIndex(getClass()).get());
+        assertSame(fullIndex, full.findDeclarationIndex(getClass()).get());
+    }
+
+    // ===================================================================================
+    //                                                                             Warm-up
+    //                                                                             =======
+    public void test_warmUp_limitedToCacheCapacity() {
+        // ## Arrange ##
+        List<String> srcDirList = Arrays.asList("src/test/java/org/lastaflute/doc/unit/mock"); // more than three files
+        CompilationUnitCache cache = new CompilationUnitCache(3, CompilationUnitCache.DEFAULT_MAX_WEIGHT);
+        JavaparserSourceParserReflector reflector = new JavaparserSourceParserReflector(srcDirList, cache);
+
+        // ## Act ##
+        reflector.warmUp(2);
+
+        // ## Assert ##
+        log(cache);
+        assertEquals(3, cache.getEntryCount());
+        assertEquals(3L, cache.getLoadCount());
+        assertEquals(0L, cache.getEvictionCount()); // not parsed only to be evicted
+    }
+
+    // ===================================================================================
+    //                                                                          Field List
+    //                                                                          ==========
+    public void test_getFieldListOrderByDefinition_sameNameNested() {
+        // ## Arrange ##
+        List<String> srcDirList = Arrays.asList("src/test/java");
+        List<SourceParserReflector> reflectorList = Arrays.asList( //
+                new JavaparserSourceParserReflector(srcDirList, new CompilationUnitCache()),
+                new LexicalSourceParserReflector(srcDirList, new CompilationUnitCache()));
+
+        for (SourceParserReflector reflector : reflectorList) {
+            // ## Act ##
+            List<String> seaList = toFieldNameList(reflector.getFieldListOrderByDefinition(SeaPart.HangarPart.class));
+            List<String> landList = toFieldNameList(reflector.getFieldListOrderByDefinition(LandPart.HangarPart.class));
+
+            // ## Assert ##
+            assertEquals(Arrays.asList("sea", "land"), seaList);
+            assertEquals(Arrays.asList("land", "sea"), landList); // not ordered by SeaPart.HangarPart
+        }
+    }
+
+    private List<String> toFieldNameList(List<Field> fieldList) {
+        return fieldList.stream().map(Field::getName).collect(Collectors.toList());
+    }
+
+    public static class SeaPart {
+
+        public static class HangarPart {
+
+            public String sea;
+            public String land;
+        }
+    }
+
+    public static class LandPart {
+
+        public static class HangarPart {
+
+            public String land;
+            public String sea;
+        }
+    }
+}
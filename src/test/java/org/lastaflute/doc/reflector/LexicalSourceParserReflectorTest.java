@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.List;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.doc.meta.ActionDocMeta;
+import org.lastaflute.doc.unit.synthetic.SyntheticActionDocumentGenerator;
+import org.lastaflute.doc.unit.synthetic.SyntheticApplication;
+import org.lastaflute.doc.unit.synthetic.SyntheticApplicationGenerator;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * @author jflute
+ */
+public class LexicalSourceParserReflectorTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                         Equivalence
+    //                                                                         ===========
+    public void test_reflect_sameAsJavaparser() {
+        // ## Arrange ##
+        ClassLoader originalLoader = Thread.currentThread().getContextClassLoader();
+        try (SyntheticApplication application = new SyntheticApplicationGenerator().actionCount(2).classificationCount(2).generate()) {
+            Thread.currentThread().setContextClassLoader(application.getClassLoader());
+            List<String> srcDirList = DfCollectionUtil.newArrayList(application.getSrcDir());
+            List<Class<?>> actionClassList = application.getActionClassList();
+            SourceParserReflector javaparser = new JavaparserSourceParserReflector(srcDirList, new CompilationUnitCache());
+            SourceParserReflector lexical = new LexicalSourceParserReflector(srcDirList, new CompilationUnitCache());
+
+            // ## Act ##
+            List<ActionDocMeta> javaparserList = generate(srcDirList, javaparser, actionClassList);
+            List<ActionDocMeta> lexicalList = generate(srcDirList, lexical, actionClassList);
+
+            // ## Assert ##
+            Gson gson = new GsonBuilder().setPrettyPrinting().create(); // comments, descriptions and ordering
+            String javaparserJson = gson.toJson(javaparserList);
+            assertContains(javaparserJson, "The keyword of product name, partial match."); // comments are reflected
+            assertEquals(javaparserJson, gson.toJson(lexicalList));
+        } finally {
+            Thread.currentThread().setContextClassLoader(originalLoader);
+        }
+    }
+
+    private List<ActionDocMeta> generate(List<String> srcDirList, SourceParserReflector reflector, List<Class<?>> actionClassList) {
+        return new SyntheticActionDocumentGenerator(srcDirList, 4, OptionalThing.of(reflector), actionClassList).generateActionDocMetaList();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.util.Arrays;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.FieldDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.MethodDeclarationEntry;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.TypeDeclarationEntry;
+
+import com.github.javaparser.StaticJavaParser;
+
+/**
+ * @author jflute
+ */
+public class LexicalSourceScannerTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                                Scan
+    //                                                                                ====
+    public void test_scan_declaration() {
+        // ## Arrange ##
+        String source = String.join("\n", //
+                "package org.docksidestage;", //
+                "", //
+                "/**", //
+                " * The action of sea.", //
+                " * @author jflute", //
+                " */", //
+                "public class SeaAction {", //
+                "", //
+                "    /** The name of land. (NotNull) */", //
+                "    public String landName = \"/* not comment */\";", //
+                "", //
+                "    // not javadoc", //
+                "    public Integer piariCount;", //
+                "", //
+                "    /**", //
+                "     * Show the sea.", //
+                "     * @param seaId The ID of sea. (NotNull)", //
+                "     * @return The JSON response. (NotNull)", //
+                "     */", //
+                "    @Execute", //
+                "    public JsonResponse<SeaResult> index(Integer seaId, @Required String hangar) {", //
+                "        if (seaId == null) {", //
+                "            return asJson(new SeaResult(\"land\"));", //
+                "        }", //
+                "        return asJson(toResult(() -> { return seaId; }));", //
+                "    }", //
+                "}");
+
+        // ## Act ##
+        SourceDeclarationIndex index = new LexicalSourceScanner(text -> text.trim()).scan(source);
+
+        // ## Assert ##
+        TypeDeclarationEntry typeEntry = index.findTypeEntryList("SeaAction").get(0);
+        assertEquals("The action of sea.\n\n@author jflute", typeEntry.getComment().replace("\r\n", "\n"));
+        FieldDeclarationEntry landEntry = index.findFieldEntryList("landName").get(0);
+        assertEquals("The name of land. (NotNull)", landEntry.getComment());
+        assertEquals("SeaAction", landEntry.getParentTypeName());
+        assertNull(index.findFieldEntryList("piariCount").get(0).getComment());
+        MethodDeclarationEntry methodEntry = index.findMethodEntryList("index").get(0);
+        assertEquals(Arrays.asList("seaId", "hangar"), methodEntry.getParameterNameList());
+        assertEquals(6, methodEntry.getLineCount()); // from annotation like javaparser
+        assertEquals(Arrays.asList("asJson(new SeaResult(\"land\"))", "asJson(toResult(() -> {\n    return seaId;\n}))", "seaId"),
+                Arrays.asList(methodEntry.getReturnExpList().stream().map(exp -> exp.replace("\r\n", "\n")).toArray()));
+        assertTrue(landEntry.getOrder() < methodEntry.getOrder());
+    }
+
+    public void test_scan_ordinal() {
+        // ## Arrange ##
+        String source = String.join("\n", //
+                "public class SeaForm {", //
+                "    public String sea, land;", //
+                "    public Integer piari;", //
+                "    public void dockside() {}", //
+                "    public static class HangarPart {", //
+                "        public String piari;", //
+                "        public void hangar() {}", //
+                "    }", //
+                "    public void dockside(String mystic) {}", //
+                "}");
+
+        // ## Act ##
+        SourceDeclarationIndex index = new LexicalSourceScanner(text -> text).scan(source);
+
+        // ## Assert ##
+        int docksideOrdinal = index.findMethodOrdinal("SeaForm", "dockside"); // first definition
+        assertTrue(docksideOrdinal >= 0);
+        assertTrue(docksideOrdinal < index.findMethodOrdinal("SeaForm.HangarPart", "hangar"));
+        assertEquals(-1, index.findMethodOrdinal("SeaForm", "hangar")); // not declared in SeaForm
+        assertEquals(-1, index.findMethodOrdinal("SeaForm", "bonvo"));
+        assertEquals(index.findFieldOrdinal("SeaForm", "sea"), index.findFieldOrdinal("SeaForm", "land"));
+        assertTrue(index.findFieldOrdinal("SeaForm", "sea") < index.findFieldOrdinal("SeaForm", "piari"));
+        assertTrue(index.findFieldOrdinal("SeaForm", "piari") < index.findFieldOrdinal("SeaForm.HangarPart", "piari"));
+        assertEquals(-1, index.findFieldOrdinal("SeaForm.HangarPart", "sea"));
+    }
+
+    public void test_scan_ordinal_sameNameNested() {
+        // ## Arrange ##
+        String source = String.join("\n", //
+                "public class SeaForm {", //
+                "    public static class LandPart {", //
+                "        public static class HangarPart {", //
+                "            public String sea;", //
+                "            public String land;", //
+                "            public void sea() {}", //
+                "            public void land() {}", //
+                "        }", //
+                "    }", //
+                "    public static class PiariPart {", //
+                "        public static class HangarPart {", //
+                "            public String land;", //
+                "            public String sea;", //
+                "            public void land() {}", //
+                "            public void sea() {}", //
+                "        }", //
+                "    }", //
+                "    public Runnable bonvo = new Runnable() {", //
+                "        public String land;", //
+                "        public void run() {}", //
+                "    };", //
+                "}");
+
+        // ## Act ##
+        SourceDeclarationIndex lexical = new LexicalSourceScanner(text -> text).scan(source);
+        SourceDeclarationIndex javaparser = new JavaparserDeclarationIndex(StaticJavaParser.parse(source), node -> null);
+
+        // ## Assert ##
+        for (SourceDeclarationIndex index : Arrays.asList(lexical, javaparser)) {
+            String landHangar = "SeaForm.LandPart.HangarPart";
+            String piariHangar = "SeaForm.PiariPart.HangarPart";
+            assertTrue(index.findFieldOrdinal(landHangar, "sea") < index.findFieldOrdinal(landHangar, "land"));
+            assertTrue(index.findFieldOrdinal(piariHangar, "land") < index.findFieldOrdinal(piariHangar, "sea"));
+            assertTrue(index.findMethodOrdinal(landHangar, "sea") < index.findMethodOrdinal(landHangar, "land"));
+            assertTrue(index.findMethodOrdinal(piariHangar, "land") < index.findMethodOrdinal(piariHangar, "sea"));
+            assertTrue(index.findFieldOrdinal("SeaForm.", "land") >= 0); // anonymous class
+            assertTrue(index.findMethodOrdinal("SeaForm.", "run") >= 0);
+            assertEquals(-1, index.findMethodOrdinal("SeaForm", "run"));
+        }
+    }
+
+    public void test_scan_brokenBracket() {
+        // ## Arrange ##
+        String source = "public class SeaAction { public void index() { }";
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalStateException.class, () -> new LexicalSourceScanner(text -> text).scan(source));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.reflector;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.doc.generator.DocumentGeneratorFactory;
+import org.lastaflute.doc.reflector.SourceDeclarationIndex.MethodDeclarationEntry;
+
+/**
+ * @author jflute
+ */
+public class SourceDeclarationIndexStoreTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                        Save/Restore
+    //                                                                        ============
+    public void test_saveAndRestore() throws Exception {
+        // ## Arrange ##
+        Path storeDir = Files.createTempDirectory("lastadoc-store");
+        Path storeFile = storeDir.resolve("source-declaration-index.json");
+        Path sourceFile = Paths.get("src/test/java/org/lastaflute/doc/unit/mock/SeaForm.java").toAbsolutePath().normalize();
+        SourceDeclarationIndex index = new LexicalSourceScanner(text -> text).scan(String.join("\n", //
+                "public class SeaForm {", //
+                "    /** The name of sea. */", //
+                "    public String seaName;", //
+                "    public String land() {", //
+                "        return asJson(seaName);", //
+                "    }", //
+                "}"));
+        SourceDeclarationIndexStore store = newStore(storeFile);
+        store.register("sea", sourceFile, 100L, 10L, index);
+
+        // ## Act ##
+        store.save();
+        SourceDeclarationIndexStore reloaded = newStore(storeFile);
+        reloaded.load();
+
+        // ## Assert ##
+        SourceDeclarationIndex restored = reloaded.restore("sea", sourceFile, 100L, 10L).get();
+        assertEquals("SeaForm", restored.findTypeEntryList("SeaForm").get(0).getName());
+        assertEquals("The name of sea.", restored.findFieldEntryList("seaName").get(0).getComment().trim());
+        MethodDeclarationEntry methodEntry = restored.findMethodEntryList("land").get(0);
+        assertEquals(Arrays.asList("asJson(seaName)"), methodEntry.getReturnExpList());
+        assertEquals(Arrays.asList("land"), restored.getMethodNameList());
+        assertFalse(reloaded.restore("sea", sourceFile, 101L, 10L).isPresent()); // modified
+        assertFalse(reloaded.restore("land", sourceFile, 100L, 10L).isPresent()); // other parser
+        assertEquals(1, reloaded.getRestoredCount());
+    }
+
+    protected SourceDeclarationIndexStore newStore(Path storeFile) {
+        return new SourceDeclarationIndexStore(storeFile, new DocumentGeneratorFactory().createLaDocJsonEngine(true));
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.unit.mock;
+
+import java.util.List;
+
+/**
+ * @author jflute
+ */
+public class LandResult {
+
+    public PiariPart first;
+    public PiariPart second; // same part again
+    public List<PiariPart> piariList; // same part again as list
+
+    public static class PiariPart {
+
+        public String name;
+        public LandResult land; // cycle to top
+        public PiariPart child; // cycle to itself
+    }
+}
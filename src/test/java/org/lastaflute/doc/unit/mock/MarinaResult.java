@@ -0,0 +1,40 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.unit.mock;
+
+/**
+ * @author jflute
+ */
+public class MarinaResult {
+
+    public DeepPart deep; // reaches shared part deeply at first
+    public SharedPart shared; // same part again but shallow
+
+    public static class DeepPart {
+
+        public SharedPart shared;
+    }
+
+    public static class SharedPart {
+
+        public ChildPart child;
+    }
+
+    public static class ChildPart {
+
+        public String name;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.unit.synthetic;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dbflute.optional.OptionalThing;
+import org.dbflute.util.DfCollectionUtil;
+import org.dbflute.util.Srl;
+import org.lastaflute.core.json.JsonMappingOption;
+import org.lastaflute.di.core.meta.impl.ComponentDefImpl;
+import org.lastaflute.doc.generator.ActionDocumentGenerator;
+import org.lastaflute.doc.reflector.SourceParserReflector;
+import org.lastaflute.web.Execute;
+import org.lastaflute.web.UrlChain;
+import org.lastaflute.web.path.ActionAdjustmentProvider;
+import org.lastaflute.web.path.ActionPathResolver;
+import org.lastaflute.web.ruts.config.ActionExecute;
+import org.lastaflute.web.ruts.config.ActionMapping;
+import org.lastaflute.web.ruts.config.ExecuteOption;
+
+/**
+ * The action document generator for synthetic application, without DI container. <br>
+ * Only discovery and container components are stubbed, so metas are made by the real analysis, e.g. prepareActionDocMeta().
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class SyntheticActionDocumentGenerator extends ActionDocumentGenerator {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final List<Class<?>> actionClassList;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public SyntheticActionDocumentGenerator(List<String> srcDirList, int depth, OptionalThing<SourceParserReflector> sourceParserReflector,
+            List<Class<?>> actionClassList) {
+        super(srcDirList, depth, sourceParserReflector);
+        this.actionClassList = actionClassList;
+    }
+
+    // ===================================================================================
+    //                                                                           Discovery
+    //                                                                           =========
+    @Override
+    protected List<ActionExecute> findTargetActionExecuteList() { // real executes without module config
+        final List<ActionExecute> executeList = DfCollectionUtil.newArrayList();
+        actionClassList.forEach(actionClass -> {
+            final String componentName = Srl.initUncap(actionClass.getSimpleName()); // e.g. product1Action
+            final ActionMapping actionMapping = new ActionMapping(new ComponentDefImpl(actionClass, componentName), componentName,
+                    new ActionAdjustmentProvider() {
+                    });
+            final List<Method> methodList = Arrays.stream(actionClass.getMethods()).filter(method -> {
+                return method.getAnnotation(Execute.class) != null;
+            }).sorted(Comparator.comparing(method -> method.getName())).collect(Collectors.toList());
+            methodList.forEach(method -> {
+                final ActionExecute execute = new ActionExecute(actionMapping, method, new ExecuteOption(null, false, false, 0));
+                if (!exceptsActionExecute(execute)) {
+                    executeList.add(execute);
+                }
+            });
+        });
+        return executeList;
+    }
+
+    // ===================================================================================
+    //                                                                      Container Stub
+    //                                                                      ==============
+    @Override
+    protected ActionPathResolver getActionPathResolver() {
+        return new ActionPathResolver() {
+            @Override
+            public String toActionUrl(Class<?> actionType, UrlChain chain) { // e.g. /product1/detail/{}/
+                final String actionPath = actionType.getSimpleName().replaceAll("Action$", "").toLowerCase();
+                final String morePath = chain.getUrlParts() != null ? chain.getUrlParts()[0] + "/" : "";
+                return "/" + actionPath + "/" + morePath;
+            }
+        };
+    }
+
+    @Override
+    protected OptionalThing<JsonMappingOption> getApplicationJsonMappingOption() {
+        return OptionalThing.empty(); // no container
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.unit.synthetic;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The synthetic application generated by {@link SyntheticApplicationGenerator}.
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class SyntheticApplication implements Closeable {
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected final Path rootDir; // temporary
+    protected final Path srcDir;
+    protected final Path classesDir;
+    protected final List<String> actionClassNameList;
+    protected final URLClassLoader classLoader;
+
+    // ===================================================================================
+    //                                                                         Constructor
+    //                                                                         ===========
+    public SyntheticApplication(Path rootDir, Path srcDir, Path classesDir, List<String> actionClassNameList) {
+        this.rootDir = rootDir;
+        this.srcDir = srcDir;
+        this.classesDir = classesDir;
+        this.actionClassNameList = actionClassNameList;
+        try {
+            this.classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() }, SyntheticApplication.class.getClassLoader());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create the synthetic class loader: " + classesDir, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                      Synthetic Type
+    //                                                                      ==============
+    public List<Class<?>> getActionClassList() {
+        return findClassList("Action");
+    }
+
+    public List<Class<?>> getFormClassList() { // search form and register body
+        return Stream.of(findClassList("SearchForm"), findClassList("RegisterBody")).flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    public List<Class<?>> getResultClassList() { // row result and detail result
+        return Stream.of(findClassList("RowResult"), findClassList("DetailResult")).flatMap(List::stream).collect(Collectors.toList());
+    }
+
+    public Class<?> getPagingResultClass() {
+        return forName(SyntheticApplicationGenerator.PAGING_CLASS);
+    }
+
+    protected List<Class<?>> findClassList(String suffix) {
+        return actionClassNameList.stream().map(actionClassName -> {
+            return forName(actionClassName.replaceAll("Action$", suffix));
+        }).collect(Collectors.toList());
+    }
+
+    public Class<?> forName(String className) {
+        try {
+            return Class.forName(className, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Not found the synthetic class: " + className, e);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    @Override
+    public void close() {
+        try {
+            classLoader.close();
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        } catch (IOException ignored) {} // only temporary
+    }
+
+    // ===================================================================================
+    //                                                                            Accessor
+    //                                                                            ========
+    public String getSrcDir() { // with separator for source parser
+        return srcDir.toString() + File.separator;
+    }
+
+    public Path getClassesDir() {
+        return classesDir;
+    }
+
+    public List<String> getActionClassNameList() {
+        return actionClassNameList;
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+}
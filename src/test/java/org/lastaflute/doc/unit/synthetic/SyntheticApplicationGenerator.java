@@ -0,0 +1,475 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.unit.synthetic;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * The generator of synthetic LastaFlute application for scale testing (e.g. benchmark, stress test). <br>
+ * It writes sources of actions and their types into temporary directory and compiles them.
+ * <pre>
+ * e.g. actionCount=2, classificationCount=2
+ *  synthetic.app.web.product0.Product0Action      // index(pageNumber, form), get$detail(productId), post$register(body)
+ *  synthetic.app.web.product0.Product0SearchForm  // with nested Part and classification
+ *  synthetic.app.web.product0.Product0RegisterBody
+ *  synthetic.app.web.product0.Product0RowResult   // as SearchPagingResult&lt;Product0RowResult&gt;
+ *  synthetic.app.web.product0.Product0DetailResult
+ *  synthetic.app.web.product1...
+ *  synthetic.app.web.base.paging.SearchPagingResult // generic paging result
+ *  synthetic.mylasta.appcdef.AppCDef                // Cls0, Cls1 as Classification enum
+ * </pre>
+ * @author jflute
+ * @since 0.3.8 (2026/10/17 Saturday)
+ */
+public class SyntheticApplicationGenerator {
+
+    // ===================================================================================
+    //                                                                          Definition
+    //                                                                          ==========
+    protected static final String BASE_PACKAGE = "synthetic";
+    protected static final String WEB_PACKAGE = BASE_PACKAGE + ".app.web";
+    protected static final String PAGING_CLASS = WEB_PACKAGE + ".base.paging.SearchPagingResult";
+    protected static final String CDEF_CLASS = BASE_PACKAGE + ".mylasta.appcdef.AppCDef";
+
+    // ===================================================================================
+    //                                                                           Attribute
+    //                                                                           =========
+    protected int actionCount = 10;
+    protected int classificationCount = 5;
+    protected int classificationElementCount = 4;
+
+    // ===================================================================================
+    //                                                                              Option
+    //                                                                              ======
+    public SyntheticApplicationGenerator actionCount(int actionCount) {
+        this.actionCount = actionCount;
+        return this;
+    }
+
+    public SyntheticApplicationGenerator classificationCount(int classificationCount) {
+        this.classificationCount = classificationCount;
+        return this;
+    }
+
+    public SyntheticApplicationGenerator classificationElementCount(int classificationElementCount) {
+        this.classificationElementCount = classificationElementCount;
+        return this;
+    }
+
+    // ===================================================================================
+    //                                                                            Generate
+    //                                                                            ========
+    /**
+     * Generate the synthetic application and compile it.
+     * @return The generated application, should be closed to delete temporary files. (NotNull)
+     */
+    public SyntheticApplication generate() {
+        final Path rootDir;
+        final Path srcDir;
+        final Path classesDir;
+        try {
+            rootDir = Files.createTempDirectory("lastadoc-synthetic");
+            srcDir = Files.createDirectories(rootDir.resolve("src"));
+            classesDir = Files.createDirectories(rootDir.resolve("classes"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to create the synthetic directory.", e);
+        }
+        writeSource(srcDir, CDEF_CLASS, buildClassificationSource());
+        writeSource(srcDir, PAGING_CLASS, buildPagingResultSource());
+        final List<String> actionClassNameList = DfCollectionUtil.newArrayList();
+        for (int i = 0; i < actionCount; i++) {
+            final String pkg = WEB_PACKAGE + ".product" + i;
+            final String baseName = "Product" + i;
+            writeSource(srcDir, pkg + "." + baseName + "Action", buildActionSource(pkg, baseName));
+            writeSource(srcDir, pkg + "." + baseName + "SearchForm", buildSearchFormSource(pkg, baseName));
+            writeSource(srcDir, pkg + "." + baseName + "RegisterBody", buildRegisterBodySource(pkg, baseName));
+            writeSource(srcDir, pkg + "." + baseName + "RowResult", buildRowResultSource(pkg, baseName));
+            writeSource(srcDir, pkg + "." + baseName + "DetailResult", buildDetailResultSource(pkg, baseName));
+            actionClassNameList.add(pkg + "." + baseName + "Action");
+        }
+        compile(srcDir, classesDir);
+        return new SyntheticApplication(rootDir, srcDir, classesDir, actionClassNameList);
+    }
+
+    // -----------------------------------------------------
+    //                                        Classification
+    //                                        --------------
+    protected String buildClassificationSource() {
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + extractPackage(CDEF_CLASS) + ";");
+        sb.ln("import java.util.*;");
+        sb.ln("import org.dbflute.jdbc.Classification;");
+        sb.ln("import org.dbflute.jdbc.ClassificationMeta;");
+        sb.ln("/**");
+        sb.ln(" * The definition of classification. (synthetic)");
+        sb.ln(" * @author DBFlute(AutoGenerator)");
+        sb.ln(" */");
+        sb.ln("public interface AppCDef extends Classification {");
+        for (int i = 0; i < classificationCount; i++) {
+            final String clsName = "Cls" + i;
+            sb.ln("    /**");
+            sb.ln("     * The classification " + i + " for e.g. status of product");
+            sb.ln("     */");
+            sb.ln("    public enum " + clsName + " implements AppCDef {");
+            for (int j = 0; j < classificationElementCount; j++) {
+                final String sep = j < classificationElementCount - 1 ? "," : ";";
+                sb.ln("        /** Element" + j + ": means element " + j + " of " + clsName + " */");
+                sb.ln("        Element" + j + "(\"E" + j + "\", \"Element" + j + "\")" + sep);
+            }
+            sb.ln("        private final String _code; private final String _alias;");
+            sb.ln("        private " + clsName + "(String code, String alias) { _code = code; _alias = alias; }");
+            sb.ln("        public String code() { return _code; }");
+            sb.ln("        public String alias() { return _alias; }");
+            sb.ln("        public Set<String> sisterSet() { return Collections.emptySet(); }");
+            sb.ln("        public boolean inGroup(String groupName) { return false; }");
+            sb.ln("        public Map<String, Object> subItemMap() { return Collections.emptyMap(); }");
+            sb.ln("        public ClassificationMeta meta() { return null; } // unused in document");
+            sb.ln("    }");
+        }
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    protected String prepareClassificationType(int actionIndex) { // e.g. AppCDef.Cls3
+        return classificationCount > 0 ? CDEF_CLASS + ".Cls" + (actionIndex % classificationCount) : "String";
+    }
+
+    // -----------------------------------------------------
+    //                                         Paging Result
+    //                                         -------------
+    protected String buildPagingResultSource() {
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + extractPackage(PAGING_CLASS) + ";");
+        sb.ln("import java.util.List;");
+        sb.ln("import org.lastaflute.web.validation.Required;");
+        sb.ln("/**");
+        sb.ln(" * The result of paging search, common for search actions.");
+        sb.ln(" * @param <BEAN> The type of row bean.");
+        sb.ln(" * @author jflute");
+        sb.ln(" */");
+        sb.ln("public class SearchPagingResult<BEAN> {");
+        sb.ln("    /** The row list of current page. (NotNull) */");
+        sb.ln("    @Required");
+        sb.ln("    public List<BEAN> rows;");
+        sb.ln("    /** The size of one page. e.g. 20 */");
+        sb.ln("    @Required");
+        sb.ln("    public Integer pageSize;");
+        sb.ln("    /** The number of current page. e.g. 1 */");
+        sb.ln("    @Required");
+        sb.ln("    public Integer currentPageNumber;");
+        sb.ln("    /** The count of all records. e.g. 123 */");
+        sb.ln("    @Required");
+        sb.ln("    public Integer allRecordCount;");
+        sb.ln("    /** The count of all pages. e.g. 7 */");
+        sb.ln("    @Required");
+        sb.ln("    public Integer allPageCount;");
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    // -----------------------------------------------------
+    //                                                Action
+    //                                                ------
+    protected String buildActionSource(String pkg, String baseName) {
+        final String lowerName = baseName.toLowerCase();
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + pkg + ";");
+        sb.ln("import org.dbflute.optional.OptionalThing;");
+        sb.ln("import org.lastaflute.web.Execute;");
+        sb.ln("import org.lastaflute.web.response.JsonResponse;");
+        sb.ln("import " + PAGING_CLASS + ";");
+        sb.ln("/**");
+        sb.ln(" * The action of " + lowerName + ". (synthetic)");
+        sb.ln(" * @author jflute");
+        sb.ln(" */");
+        sb.ln("public class " + baseName + "Action {");
+        sb.ln("    /**");
+        sb.ln("     * Search " + lowerName + " list by the form.");
+        sb.ln("     * @param pageNumber The number of page, first page if empty. (NotNull, EmptyAllowed)");
+        sb.ln("     * @param form The form of search condition. (NotNull)");
+        sb.ln("     * @return The JSON response of paging result. (NotNull)");
+        sb.ln("     */");
+        sb.ln("    @Execute");
+        sb.ln("    public JsonResponse<SearchPagingResult<" + baseName + "RowResult>> index(OptionalThing<Integer> pageNumber, "
+                + baseName + "SearchForm form) {");
+        sb.ln("        SearchPagingResult<" + baseName + "RowResult> result = new SearchPagingResult<>();");
+        sb.ln("        return new JsonResponse<>(result);");
+        sb.ln("    }");
+        sb.ln("");
+        sb.ln("    /**");
+        sb.ln("     * Show the detail of " + lowerName + ".");
+        sb.ln("     * @param productId The ID of " + lowerName + ". (NotNull)");
+        sb.ln("     * @return The JSON response of detail result. (NotNull)");
+        sb.ln("     */");
+        sb.ln("    @Execute");
+        sb.ln("    public JsonResponse<" + baseName + "DetailResult> get$detail(int productId) {");
+        sb.ln("        " + baseName + "DetailResult result = new " + baseName + "DetailResult();");
+        sb.ln("        return new JsonResponse<>(result);");
+        sb.ln("    }");
+        sb.ln("");
+        sb.ln("    /**");
+        sb.ln("     * Register new " + lowerName + " by the body.");
+        sb.ln("     * @param body The body of registration. (NotNull)");
+        sb.ln("     * @return The JSON response of registered detail. (NotNull)");
+        sb.ln("     */");
+        sb.ln("    @Execute");
+        sb.ln("    public JsonResponse<" + baseName + "DetailResult> post$register(" + baseName + "RegisterBody body) {");
+        sb.ln("        return new JsonResponse<>(new " + baseName + "DetailResult());");
+        sb.ln("    }");
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    // -----------------------------------------------------
+    //                                           Form / Body
+    //                                           -----------
+    protected String buildSearchFormSource(String pkg, String baseName) {
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + pkg + ";");
+        sb.ln("import java.time.LocalDate;");
+        sb.ln("import javax.validation.Valid;");
+        sb.ln("import org.hibernate.validator.constraints.Length;");
+        sb.ln("/**");
+        sb.ln(" * The form of " + baseName.toLowerCase() + " search.");
+        sb.ln(" * @author jflute");
+        sb.ln(" */");
+        sb.ln("public class " + baseName + "SearchForm {");
+        sb.ln("    /** The keyword of product name, partial match. e.g. mystic */");
+        sb.ln("    @Length(max = 100)");
+        sb.ln("    public String productName;");
+        sb.ln("    /** The status of product. */");
+        sb.ln("    public " + prepareClassificationType(indexOf(baseName)) + " productStatus;");
+        sb.ln("    /** The begin date of sale. e.g. 2026-10-17 */");
+        sb.ln("    public LocalDate saleBeginDate;");
+        sb.ln("    /** The condition of price range. */");
+        sb.ln("    @Valid");
+        sb.ln("    public PricePart price;");
+        sb.ln("    /** The price range. */");
+        sb.ln("    public static class PricePart {");
+        sb.ln("        /** The minimum price. e.g. 100 */");
+        sb.ln("        public Integer minPrice;");
+        sb.ln("        /** The maximum price. e.g. 9999 */");
+        sb.ln("        public Integer maxPrice;");
+        sb.ln("    }");
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    protected String buildRegisterBodySource(String pkg, String baseName) {
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + pkg + ";");
+        sb.ln("import java.util.List;");
+        sb.ln("import javax.validation.Valid;");
+        sb.ln("import javax.validation.constraints.Max;");
+        sb.ln("import org.hibernate.validator.constraints.Length;");
+        sb.ln("import org.lastaflute.web.validation.Required;");
+        sb.ln("/**");
+        sb.ln(" * The body of " + baseName.toLowerCase() + " registration.");
+        sb.ln(" * @author jflute");
+        sb.ln(" */");
+        sb.ln("public class " + baseName + "RegisterBody {");
+        sb.ln("    /** The name of product. e.g. Mystic Rhythms */");
+        sb.ln("    @Required");
+        sb.ln("    @Length(max = 200)");
+        sb.ln("    public String productName;");
+        sb.ln("    /** The status of product. */");
+        sb.ln("    @Required");
+        sb.ln("    public " + prepareClassificationType(indexOf(baseName)) + " productStatus;");
+        sb.ln("    /** The regular price. e.g. 1800 */");
+        sb.ln("    @Required");
+        sb.ln("    @Max(99999999)");
+        sb.ln("    public Integer regularPrice;");
+        sb.ln("    /** The category of product. */");
+        sb.ln("    @Required");
+        sb.ln("    @Valid");
+        sb.ln("    public CategoryPart category;");
+        sb.ln("    /** The list of tag. */");
+        sb.ln("    @Valid");
+        sb.ln("    public List<TagPart> tagList;");
+        sb.ln("    /** The category. */");
+        sb.ln("    public static class CategoryPart {");
+        sb.ln("        /** The code of category. e.g. MSC */");
+        sb.ln("        @Required");
+        sb.ln("        public String categoryCode;");
+        sb.ln("    }");
+        sb.ln("    /** The tag. */");
+        sb.ln("    public static class TagPart {");
+        sb.ln("        /** The name of tag. e.g. sea */");
+        sb.ln("        @Required");
+        sb.ln("        public String tagName;");
+        sb.ln("    }");
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    // -----------------------------------------------------
+    //                                                Result
+    //                                                ------
+    protected String buildRowResultSource(String pkg, String baseName) {
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + pkg + ";");
+        sb.ln("import java.time.LocalDate;");
+        sb.ln("import org.lastaflute.web.validation.Required;");
+        sb.ln("/**");
+        sb.ln(" * The row result of " + baseName.toLowerCase() + " search.");
+        sb.ln(" * @author jflute");
+        sb.ln(" */");
+        sb.ln("public class " + baseName + "RowResult {");
+        sb.ln("    /** The ID of product. e.g. 1 */");
+        sb.ln("    @Required");
+        sb.ln("    public Integer productId;");
+        sb.ln("    /** The name of product. e.g. Mystic Rhythms */");
+        sb.ln("    @Required");
+        sb.ln("    public String productName;");
+        sb.ln("    /** The status of product. */");
+        sb.ln("    @Required");
+        sb.ln("    public " + prepareClassificationType(indexOf(baseName)) + " productStatus;");
+        sb.ln("    /** The begin date of sale. e.g. 2026-10-17 */");
+        sb.ln("    public LocalDate saleBeginDate;");
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    protected String buildDetailResultSource(String pkg, String baseName) {
+        final SourceBuilder sb = new SourceBuilder();
+        sb.ln("package " + pkg + ";");
+        sb.ln("import java.time.LocalDateTime;");
+        sb.ln("import java.util.List;");
+        sb.ln("import javax.validation.Valid;");
+        sb.ln("import org.lastaflute.web.validation.Required;");
+        sb.ln("/**");
+        sb.ln(" * The detail result of " + baseName.toLowerCase() + ".");
+        sb.ln(" * @author jflute");
+        sb.ln(" */");
+        sb.ln("public class " + baseName + "DetailResult {");
+        sb.ln("    /** The ID of product. e.g. 1 */");
+        sb.ln("    @Required");
+        sb.ln("    public Integer productId;");
+        sb.ln("    /** The name of product. e.g. Mystic Rhythms */");
+        sb.ln("    @Required");
+        sb.ln("    public String productName;");
+        sb.ln("    /** The status of product. */");
+        sb.ln("    @Required");
+        sb.ln("    public " + prepareClassificationType(indexOf(baseName)) + " productStatus;");
+        sb.ln("    /** The update date-time. e.g. 2026-10-17T12:34:56 */");
+        sb.ln("    public LocalDateTime updateDatetime;");
+        sb.ln("    /** The category of product. */");
+        sb.ln("    @Required");
+        sb.ln("    @Valid");
+        sb.ln("    public CategoryPart category;");
+        sb.ln("    /** The list of purchase. */");
+        sb.ln("    @Valid");
+        sb.ln("    public List<PurchasePart> purchaseList;");
+        sb.ln("    /** The category. */");
+        sb.ln("    public static class CategoryPart {");
+        sb.ln("        /** The code of category. e.g. MSC */");
+        sb.ln("        @Required");
+        sb.ln("        public String categoryCode;");
+        sb.ln("        /** The name of category. e.g. Music */");
+        sb.ln("        @Required");
+        sb.ln("        public String categoryName;");
+        sb.ln("    }");
+        sb.ln("    /** The purchase of product. */");
+        sb.ln("    public static class PurchasePart {");
+        sb.ln("        /** The ID of purchase. e.g. 3 */");
+        sb.ln("        @Required");
+        sb.ln("        public Long purchaseId;");
+        sb.ln("        /** The member of purchase. */");
+        sb.ln("        @Valid");
+        sb.ln("        public MemberPart member;");
+        sb.ln("    }");
+        sb.ln("    /** The member. */");
+        sb.ln("    public static class MemberPart {");
+        sb.ln("        /** The name of member. e.g. jflute */");
+        sb.ln("        @Required");
+        sb.ln("        public String memberName;");
+        sb.ln("    }");
+        sb.ln("}");
+        return sb.toString();
+    }
+
+    // ===================================================================================
+    //                                                                             Compile
+    //                                                                             =======
+    protected void compile(Path srcDir, Path classesDir) {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("Not found the system java compiler, needs JDK (not JRE).");
+        }
+        // -parameters for parameter names in document, -proc:none not to run e.g. JMH processor
+        final List<String> argList = DfCollectionUtil.newArrayList("-nowarn", "-proc:none", "-encoding", "UTF-8", "-parameters");
+        argList.addAll(DfCollectionUtil.newArrayList("-classpath", System.getProperty("java.class.path")));
+        argList.addAll(DfCollectionUtil.newArrayList("-d", classesDir.toString()));
+        try (Stream<Path> stream = Files.walk(srcDir)) {
+            argList.addAll(stream.filter(path -> path.toString().endsWith(".java")).map(path -> {
+                return path.toString();
+            }).collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to walk the synthetic sources: " + srcDir, e);
+        }
+        final int result = compiler.run(null, null, null, argList.toArray(new String[argList.size()]));
+        if (result != 0) {
+            throw new IllegalStateException("Failed to compile the synthetic sources: " + srcDir);
+        }
+    }
+
+    // ===================================================================================
+    //                                                                        Small Helper
+    //                                                                        ============
+    protected void writeSource(Path srcDir, String className, String source) {
+        final Path sourceFile = srcDir.resolve(className.replace('.', File.separatorChar) + ".java");
+        try {
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to write the synthetic source: " + sourceFile, e);
+        }
+    }
+
+    protected String extractPackage(String className) {
+        return className.substring(0, className.lastIndexOf('.'));
+    }
+
+    protected int indexOf(String baseName) { // e.g. Product3 to 3
+        return Integer.parseInt(baseName.replaceAll("\\D", ""));
+    }
+
+    protected static class SourceBuilder {
+
+        protected final StringBuilder sb = new StringBuilder();
+
+        public void ln(String line) {
+            sb.append(line).append("\n");
+        }
+
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.unit.synthetic;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dbflute.jdbc.Classification;
+import org.dbflute.utflute.core.PlainTestCase;
+import org.lastaflute.web.Execute;
+
+/**
+ * @author jflute
+ */
+public class SyntheticApplicationGeneratorTest extends PlainTestCase {
+
+    public void test_generate_basic() throws Exception {
+        // ## Arrange ##
+        SyntheticApplicationGenerator generator = new SyntheticApplicationGenerator().actionCount(3).classificationCount(2);
+
+        // ## Act ##
+        try (SyntheticApplication application = generator.generate()) {
+            // ## Assert ##
+            List<Class<?>> actionClassList = application.getActionClassList();
+            assertEquals(3, actionClassList.size());
+            for (Class<?> actionClass : actionClassList) {
+                List<String> executeNameList = Arrays.stream(actionClass.getMethods()).filter(method -> {
+                    return method.getAnnotation(Execute.class) != null;
+                }).map(Method::getName).sorted().collect(Collectors.toList());
+                assertEquals(Arrays.asList("get$detail", "index", "post$register"), executeNameList);
+            }
+            assertEquals(6, application.getFormClassList().size());
+            assertEquals(6, application.getResultClassList().size());
+            assertEquals(1, application.getPagingResultClass().getTypeParameters().length);
+
+            Class<?> clsType = application.forName("synthetic.mylasta.appcdef.AppCDef$Cls1");
+            assertTrue(Classification.class.isAssignableFrom(clsType));
+            assertEquals("E0", ((Classification) clsType.getEnumConstants()[0]).code());
+            Class<?> rowResultType = application.forName("synthetic.app.web.product1.Product1RowResult");
+            assertEquals(clsType, rowResultType.getField("productStatus").getType());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ */
+public class LaDocConcurrentUtilTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                     Map in Parallel
+    //                                                                     ===============
+    public void test_mapInParallel_keepsOrder() {
+        // ## Arrange ##
+        List<Integer> elementList = IntStream.range(0, 500).boxed().collect(Collectors.toList());
+
+        // ## Act ##
+        List<String> resultList = LaDocConcurrentUtil.mapInParallel(elementList, 4, element -> "sea" + element);
+
+        // ## Assert ##
+        assertEquals(elementList.size(), resultList.size());
+        IntStream.range(0, elementList.size()).forEach(index -> {
+            assertEquals("sea" + index, resultList.get(index));
+        });
+    }
+
+    public void test_mapInParallel_contextClassLoader() {
+        // ## Arrange ##
+        ClassLoader callerLoader = Thread.currentThread().getContextClassLoader();
+
+        // ## Act ##
+        List<ClassLoader> loaderList = LaDocConcurrentUtil.mapInParallel(DfCollectionUtil.newArrayList(1, 2, 3), 2, element -> {
+            return Thread.currentThread().getContextClassLoader();
+        });
+
+        // ## Assert ##
+        loaderList.forEach(loader -> assertEquals(callerLoader, loader));
+    }
+
+    public void test_mapInParallel_exception() {
+        // ## Arrange ##
+        List<Integer> elementList = DfCollectionUtil.newArrayList(1, 2, 3);
+
+        // ## Act ##
+        // ## Assert ##
+        assertException(IllegalArgumentException.class, () -> {
+            LaDocConcurrentUtil.mapInParallel(elementList, 2, element -> {
+                if (element == 2) {
+                    throw new IllegalArgumentException("land");
+                }
+                return element;
+            });
+        });
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LaDocFileUtilTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                  Write Atomically
+    //                                                                  ================
+    public void test_writeAtomically_keepsPermissions() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-file");
+        try {
+            Path path = rootDir.resolve("swagger.json");
+            Files.write(path, "{}".getBytes(StandardCharsets.UTF_8));
+            if (!Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                return; // e.g. Windows
+            }
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+            Files.setPosixFilePermissions(path, permissions);
+
+            // ## Act ##
+            LaDocFileUtil.writeAtomically(path, writer -> writer.write("{\"sea\": \"mystic\"}"));
+
+            // ## Assert ##
+            assertEquals("{\"sea\": \"mystic\"}", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            assertEquals(permissions, Files.getPosixFilePermissions(path)); // not owner-only like temp file
+            try (Stream<Path> stream = Files.list(rootDir)) {
+                assertEquals(1L, stream.count()); // no temporary file
+            }
+        } finally {
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    public void test_writeAtomically_newFile() throws Exception {
+        // ## Arrange ##
+        Path rootDir = Files.createTempDirectory("lastadoc-file");
+        try {
+            Path path = rootDir.resolve("sub").resolve("lastadoc.json");
+            Path plainPath = rootDir.resolve("plain.json"); // written normally
+
+            // ## Act ##
+            LaDocFileUtil.writeAtomically(path, writer -> writer.write("{}"));
+
+            // ## Assert ##
+            assertEquals("{}", new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            if (Files.getFileStore(path).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.write(plainPath, "{}".getBytes(StandardCharsets.UTF_8));
+                assertEquals(Files.getPosixFilePermissions(plainPath), Files.getPosixFilePermissions(path)); // default (umask)
+            }
+        } finally {
+            try (Stream<Path> stream = Files.walk(rootDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
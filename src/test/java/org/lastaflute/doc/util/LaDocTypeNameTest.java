@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.util;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dbflute.utflute.core.PlainTestCase;
+
+/**
+ * @author jflute
+ */
+public class LaDocTypeNameTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Parse
+    //                                                                               =====
+    public void test_of_parsed() {
+        // ## Arrange ##
+        String typeName = "java.util.Map<java.lang.String, java.util.List<org.docksidestage.app.web.sea.SeaBean>>";
+        Map<String, LaDocTypeName> typeNameMap = new ConcurrentHashMap<String, LaDocTypeName>(); // e.g. per generation run
+
+        // ## Act ##
+        LaDocTypeName parsed = LaDocTypeName.of(typeName, typeNameMap);
+
+        // ## Assert ##
+        assertEquals("java.util.Map", parsed.getRawTypeName());
+        assertEquals(2, parsed.getArgumentList().size());
+        assertEquals("java.lang.String", parsed.getArgumentList().get(0).getTypeName());
+        LaDocTypeName listName = parsed.getArgumentList().get(1);
+        assertEquals("java.util.List", listName.getRawTypeName());
+        assertEquals("SeaBean", listName.getArgumentList().get(0).getSimpleName());
+        assertEquals("Map<String, List<SeaBean>>", parsed.getSimpleName());
+        assertSame(parsed, LaDocTypeName.of(typeName, typeNameMap)); // memoized in the map
+        assertSame(listName, typeNameMap.get(listName.getTypeName())); // also arguments
+        assertNotSame(parsed, LaDocTypeName.of(typeName)); // not memoized statically
+        assertSame(LaDocTypeName.of(String.class), LaDocTypeName.of(String.class));
+        assertFalse(LaDocTypeName.of(String.class).isGeneric());
+    }
+
+    // ===================================================================================
+    //                                                                  Same as Regex Rule
+    //                                                                  ==================
+    public void test_of_sameAsRegex() {
+        List<String> typeNameList = Arrays.asList( //
+                "java.lang.String", //
+                "int", //
+                "java.lang.String[]", //
+                "org.docksidestage.app.web.sea.SeaForm$HangarPart", //
+                "org.docksidestage.dbflute.allcommon.CDef$MemberStatus", //
+                "java.util.List<org.docksidestage.app.web.sea.SeaBean>", //
+                "java.util.Map<java.lang.String, java.lang.Object>", //
+                "java.util.List<java.util.Map<java.lang.String, java.lang.Integer>>", //
+                "java.util.List<java.lang.String>[]", //
+                "org.lastaflute.web.response.JsonResponse<org.docksidestage.bean.SearchPagingResult<org.docksidestage.Sea2Bean>>", //
+                "java.util.List<? extends java.lang.Number>", //
+                "BEAN", //
+                "Sea<>", //
+                "<T>", //
+                "");
+        for (String typeName : typeNameList) {
+            LaDocTypeName parsed = LaDocTypeName.of(typeName);
+            assertEquals(typeName, typeName.replaceAll("[a-z0-9]+\\.", ""), parsed.getSimpleName());
+            String definitionName = typeName.matches("^[^<]+<(.+)>$") ? typeName.replaceAll("^[^<]+<(.+)>$", "$1") : typeName;
+            assertEquals(typeName, definitionName.replaceAll(" ", ""), parsed.getDefinitionName());
+            String lastGenericExp = typeName.matches(".*<(.*)>") ? typeName.replaceAll(".*<(.*)>", "$1") : null;
+            assertEquals(typeName, lastGenericExp, parsed.getLastGenericExp());
+        }
+    }
+
+    public void test_of_parameterizedType() throws Exception {
+        // ## Arrange ##
+        Type type = getClass().getDeclaredField("seaMap").getGenericType();
+
+        // ## Act ##
+        LaDocTypeName parsed = LaDocTypeName.of(type);
+
+        // ## Assert ##
+        assertEquals(type.getTypeName(), parsed.getTypeName());
+        assertEquals("Map<String, List<Integer>>", parsed.getSimpleName());
+        assertEquals("java.lang.Integer>", parsed.getLastGenericExp()); // same as regex
+    }
+
+    protected Map<String, List<Integer>> seaMap; // for parameterized type
+}
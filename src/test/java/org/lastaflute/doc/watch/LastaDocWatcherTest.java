@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.lastaflute.doc.watch;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.dbflute.utflute.core.PlainTestCase;
+import org.dbflute.util.DfCollectionUtil;
+
+/**
+ * @author jflute
+ */
+public class LastaDocWatcherTest extends PlainTestCase {
+
+    // ===================================================================================
+    //                                                                               Watch
+    //                                                                               =====
+    public void test_watch_changedSource() throws Exception {
+        // ## Arrange ##
+        Path srcDir = Files.createTempDirectory("lastadoc-watch");
+        Path seaDir = Files.createDirectories(srcDir.resolve("sea"));
+        BlockingQueue<List<Path>> changedQueue = new LinkedBlockingQueue<List<Path>>();
+        try (LastaDocWatcher watcher = new LastaDocWatcher(DfCollectionUtil.newArrayList(srcDir.toString()), changedList -> {
+            changedQueue.add(changedList);
+        }).debounceMillis(100L)) {
+            watcher.start();
+
+            // ## Act ##
+            Files.write(seaDir.resolve("SeaForm.java"), "class SeaForm {}".getBytes(StandardCharsets.UTF_8));
+            Files.write(seaDir.resolve("memo.txt"), "not source".getBytes(StandardCharsets.UTF_8));
+
+            // ## Assert ##
+            List<Path> changedList = changedQueue.poll(10L, TimeUnit.SECONDS);
+            assertNotNull(changedList);
+            assertEquals(Collections.singletonList(seaDir.resolve("SeaForm.java")), changedList); // debounced, without text file
+            assertTrue(watcher.isRunning());
+        } finally {
+            try (Stream<Path> stream = Files.walk(srcDir)) {
+                stream.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    // ===================================================================================
+    //                                                                               Close
+    //                                                                               =====
+    public void test_close_stopsTaking() throws Exception {
+        // ## Arrange ##
+        Path srcDir = Files.createTempDirectory("lastadoc-watch");
+        try {
+            LastaDocWatcher watcher = new LastaDocWatcher(DfCollectionUtil.newArrayList(srcDir.toString()), changedList -> {});
+            watcher.start();
+            assertTrue(watcher.isRunning());
+
+            // ## Act ##
+            watcher.close(); // while taking in watcher thread
+            watcher.awaitClosed();
+
+            // ## Assert ##
+            assertFalse(watcher.isRunning());
+            assertException(IllegalStateException.class, () -> watcher.start());
+            watcher.close(); // no exception
+        } finally {
+            Files.deleteIfExists(srcDir);
+        }
+    }
+
+    public void test_close_notStarted() throws Exception {
+        // ## Arrange ##
+        LastaDocWatcher watcher = new LastaDocWatcher(Collections.emptyList(), changedList -> {});
+
+        // ## Act ##
+        watcher.close();
+
+        // ## Assert ##
+        watcher.awaitClosed(); // not blocked
+        assertFalse(watcher.isRunning());
+    }
+}